@@ -0,0 +1,32 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada del jar de benchmarks. Acepta las mismas opciones de línea de comandos que JMH
+ * (por ejemplo un filtro como "TablasHash" o -f 1 -wi 3 -i 5), pero siempre escribe los resultados
+ * en JSON para poder compararlos entre versiones. El archivo por defecto es jmh-result.json y se
+ * cambia con -rff.
+ */
+public class EjecutarBenchmarks {
+
+    public static final String ARCHIVO_RESULTADOS = "jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions lineaComandos = new CommandLineOptions(args);
+
+        Options opciones = new OptionsBuilder()
+                .parent(lineaComandos)
+                .resultFormat(ResultFormatType.JSON)
+                .result(lineaComandos.getResult().orElse(ARCHIVO_RESULTADOS))
+                .build();
+
+        new Runner(opciones).run();
+    }
+}
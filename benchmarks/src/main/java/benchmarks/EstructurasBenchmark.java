@@ -0,0 +1,121 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import model.data_structures.ArregloDinamico;
+import model.data_structures.ListaEncadenada;
+import model.data_structures.MinPQ;
+import model.data_structures.MinPQIndexadaDensa;
+import model.data_structures.NodoTS;
+import model.data_structures.NullException;
+import model.data_structures.PosException;
+import model.data_structures.VacioException;
+
+/**
+ * Operaciones básicas de las listas y colas de prioridad.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EstructurasBenchmark {
+
+    @Param({ "1000", "10000" })
+    public int n;
+
+    private ArregloDinamico<Integer> arreglo;
+    private ListaEncadenada<Integer> lista;
+    private float[] prioridades;
+
+    @Setup
+    public void preparar() throws PosException, NullException {
+        arreglo = new ArregloDinamico<>(n);
+        lista = new ListaEncadenada<>();
+        for (int i = 0; i < n; i++) {
+            arreglo.addLast(i);
+            lista.insertElement(i, lista.size() + 1);
+        }
+
+        Random random = new Random(42);
+        prioridades = new float[n];
+        for (int i = 0; i < n; i++) {
+            prioridades[i] = random.nextFloat();
+        }
+    }
+
+    @Benchmark
+    public ArregloDinamico<Integer> arregloAgregar() {
+        ArregloDinamico<Integer> nuevo = new ArregloDinamico<>(1);
+        for (int i = 0; i < n; i++) {
+            nuevo.addLast(i);
+        }
+        return nuevo;
+    }
+
+    @Benchmark
+    public void arregloObtener(Blackhole bh) throws PosException, VacioException {
+        for (int i = 1; i <= n; i++) {
+            bh.consume(arreglo.getElement(i));
+        }
+    }
+
+    @Benchmark
+    public void arregloRecorrer(Blackhole bh) {
+        for (Integer elemento : arreglo) {
+            bh.consume(elemento);
+        }
+    }
+
+    @Benchmark
+    public void listaObtenerPorIndice(Blackhole bh) throws PosException, VacioException {
+        for (int i = 1; i <= n; i++) {
+            bh.consume(lista.getElement(i));
+        }
+    }
+
+    @Benchmark
+    public void listaRecorrer(Blackhole bh) {
+        for (Integer elemento : lista) {
+            bh.consume(elemento);
+        }
+    }
+
+    @Benchmark
+    public void minPQInsertarEliminar(Blackhole bh) {
+        MinPQ<Float, Integer> cola = new MinPQ<>(1);
+        for (int i = 0; i < n; i++) {
+            cola.insert(prioridades[i], i);
+        }
+        NodoTS<Float, Integer> minimo;
+        while ((minimo = cola.delMin()) != null) {
+            bh.consume(minimo);
+        }
+    }
+
+    @Benchmark
+    public void minPQIndexadaDensaInsertarEliminar(Blackhole bh) {
+        MinPQIndexadaDensa cola = new MinPQIndexadaDensa(n);
+        for (int i = 0; i < n; i++) {
+            cola.insert(i, prioridades[i]);
+        }
+        while (!cola.isEmpty()) {
+            bh.consume(cola.delMin());
+        }
+    }
+}
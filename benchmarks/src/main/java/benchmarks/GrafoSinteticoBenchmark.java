@@ -0,0 +1,158 @@
+package benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.data_structures.AlgoritmoMST;
+import model.data_structures.Edge;
+import model.data_structures.GrafoCSR;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.ILista;
+import model.data_structures.ITablaSimbolos;
+import model.data_structures.NullException;
+import model.data_structures.PilaEncadenada;
+import model.data_structures.PosException;
+
+/**
+ * Algoritmos de grafos sobre grafos sintéticos parecidos al de los cables: escala 1 tiene el
+ * tamaño del grafo real (unos 2400 vértices y grado promedio cercano a 5) y las escalas mayores
+ * multiplican la cantidad de vértices. Los vértices se reparten en una malla con ruido, se unen
+ * con algunos vecinos cercanos y se agregan arcos largos al azar que hacen de cables
+ * intercontinentales; el peso es la distancia euclidiana.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrafoSinteticoBenchmark {
+
+    private static final int VERTICES_ESCALA_1 = 2400;
+    private static final double PROBABILIDAD_VECINO = 0.6;
+    private static final double ARCOS_LARGOS_POR_VERTICE = 0.3;
+
+    @Param({ "1", "10" })
+    public int escala;
+
+    private GrafoListaAdyacencia<String, Integer> grafo;
+    private GrafoCSR<String, Integer> csr;
+    private String origen;
+    private String destino;
+
+    @Setup
+    public void generar() throws PosException, NullException {
+        Random random = new Random(42);
+        int lado = (int) Math.ceil(Math.sqrt(VERTICES_ESCALA_1 * escala));
+        int n = lado * lado;
+
+        grafo = new GrafoListaAdyacencia<>(n);
+        double[] x = new double[n];
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i % lado + random.nextDouble();
+            y[i] = i / lado + random.nextDouble();
+            grafo.insertarVertice(llave(i), i);
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (i % lado + 1 < lado && random.nextDouble() < PROBABILIDAD_VECINO) {
+                unir(i, i + 1, x, y);
+            }
+            if (i + lado < n && random.nextDouble() < PROBABILIDAD_VECINO) {
+                unir(i, i + lado, x, y);
+            }
+        }
+        for (int i = 0; i < n * ARCOS_LARGOS_POR_VERTICE; i++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            if (a != b) {
+                unir(a, b, x, y);
+            }
+        }
+
+        csr = grafo.compactar();
+        origen = llave(0);
+        destino = llave(n - 1);
+    }
+
+    private void unir(int a, int b, double[] x, double[] y) {
+        grafo.agregarArco(llave(a), llave(b), (float) Math.hypot(x[a] - x[b], y[a] - y[b]));
+    }
+
+    private static String llave(int i) {
+        return "v" + i;
+    }
+
+    @Benchmark
+    public GrafoCSR<String, Integer> compactar() {
+        return grafo.compactar();
+    }
+
+    @Benchmark
+    public PilaEncadenada<Edge<String, Integer>> rutaMinima() {
+        return grafo.rutaMinima(origen, destino);
+    }
+
+    @Benchmark
+    public PilaEncadenada<Edge<String, Integer>> rutaMinimaBidireccional() {
+        return grafo.rutaMinimaBidireccional(origen, destino);
+    }
+
+    @Benchmark
+    public int[] rutaMinimaCSR() {
+        return csr.rutaMinima(0, csr.numVertices() - 1);
+    }
+
+    @Benchmark
+    public ILista<Edge<String, Integer>> mstPrimLazy() {
+        return grafo.mstPrimLazy(origen);
+    }
+
+    @Benchmark
+    public ILista<Edge<String, Integer>> mstPrim() {
+        return grafo.mstPrim(origen);
+    }
+
+    @Benchmark
+    public ILista<Edge<String, Integer>> bosquePrim() {
+        return grafo.bosqueExpansionMinima(AlgoritmoMST.PRIM);
+    }
+
+    @Benchmark
+    public ILista<Edge<String, Integer>> bosqueKruskal() {
+        return grafo.bosqueExpansionMinima(AlgoritmoMST.KRUSKAL);
+    }
+
+    @Benchmark
+    public int[] mstPrimLazyCSR() {
+        return csr.mstPrimLazy(0);
+    }
+
+    @Benchmark
+    public ITablaSimbolos<String, Integer> componentes() {
+        return grafo.componentesConexas().darTabla();
+    }
+
+    @Benchmark
+    public int[] componentesCSR() {
+        return csr.componentes();
+    }
+
+    @Benchmark
+    public boolean[] dfsCSR() {
+        return csr.dfs(0);
+    }
+}
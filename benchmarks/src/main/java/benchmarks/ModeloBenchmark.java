@@ -0,0 +1,102 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.logic.CargadorDatos;
+import model.logic.Modelo;
+
+/**
+ * Carga de los datos reales y los cinco requerimientos del Controller. Lee ./data/ igual que la
+ * aplicación, así que debe ejecutarse desde la raíz del repositorio.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ModeloBenchmark {
+
+    @Param({ "Barranquilla" })
+    public String landing1;
+
+    @Param({ "Tolu" })
+    public String landing2;
+
+    @Param({ "Colombia" })
+    public String pais1;
+
+    @Param({ "Indonesia" })
+    public String pais2;
+
+    private Modelo modelo;
+
+    @Setup
+    public void cargarModelo() throws IOException {
+        modelo = new Modelo(1);
+        modelo.cargar();
+    }
+
+    /**
+     * Carga completa desde los CSV, sin pasar por el snapshot.
+     */
+    @Benchmark
+    public CargadorDatos cargarCSV() throws IOException {
+        CargadorDatos cargador = new CargadorDatos(Modelo.DIRECTORIO_DATOS);
+        cargador.cargar();
+        return cargador;
+    }
+
+    /**
+     * Carga como la hace el Controller; después de la primera vez lee el snapshot.
+     */
+    @Benchmark
+    public Modelo cargarSnapshot() throws IOException {
+        Modelo nuevo = new Modelo(1);
+        nuevo.cargar();
+        return nuevo;
+    }
+
+    @Benchmark
+    public String req1() {
+        return modelo.req1String(landing1, landing2);
+    }
+
+    @Benchmark
+    public String req2() {
+        return modelo.req2String();
+    }
+
+    @Benchmark
+    public String req3() {
+        return modelo.req3String(pais1, pais2);
+    }
+
+    @Benchmark
+    public String req4() {
+        return modelo.req4String();
+    }
+
+    @Benchmark
+    public String req5() {
+        return modelo.req5String(landing1);
+    }
+
+    @Benchmark
+    public String reporteImpactoFallas() {
+        return modelo.reporteImpactoFallas();
+    }
+}
@@ -0,0 +1,93 @@
+package benchmarks;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import model.data_structures.ArregloDinamico;
+import model.data_structures.ILista;
+import model.data_structures.NullException;
+import model.data_structures.PosException;
+import model.data_structures.VacioException;
+import utils.Ordenamiento;
+
+/**
+ * Algoritmos de utils.Ordenamiento sobre un ArregloDinamico desordenado. La lista se vuelve a
+ * llenar antes de cada invocación porque todos los algoritmos ordenan en sitio.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class OrdenamientoBenchmark {
+
+    public enum Algoritmo {
+        SELECCION, INSERCION, SHELL, QUICK_SORT, MERGE_SORT
+    }
+
+    @Param({ "SELECCION", "INSERCION", "SHELL", "QUICK_SORT", "MERGE_SORT" })
+    public Algoritmo algoritmo;
+
+    @Param({ "1000", "5000" })
+    public int n;
+
+    private final Ordenamiento<Integer> ordenamiento = new Ordenamiento<>();
+    private final Comparator<Integer> criterio = Comparator.naturalOrder();
+
+    private int[] datos;
+    private ILista<Integer> lista;
+
+    @Setup(Level.Trial)
+    public void generar() {
+        Random random = new Random(42);
+        datos = new int[n];
+        for (int i = 0; i < n; i++) {
+            datos[i] = random.nextInt();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void llenar() {
+        lista = new ArregloDinamico<>(n);
+        for (int i = 0; i < n; i++) {
+            lista.addLast(datos[i]);
+        }
+    }
+
+    @Benchmark
+    public ILista<Integer> ordenar() throws PosException, VacioException, NullException {
+        switch (algoritmo) {
+        case SELECCION:
+            ordenamiento.ordenarSeleccion(lista, criterio, true);
+            break;
+        case INSERCION:
+            ordenamiento.ordenarInsercion(lista, criterio, true);
+            break;
+        case SHELL:
+            ordenamiento.ordenarShell(lista, criterio, true);
+            break;
+        case QUICK_SORT:
+            ordenamiento.ordenarQuickSort(lista, criterio, true);
+            break;
+        default:
+            ordenamiento.ordenarMergeSort(lista, criterio, true);
+            break;
+        }
+        return lista;
+    }
+}
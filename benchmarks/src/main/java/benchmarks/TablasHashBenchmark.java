@@ -0,0 +1,97 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import model.data_structures.ITablaSimbolos;
+import model.data_structures.TablaHashLinearProbing;
+import model.data_structures.TablaHashPlana;
+import model.data_structures.TablaHashSeparteChaining;
+
+/**
+ * poner y obtener en cada implementación de tabla de símbolos. factorCarga fija la capacidad
+ * inicial como n / factorCarga, así que controla cuán llena queda la tabla al terminar de poner.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TablasHashBenchmark {
+
+    public enum TipoTabla {
+        LINEAR_PROBING, SEPARATE_CHAINING, PLANA
+    }
+
+    @Param({ "LINEAR_PROBING", "SEPARATE_CHAINING", "PLANA" })
+    public TipoTabla tipo;
+
+    @Param({ "0.25", "0.5", "0.75" })
+    public double factorCarga;
+
+    @Param({ "10000" })
+    public int n;
+
+    private String[] llaves;
+    private ITablaSimbolos<String, Integer> llena;
+
+    @Setup
+    public void preparar() {
+        llaves = new String[n];
+        for (int i = 0; i < n; i++) {
+            llaves[i] = "landing" + i + "cable" + (i % 97);
+        }
+        llena = crear();
+        for (int i = 0; i < n; i++) {
+            llena.poner(llaves[i], i);
+        }
+    }
+
+    private ITablaSimbolos<String, Integer> crear() {
+        int capacidad = (int) (n / factorCarga);
+        switch (tipo) {
+        case LINEAR_PROBING:
+            return new TablaHashLinearProbing<>(capacidad);
+        case SEPARATE_CHAINING:
+            return new TablaHashSeparteChaining<>(capacidad);
+        default:
+            return new TablaHashPlana<>((int) (capacidad * 0.6));
+        }
+    }
+
+    @Benchmark
+    public ITablaSimbolos<String, Integer> poner() {
+        ITablaSimbolos<String, Integer> tabla = crear();
+        for (int i = 0; i < n; i++) {
+            tabla.poner(llaves[i], i);
+        }
+        return tabla;
+    }
+
+    @Benchmark
+    public void obtener(Blackhole bh) {
+        for (int i = 0; i < n; i++) {
+            bh.consume(llena.obtener(llaves[i]));
+        }
+    }
+
+    @Benchmark
+    public void obtenerAusentes(Blackhole bh) {
+        for (int i = 0; i < n; i++) {
+            bh.consume(llena.contiene(llaves[i] + "x"));
+        }
+    }
+}
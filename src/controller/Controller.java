@@ -13,7 +13,7 @@ import model.logic.Modelo;
 import utils.Ordenamiento;
 import view.View;
 
-public class Controller<T> {
+public class Controller {
 
 	/* Instancia del Modelo*/
 	private Modelo modelo;
@@ -47,10 +47,13 @@ public class Controller<T> {
 				try 
 				{
 					modelo.cargar();
+					long milisegundos= modelo.prepararJerarquia();
+					view.printMessage("Jerarquía de rutas lista en " + milisegundos + " ms");
 				} catch (IOException e) {
 
 					e.printStackTrace();
 				}
+				view.printMessage(modelo.darReporteCarga());
 				view.printModelo(modelo);	
 
 				break;
@@ -102,6 +105,61 @@ public class Controller<T> {
 				lector.close();
 				fin = true;
 				break;
+			case 8:
+				view.printMessage("--------- \nIngrese la ruta del archivo delta");
+				String archivoDelta= lector.next();
+				lector.nextLine();
+				try
+				{
+					view.printMessage(modelo.aplicarDelta(archivoDelta.trim()));
+				}
+				catch (IOException e)
+				{
+					e.printStackTrace();
+				}
+				break;
+			case 9:
+				view.printMessage(modelo.reporteImpactoFallas());
+				break;
+			case 10:
+				view.printMessage(modelo.reportePuntosCriticos());
+				break;
+			case 11:
+			case 12:
+				view.printMessage("--------- \nIngrese el nombre del primer país");
+				String paisOrigen= lector.next();
+				lector.nextLine();
+				
+				view.printMessage("--------- \nIngrese el nombre del segundo país");
+				String paisDestino= lector.next();
+				lector.nextLine();
+				
+				view.printMessage("--------- \nIngrese el número de rutas");
+				int numeroRutas= lector.nextInt();
+				
+				view.printMessage(modelo.rutasAlternativasString(paisOrigen, paisDestino, numeroRutas, option==12));
+				break;
+			case 13:
+				view.printMessage("--------- \nIngrese el nombre del primer país");
+				String paisFuente= lector.next();
+				lector.nextLine();
+				
+				view.printMessage("--------- \nIngrese el nombre del segundo país");
+				String paisSumidero= lector.next();
+				lector.nextLine();
+				
+				view.printMessage(modelo.anchoBandaString(paisFuente, paisSumidero));
+				break;
+			case 14:
+				view.printMessage("--------- \nIngrese el dueño del cable (* para cualquiera)");
+				String dueno= lector.next().trim();
+				lector.nextLine();
+				
+				view.printMessage("--------- \nIngrese el año RFS mínimo");
+				int rfsMinimo= lector.nextInt();
+				
+				view.printMessage(modelo.cablesString(dueno.equals("*") ? null : dueno, rfsMinimo));
+				break;
 			default: 
 				view.printMessage("--------- \n Opcion Invalida !! \n---------");
 				break;
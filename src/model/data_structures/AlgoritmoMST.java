@@ -0,0 +1,15 @@
+package model.data_structures;
+
+/**
+ * Algoritmos disponibles en GrafoListaAdyacencia.bosqueExpansionMinima.
+ */
+public enum AlgoritmoMST {
+    /**
+     * Prim con cola indexada: a lo sumo un elemento por vértice en la cola, O(E log V).
+     */
+    PRIM,
+    /**
+     * Kruskal: ordena los arcos una vez y los une con union-find, O(E log E).
+     */
+    KRUSKAL
+}
@@ -0,0 +1,197 @@
+package model.data_structures;
+
+import java.util.Arrays;
+
+/**
+ * Árbol de expansión enraizado, armado a partir de sus arcos. Los vértices del árbol reciben
+ * posiciones locales 0..numVertices()-1 en orden BFS desde la raíz (la raíz es la 0), así que los
+ * hijos de cada vértice ocupan posiciones consecutivas y recorrerlo no crea objetos.
+ *
+ * Los arcos pueden venir en cualquier sentido y orden; los que no alcanzan a la raíz se ignoran.
+ */
+public class ArbolExpansion<K extends Comparable<K>, V extends Comparable<V>> {
+
+    private final Vertex<K, V> raiz;
+    private final Vertex<K, V>[] vertices;
+    private final int[] posiciones;
+    private final int[] padres;
+    private final Edge<K, V>[] arcosPadre;
+    private final int[] inicioHijos;
+    private final double costoTotal;
+
+    /**
+     * @param numVerticesGrafo cantidad de vértices del grafo; acota los índices de Vertex.getIndice().
+     */
+    @SuppressWarnings("unchecked")
+    public ArbolExpansion(Vertex<K, V> raiz, ILista<Edge<K, V>> arcos, int numVerticesGrafo) {
+        this.raiz = raiz;
+
+        // Adyacencia no dirigida en formato CSR sobre los índices del grafo
+        int[] inicio = new int[numVerticesGrafo + 1];
+        for (Edge<K, V> arco : arcos) {
+            inicio[arco.getSource().getIndice() + 1]++;
+            inicio[arco.getDestination().getIndice() + 1]++;
+        }
+        for (int v = 0; v < numVerticesGrafo; v++) {
+            inicio[v + 1] += inicio[v];
+        }
+        Edge<K, V>[] incidentes = (Edge<K, V>[]) new Edge<?, ?>[inicio[numVerticesGrafo]];
+        int[] siguiente = Arrays.copyOf(inicio, numVerticesGrafo);
+        for (Edge<K, V> arco : arcos) {
+            incidentes[siguiente[arco.getSource().getIndice()]++] = arco;
+            incidentes[siguiente[arco.getDestination().getIndice()]++] = arco;
+        }
+
+        posiciones = new int[numVerticesGrafo];
+        Arrays.fill(posiciones, -1);
+        Vertex<K, V>[] orden = (Vertex<K, V>[]) new Vertex<?, ?>[arcos.size() + 1];
+        int[] padresBfs = new int[orden.length];
+        Edge<K, V>[] arcosBfs = (Edge<K, V>[]) new Edge<?, ?>[orden.length];
+        int[] cantidadHijos = new int[orden.length + 1];
+
+        orden[0] = raiz;
+        posiciones[raiz.getIndice()] = 0;
+        padresBfs[0] = -1;
+        int tamano = 1;
+        double costo = 0;
+        for (int cabeza = 0; cabeza < tamano; cabeza++) {
+            int indice = orden[cabeza].getIndice();
+            for (int i = inicio[indice]; i < inicio[indice + 1]; i++) {
+                Edge<K, V> arco = incidentes[i];
+                Vertex<K, V> otro = arco.getSource().getIndice() == indice ? arco.getDestination() : arco.getSource();
+                if (posiciones[otro.getIndice()] == -1) {
+                    posiciones[otro.getIndice()] = tamano;
+                    orden[tamano] = otro;
+                    padresBfs[tamano] = cabeza;
+                    arcosBfs[tamano] = arco;
+                    cantidadHijos[cabeza + 1]++;
+                    costo += arco.getWeight();
+                    tamano++;
+                }
+            }
+        }
+
+        vertices = Arrays.copyOf(orden, tamano);
+        padres = Arrays.copyOf(padresBfs, tamano);
+        arcosPadre = Arrays.copyOf(arcosBfs, tamano);
+        costoTotal = costo;
+
+        // En orden BFS los hijos de p son las posiciones inicioHijos[p] + 1 .. inicioHijos[p + 1]
+        inicioHijos = Arrays.copyOf(cantidadHijos, tamano + 1);
+        for (int p = 0; p < tamano; p++) {
+            inicioHijos[p + 1] += inicioHijos[p];
+        }
+    }
+
+    public Vertex<K, V> darRaiz() {
+        return raiz;
+    }
+
+    public int numVertices() {
+        return vertices.length;
+    }
+
+    public int numArcos() {
+        return vertices.length - 1;
+    }
+
+    public double darCostoTotal() {
+        return costoTotal;
+    }
+
+    public boolean contiene(Vertex<K, V> vertice) {
+        int indice = vertice.getIndice();
+        return indice < posiciones.length && posiciones[indice] != -1 && vertices[posiciones[indice]] == vertice;
+    }
+
+    /**
+     * @return arco que une el vértice con su padre, o null para la raíz.
+     */
+    public Edge<K, V> arcoPadre(Vertex<K, V> vertice) {
+        return arcosPadre[posiciones[vertice.getIndice()]];
+    }
+
+    public Vertex<K, V> padre(Vertex<K, V> vertice) {
+        int padre = padres[posiciones[vertice.getIndice()]];
+        return padre == -1 ? null : vertices[padre];
+    }
+
+    public ILista<Vertex<K, V>> hijos(Vertex<K, V> vertice) {
+        int p = posiciones[vertice.getIndice()];
+        ILista<Vertex<K, V>> lista = new ArregloDinamico<>(Math.max(inicioHijos[p + 1] - inicioHijos[p], 1));
+        for (int hijo = inicioHijos[p] + 1; hijo <= inicioHijos[p + 1]; hijo++) {
+            lista.addLast(vertices[hijo]);
+        }
+        return lista;
+    }
+
+    /**
+     * @return arcos del árbol en orden BFS desde la raíz.
+     */
+    public ILista<Edge<K, V>> arcos() {
+        ILista<Edge<K, V>> lista = new ArregloDinamico<>(Math.max(numArcos(), 1));
+        for (int p = 1; p < arcosPadre.length; p++) {
+            lista.addLast(arcosPadre[p]);
+        }
+        return lista;
+    }
+
+    /**
+     * Rama más larga (diámetro) del árbol en O(V) con dos recorridos: el vértice más lejano a la
+     * raíz es un extremo del diámetro, y el más lejano a ese extremo es el otro.
+     *
+     * @param porPeso si es true la longitud se mide en kilómetros; si no, en cantidad de arcos.
+     * @return los vértices de la rama en orden, de un extremo al otro.
+     */
+    public ILista<Vertex<K, V>> ramaMasLarga(boolean porPeso) {
+        int n = vertices.length;
+        double[] distancias = new double[n];
+        int[] previos = new int[n];
+
+        int extremo = masLejano(0, porPeso, distancias, previos);
+        int otroExtremo = masLejano(extremo, porPeso, distancias, previos);
+
+        ILista<Vertex<K, V>> rama = new ArregloDinamico<>(n);
+        for (int p = otroExtremo; p != -1; p = previos[p]) {
+            rama.addLast(vertices[p]);
+        }
+        return rama;
+    }
+
+    /**
+     * Recorre el árbol desde origen por padres e hijos. En un árbol hay un solo camino entre dos
+     * vértices, así que basta un recorrido en anchura para obtener también las distancias con peso.
+     */
+    private int masLejano(int origen, boolean porPeso, double[] distancias, int[] previos) {
+        int n = vertices.length;
+        int[] cola = new int[n];
+        Arrays.fill(previos, -2);
+        int cabeza = 0;
+        int fin = 0;
+        cola[fin++] = origen;
+        distancias[origen] = 0;
+        previos[origen] = -1;
+        int lejano = origen;
+
+        while (cabeza < fin) {
+            int p = cola[cabeza++];
+            if (distancias[p] > distancias[lejano]) {
+                lejano = p;
+            }
+            int padre = padres[p];
+            if (padre != -1 && previos[padre] == -2) {
+                distancias[padre] = distancias[p] + (porPeso ? arcosPadre[p].getWeight() : 1);
+                previos[padre] = p;
+                cola[fin++] = padre;
+            }
+            for (int hijo = inicioHijos[p] + 1; hijo <= inicioHijos[p + 1]; hijo++) {
+                if (previos[hijo] == -2) {
+                    distancias[hijo] = distancias[p] + (porPeso ? arcosPadre[hijo].getWeight() : 1);
+                    previos[hijo] = p;
+                    cola[fin++] = hijo;
+                }
+            }
+        }
+        return lejano;
+    }
+}
@@ -0,0 +1,64 @@
+package model.data_structures;
+
+/**
+ * Árbol de rutas mínimas desde un vértice de origen, guardado en arreglos indexados por
+ * Vertex.getIndice(): la distancia acumulada y el último arco de la ruta hacia cada vértice.
+ */
+public class ArbolRutaMinima<K extends Comparable<K>, V extends Comparable<V>> {
+
+    private final Vertex<K, V> origen;
+    private final float[] distancias;
+    private final Edge<K, V>[] arcosHacia;
+
+    ArbolRutaMinima(Vertex<K, V> origen, float[] distancias, Edge<K, V>[] arcosHacia) {
+        this.origen = origen;
+        this.distancias = distancias;
+        this.arcosHacia = arcosHacia;
+    }
+
+    public Vertex<K, V> darOrigen() {
+        return origen;
+    }
+
+    public int numVertices() {
+        return distancias.length;
+    }
+
+    public boolean tieneRuta(Vertex<K, V> destino) {
+        return distancias[destino.getIndice()] != Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return distancia mínima desde el origen; infinito si no hay ruta.
+     */
+    public float distancia(Vertex<K, V> destino) {
+        return distancias[destino.getIndice()];
+    }
+
+    /**
+     * @return último arco de la ruta hacia destino, o null para el origen o un vértice sin ruta.
+     */
+    public Edge<K, V> arcoHacia(Vertex<K, V> destino) {
+        return arcosHacia[destino.getIndice()];
+    }
+
+    /**
+     * @return arcos de la ruta desde el origen hasta destino; pop() entrega primero el arco que sale del origen.
+     */
+    public PilaEncadenada<Edge<K, V>> ruta(Vertex<K, V> destino) {
+        PilaEncadenada<Edge<K, V>> ruta = new PilaEncadenada<>();
+        Edge<K, V> actual;
+        while ((actual = arcosHacia[destino.getIndice()]) != null) {
+            ruta.push(actual);
+            destino = actual.getSource();
+        }
+        return ruta;
+    }
+
+    /**
+     * Memoria aproximada que ocupa el árbol: un float y una referencia por vértice más las cabeceras.
+     */
+    public long tamanoEnBytes() {
+        return 64L + 12L * distancias.length;
+    }
+}
@@ -1,6 +1,8 @@
 package model.data_structures;
 
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 public class ArregloDinamico<T extends Comparable<T>> implements ILista<T> {
 
@@ -15,8 +17,9 @@ public class ArregloDinamico<T extends Comparable<T>> implements ILista<T> {
         this(DEFAULT_CAPACITY);
     }
 
+    @SuppressWarnings("unchecked")
     public ArregloDinamico(int max) {
-        elementos = (T[]) new Comparable[max];
+        elementos = (T[]) new Comparable<?>[max];
         tamanoMax = max;
         tamanoAct = 0;
     }
@@ -120,9 +123,10 @@ public class ArregloDinamico<T extends Comparable<T>> implements ILista<T> {
         }
     }
 
+    @SuppressWarnings("unchecked")
     private void resizeArray() {
         tamanoMax *= RESIZE_FACTOR;
-        T[] newArray = (T[]) new Comparable[tamanoMax];
+        T[] newArray = (T[]) new Comparable<?>[tamanoMax];
         System.arraycopy(elementos, 0, newArray, 0, tamanoAct);
         elementos = newArray;
     }
@@ -153,7 +157,7 @@ public class ArregloDinamico<T extends Comparable<T>> implements ILista<T> {
     }
 
     private void validatePosition(int pos) throws PosException {
-        if (pos < 1 || pos > tamanoMax) {
+        if (pos < 1 || pos > tamanoAct + 1) {
             throw new PosException("La posición no es válida");
         }
     }
@@ -183,6 +187,19 @@ public class ArregloDinamico<T extends Comparable<T>> implements ILista<T> {
         return elemento;
     }
 
+    /**
+     * Elimina en O(1) el elemento de la posición pos moviendo el último a su lugar. No conserva
+     * el orden: después de llamarlo, la posición pos tiene el elemento que estaba de último.
+     */
+    public T eliminarIntercambiando(int pos) {
+        checkValidIndex(pos);
+
+        T elemento = elementos[pos - 1];
+        elementos[pos - 1] = elementos[tamanoAct - 1];
+        elementos[--tamanoAct] = null;
+        return elemento;
+    }
+
     private void checkValidIndex(int pos) {
         if (pos < 1 || pos > tamanoAct) {
             throw new IllegalArgumentException("La posición no es válida");
@@ -268,7 +285,7 @@ public class ArregloDinamico<T extends Comparable<T>> implements ILista<T> {
         elementos[pos - 1] = element;
     }
 
-    public int compareTo(ILista o) {
+    public int compareTo(ILista<T> o) {
         return 0;
     }
 
@@ -276,10 +293,38 @@ public class ArregloDinamico<T extends Comparable<T>> implements ILista<T> {
         throw new UnsupportedOperationException("Unimplemented method 'sublista'");
     }
 
-	@Override
-	public T obtenerElemento(int i) throws PosException, VacioException {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException("Unimplemented method 'obtenerElemento'");
-	}
+    @Override
+    public T obtenerElemento(int i) throws PosException, VacioException {
+        return getElement(i);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int actual = 0;
+
+            @Override
+            public boolean hasNext() {
+                return actual < tamanoAct;
+            }
+
+            @Override
+            public T next() {
+                if (actual >= tamanoAct) {
+                    throw new NoSuchElementException();
+                }
+                return elementos[actual++];
+            }
+        };
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> accion) {
+        T[] datos = elementos;
+        int tamano = tamanoAct;
+        for (int i = 0; i < tamano; i++) {
+            accion.accept(datos[i]);
+        }
+    }
 }
 
@@ -0,0 +1,233 @@
+package model.data_structures;
+
+import java.util.Arrays;
+
+/**
+ * Atributos de los arcos de cable (los que vienen de connections.csv) guardados por columnas y
+ * no en cada Edge: capacidad y año RFS en arreglos primitivos, nombre e id del cable como
+ * posiciones en un diccionario de cadenas, y los dueños como un bitset de enteros por cable sobre
+ * un diccionario de dueños. Cada cable tiene un índice denso que se guarda en el arco y en su
+ * reverso.
+ */
+public class AtributosCables {
+
+    private static final int BITS_PALABRA = 32;
+
+    private Edge<?, ?>[] arcos;
+    private float[] capacidades;
+    private int[] rfs;
+    private int[] nombres;
+    private int[] ids;
+    /** Bitset de dueños del cable i en [i * palabras, (i + 1) * palabras). */
+    private int[] propietarios;
+    private int palabras;
+    private int tamano;
+
+    private final Diccionario diccionarioCables = new Diccionario();
+    private final Diccionario diccionarioPropietarios = new Diccionario();
+
+    public AtributosCables(int capacidadInicial) {
+        int capacidad = Math.max(capacidadInicial, 1);
+        arcos = new Edge<?, ?>[capacidad];
+        capacidades = new float[capacidad];
+        rfs = new int[capacidad];
+        nombres = new int[capacidad];
+        ids = new int[capacidad];
+        palabras = 1;
+        propietarios = new int[capacidad];
+    }
+
+    /**
+     * Registra los atributos del cable que corresponde al arco. Si el arco ya estaba registrado
+     * (connections.csv trae cada cable en los dos sentidos) se combinan las capacidades con
+     * combinarCapacidad y se suman los dueños.
+     *
+     * @param capacidad capacidad en Tbps, o infinito si no se conoce.
+     *
+     * @return el índice del cable.
+     */
+    public int agregar(Edge<?, ?> arco, String nombre, String cableId, float capacidad, int anoRfs, String[] duenos) {
+        int indice = arco.getIndiceAtributos();
+        if (indice == -1) {
+            if (tamano == arcos.length) {
+                crecer(tamano * 2);
+            }
+            indice = tamano++;
+            arcos[indice] = arco;
+            capacidades[indice] = capacidad;
+            rfs[indice] = anoRfs;
+            nombres[indice] = diccionarioCables.codificar(nombre);
+            ids[indice] = diccionarioCables.codificar(cableId);
+            arco.setIndiceAtributos(indice);
+        } else {
+            capacidades[indice] = combinarCapacidad(capacidades[indice], capacidad);
+        }
+
+        for (String dueno : duenos) {
+            int codigo = diccionarioPropietarios.codificar(dueno);
+            if (codigo >= palabras * BITS_PALABRA) {
+                ensancharPropietarios(palabras * 2);
+            }
+            propietarios[indice * palabras + codigo / BITS_PALABRA] |= 1 << (codigo % BITS_PALABRA);
+        }
+        return indice;
+    }
+
+    /**
+     * Capacidad de un cable que aparece en dos filas: la mayor de las conocidas; infinito (desconocida)
+     * solo si ninguna se conoce.
+     */
+    public static float combinarCapacidad(float actual, float nueva) {
+        if (actual == Float.POSITIVE_INFINITY) {
+            return nueva;
+        }
+        return nueva == Float.POSITIVE_INFINITY ? actual : Math.max(actual, nueva);
+    }
+
+    public int numCables() {
+        return tamano;
+    }
+
+    public int numPropietarios() {
+        return diccionarioPropietarios.size();
+    }
+
+    /**
+     * @return el índice del cable del arco, o -1 si el arco no es un cable registrado aquí.
+     */
+    public int indice(Edge<?, ?> arco) {
+        return arco.getIndiceAtributos();
+    }
+
+    public Edge<?, ?> darArco(int indice) {
+        return arcos[indice];
+    }
+
+    /**
+     * @return capacidad en Tbps, o infinito si no se conoce.
+     */
+    public float darCapacidad(int indice) {
+        return capacidades[indice];
+    }
+
+    /**
+     * @return año de entrada en servicio, o 0 si no se conoce.
+     */
+    public int darRfs(int indice) {
+        return rfs[indice];
+    }
+
+    public String darNombre(int indice) {
+        return diccionarioCables.cadena(nombres[indice]);
+    }
+
+    public String darCableId(int indice) {
+        return diccionarioCables.cadena(ids[indice]);
+    }
+
+    public boolean tienePropietario(int indice, String dueno) {
+        int codigo = diccionarioPropietarios.codigo(dueno);
+        return codigo != -1 && tieneCodigo(indice, codigo);
+    }
+
+    public ILista<String> darPropietarios(int indice) {
+        ILista<String> lista = new ArregloDinamico<>(2);
+        for (int w = 0; w < palabras; w++) {
+            int palabra = propietarios[indice * palabras + w];
+            while (palabra != 0) {
+                int bit = Integer.numberOfTrailingZeros(palabra);
+                lista.addLast(diccionarioPropietarios.cadena(w * BITS_PALABRA + bit));
+                palabra &= palabra - 1;
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Cables que siguen en el grafo y cumplen todos los criterios.
+     *
+     * @param dueno dueño que debe tener el cable, o null para no filtrar por dueño.
+     * @param rfsMinimo año RFS mínimo (0 para no filtrar).
+     * @param capacidadMinima capacidad mínima en Tbps (0 para no filtrar). Con un mínimo mayor que
+     * 0 los cables de capacidad desconocida quedan fuera.
+     * @return los índices de los cables en orden.
+     */
+    public int[] filtrar(String dueno, int rfsMinimo, float capacidadMinima) {
+        int codigo = -1;
+        if (dueno != null) {
+            codigo = diccionarioPropietarios.codigo(dueno);
+            if (codigo == -1) {
+                return new int[0];
+            }
+        }
+
+        int[] resultado = new int[tamano];
+        int cantidad = 0;
+        for (int i = 0; i < tamano; i++) {
+            if (rfs[i] >= rfsMinimo && (capacidadMinima <= 0 || capacidades[i] >= capacidadMinima && capacidades[i] != Float.POSITIVE_INFINITY)
+                    && (codigo == -1 || tieneCodigo(i, codigo)) && arcos[i].estaEnGrafo()) {
+                resultado[cantidad++] = i;
+            }
+        }
+        return Arrays.copyOf(resultado, cantidad);
+    }
+
+    private boolean tieneCodigo(int indice, int codigo) {
+        return (propietarios[indice * palabras + codigo / BITS_PALABRA] & (1 << (codigo % BITS_PALABRA))) != 0;
+    }
+
+    private void crecer(int capacidad) {
+        arcos = Arrays.copyOf(arcos, capacidad);
+        capacidades = Arrays.copyOf(capacidades, capacidad);
+        rfs = Arrays.copyOf(rfs, capacidad);
+        nombres = Arrays.copyOf(nombres, capacidad);
+        ids = Arrays.copyOf(ids, capacidad);
+        propietarios = Arrays.copyOf(propietarios, capacidad * palabras);
+    }
+
+    /**
+     * Cambia el ancho del bitset de cada cable cuando el diccionario de dueños ya no cabe.
+     */
+    private void ensancharPropietarios(int nuevasPalabras) {
+        int[] nuevos = new int[arcos.length * nuevasPalabras];
+        for (int i = 0; i < tamano; i++) {
+            System.arraycopy(propietarios, i * palabras, nuevos, i * nuevasPalabras, palabras);
+        }
+        propietarios = nuevos;
+        palabras = nuevasPalabras;
+    }
+
+    /**
+     * Asigna a cada cadena distinta un código denso desde 0.
+     */
+    private static final class Diccionario {
+        private final TablaHashPlana<String, Integer> codigos = new TablaHashPlana<>(64);
+        private String[] cadenas = new String[64];
+
+        int codificar(String cadena) {
+            Integer codigo = codigos.obtener(cadena);
+            if (codigo == null) {
+                codigo = codigos.size();
+                if (codigo == cadenas.length) {
+                    cadenas = Arrays.copyOf(cadenas, codigo * 2);
+                }
+                cadenas[codigo] = cadena;
+                codigos.poner(cadena, codigo);
+            }
+            return codigo;
+        }
+
+        int codigo(String cadena) {
+            Integer codigo = codigos.obtener(cadena);
+            return codigo == null ? -1 : codigo;
+        }
+
+        String cadena(int codigo) {
+            return cadenas[codigo];
+        }
+
+        int size() {
+            return codigos.size();
+        }
+    }
+}
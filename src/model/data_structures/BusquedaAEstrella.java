@@ -0,0 +1,88 @@
+package model.data_structures;
+
+import java.util.Arrays;
+
+/**
+ * A* entre dos vértices cuyos valores son Ubicable. La cota de cada vértice es la distancia
+ * geográfica hasta el destino multiplicada por un factor. Con un factor que no supera
+ * peso / distancia geográfica en ningún arco (GrafoListaAdyacencia.factorCotaAdmisible()) la cota
+ * es consistente y la ruta es mínima; con factores mayores la búsqueda puede devolver una ruta algo
+ * más larga. Los vértices cuyo valor no es Ubicable usan cota 0.
+ */
+class BusquedaAEstrella<K extends Comparable<K>, V extends Comparable<V>> {
+
+    private final Vertex<K, V> origen;
+    private final Vertex<K, V> destino;
+    private final Ubicable ubicacionDestino;
+    private final double factor;
+
+    private final float[] distancias;
+    private final Edge<K, V>[] arcosHacia;
+    private final Vertex<K, V>[] vertices;
+    private final MinPQIndexadaDensa cola;
+    private int asentados;
+
+    @SuppressWarnings("unchecked")
+    BusquedaAEstrella(Vertex<K, V> origen, Vertex<K, V> destino, int numVertices, double factor) {
+        this.origen = origen;
+        this.destino = destino;
+        this.ubicacionDestino = destino.getInfo() instanceof Ubicable ? (Ubicable) destino.getInfo() : null;
+        this.factor = factor;
+        distancias = new float[numVertices];
+        arcosHacia = (Edge<K, V>[]) new Edge<?, ?>[numVertices];
+        vertices = (Vertex<K, V>[]) new Vertex<?, ?>[numVertices];
+        cola = new MinPQIndexadaDensa(numVertices);
+        Arrays.fill(distancias, Float.POSITIVE_INFINITY);
+    }
+
+    PilaEncadenada<Edge<K, V>> ruta() {
+        buscar();
+
+        PilaEncadenada<Edge<K, V>> ruta = new PilaEncadenada<>();
+        Edge<K, V> actual;
+        Vertex<K, V> v = destino;
+        while ((actual = arcosHacia[v.getIndice()]) != null) {
+            ruta.push(actual);
+            v = actual.getSource();
+        }
+        return ruta;
+    }
+
+    int darAsentados() {
+        return asentados;
+    }
+
+    private float cota(Vertex<K, V> v) {
+        if (ubicacionDestino == null || !(v.getInfo() instanceof Ubicable)) {
+            return 0f;
+        }
+        return (float) (factor * Ubicable.distanciaKm((Ubicable) v.getInfo(), ubicacionDestino));
+    }
+
+    private void buscar() {
+        int o = origen.getIndice();
+        vertices[o] = origen;
+        distancias[o] = 0f;
+        cola.insert(o, cota(origen));
+
+        while (!cola.isEmpty()) {
+            Vertex<K, V> actual = vertices[cola.delMin()];
+            asentados++;
+            if (actual == destino) {
+                return;
+            }
+            float base = distancias[actual.getIndice()];
+            for (Edge<K, V> arco : actual.edges()) {
+                Vertex<K, V> w = arco.getDestination();
+                int iw = w.getIndice();
+                float nueva = base + arco.getWeight();
+                if (nueva < distancias[iw]) {
+                    distancias[iw] = nueva;
+                    arcosHacia[iw] = arco;
+                    vertices[iw] = w;
+                    cola.insertOrChange(iw, nueva + cota(w));
+                }
+            }
+        }
+    }
+}
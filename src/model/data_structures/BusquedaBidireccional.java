@@ -0,0 +1,157 @@
+package model.data_structures;
+
+import java.util.Arrays;
+
+/**
+ * Dijkstra bidireccional entre dos vértices. La búsqueda hacia adelante sale del origen por los
+ * arcos de salida; la búsqueda hacia atrás sale del destino por los arcos de entrada, que son los
+ * reversos (Edge.getReverso) de los arcos de salida. En cada paso avanza el frente con menor
+ * distancia pendiente y termina cuando la suma de los dos mínimos pendientes ya no puede mejorar
+ * la mejor ruta encontrada a través de un vértice alcanzado por ambos.
+ */
+class BusquedaBidireccional<K extends Comparable<K>, V extends Comparable<V>> {
+
+    private final Vertex<K, V> origen;
+    private final Vertex<K, V> destino;
+
+    private final float[] distanciaAdelante;
+    private final float[] distanciaAtras;
+    private final Edge<K, V>[] arcoAdelante;
+    private final Edge<K, V>[] arcoAtras;
+    private final Vertex<K, V>[] vertices;
+    private final MinPQIndexadaDensa colaAdelante;
+    private final MinPQIndexadaDensa colaAtras;
+
+    private float mejorDistancia = Float.POSITIVE_INFINITY;
+    private Vertex<K, V> encuentro;
+    private int asentados;
+
+    @SuppressWarnings("unchecked")
+    BusquedaBidireccional(Vertex<K, V> origen, Vertex<K, V> destino, int numVertices) {
+        this.origen = origen;
+        this.destino = destino;
+        distanciaAdelante = new float[numVertices];
+        distanciaAtras = new float[numVertices];
+        arcoAdelante = (Edge<K, V>[]) new Edge<?, ?>[numVertices];
+        arcoAtras = (Edge<K, V>[]) new Edge<?, ?>[numVertices];
+        vertices = (Vertex<K, V>[]) new Vertex<?, ?>[numVertices];
+        colaAdelante = new MinPQIndexadaDensa(numVertices);
+        colaAtras = new MinPQIndexadaDensa(numVertices);
+        Arrays.fill(distanciaAdelante, Float.POSITIVE_INFINITY);
+        Arrays.fill(distanciaAtras, Float.POSITIVE_INFINITY);
+    }
+
+    PilaEncadenada<Edge<K, V>> ruta() {
+        buscar();
+
+        PilaEncadenada<Edge<K, V>> ruta = new PilaEncadenada<>();
+        if (encuentro == null) {
+            return ruta;
+        }
+
+        // Tramo encuentro -> destino: se apila del final hacia el encuentro
+        Edge<K, V>[] tramoFinal = recolectarTramoFinal();
+        for (int i = tramoFinal.length - 1; i >= 0; i--) {
+            ruta.push(tramoFinal[i]);
+        }
+        // Tramo origen -> encuentro, también desde el final
+        Edge<K, V> actual;
+        Vertex<K, V> v = encuentro;
+        while ((actual = arcoAdelante[v.getIndice()]) != null) {
+            ruta.push(actual);
+            v = actual.getSource();
+        }
+        return ruta;
+    }
+
+    /**
+     * @return vértices sacados de alguna de las dos colas en la última búsqueda.
+     */
+    int darAsentados() {
+        return asentados;
+    }
+
+    private void buscar() {
+        int o = origen.getIndice();
+        int d = destino.getIndice();
+        vertices[o] = origen;
+        vertices[d] = destino;
+        distanciaAdelante[o] = 0f;
+        distanciaAtras[d] = 0f;
+        colaAdelante.insert(o, 0f);
+        colaAtras.insert(d, 0f);
+        if (o == d) {
+            mejorDistancia = 0f;
+            encuentro = origen;
+            return;
+        }
+
+        while (!colaAdelante.isEmpty() && !colaAtras.isEmpty()) {
+            if (colaAdelante.minPrioridad() + colaAtras.minPrioridad() >= mejorDistancia) {
+                break;
+            }
+            if (colaAdelante.minPrioridad() <= colaAtras.minPrioridad()) {
+                avanzarAdelante(vertices[colaAdelante.delMin()]);
+            } else {
+                avanzarAtras(vertices[colaAtras.delMin()]);
+            }
+            asentados++;
+        }
+    }
+
+    private void avanzarAdelante(Vertex<K, V> actual) {
+        float base = distanciaAdelante[actual.getIndice()];
+        for (Edge<K, V> arco : actual.edges()) {
+            Vertex<K, V> w = arco.getDestination();
+            int iw = w.getIndice();
+            float nueva = base + arco.getWeight();
+            if (nueva < distanciaAdelante[iw]) {
+                distanciaAdelante[iw] = nueva;
+                arcoAdelante[iw] = arco;
+                vertices[iw] = w;
+                colaAdelante.insertOrChange(iw, nueva);
+            }
+            actualizarEncuentro(w);
+        }
+    }
+
+    private void avanzarAtras(Vertex<K, V> actual) {
+        float base = distanciaAtras[actual.getIndice()];
+        for (Edge<K, V> salida : actual.edges()) {
+            // El arco que entra a actual desde w
+            Edge<K, V> arco = salida.getReverso();
+            Vertex<K, V> w = arco.getSource();
+            int iw = w.getIndice();
+            float nueva = base + arco.getWeight();
+            if (nueva < distanciaAtras[iw]) {
+                distanciaAtras[iw] = nueva;
+                arcoAtras[iw] = arco;
+                vertices[iw] = w;
+                colaAtras.insertOrChange(iw, nueva);
+            }
+            actualizarEncuentro(w);
+        }
+    }
+
+    private void actualizarEncuentro(Vertex<K, V> w) {
+        float total = distanciaAdelante[w.getIndice()] + distanciaAtras[w.getIndice()];
+        if (total < mejorDistancia) {
+            mejorDistancia = total;
+            encuentro = w;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Edge<K, V>[] recolectarTramoFinal() {
+        int longitud = 0;
+        for (Vertex<K, V> v = encuentro; arcoAtras[v.getIndice()] != null; v = arcoAtras[v.getIndice()].getDestination()) {
+            longitud++;
+        }
+        Edge<K, V>[] tramo = (Edge<K, V>[]) new Edge<?, ?>[longitud];
+        int i = 0;
+        for (Vertex<K, V> v = encuentro; arcoAtras[v.getIndice()] != null; v = arcoAtras[v.getIndice()].getDestination()) {
+            tramo[i++] = arcoAtras[v.getIndice()];
+        }
+        return tramo;
+    }
+}
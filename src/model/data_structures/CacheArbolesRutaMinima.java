@@ -0,0 +1,109 @@
+package model.data_structures;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché LRU de árboles de rutas mínimas por id de origen, acotada por la memoria que ocupan los
+ * árboles (ArbolRutaMinima.tamanoEnBytes) y no por la cantidad. Lleva contadores de aciertos,
+ * fallos y desalojos. Cada árbol se guarda con la versión del grafo en la que se calculó; si el
+ * grafo cambió entre el cálculo y el guardado, el árbol se descarta.
+ */
+public class CacheArbolesRutaMinima<K extends Comparable<K>, V extends Comparable<V>> {
+
+    public static final long CAPACIDAD_POR_DEFECTO = 32L * 1024 * 1024;
+
+    private final LinkedHashMap<K, ArbolRutaMinima<K, V>> arboles = new LinkedHashMap<>(16, 0.75f, true);
+    private long capacidadBytes;
+    private long bytesUsados;
+    private long version;
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+
+    public CacheArbolesRutaMinima(long capacidadBytes) {
+        this.capacidadBytes = capacidadBytes;
+    }
+
+    public synchronized ArbolRutaMinima<K, V> obtener(K origen) {
+        ArbolRutaMinima<K, V> arbol = arboles.get(origen);
+        if (arbol == null) {
+            fallos++;
+        } else {
+            aciertos++;
+        }
+        return arbol;
+    }
+
+    /**
+     * @param versionCalculo valor de darVersion() leído antes de calcular el árbol.
+     */
+    public synchronized void poner(K origen, ArbolRutaMinima<K, V> arbol, long versionCalculo) {
+        if (versionCalculo != version || arbol.tamanoEnBytes() > capacidadBytes) {
+            return;
+        }
+        ArbolRutaMinima<K, V> anterior = arboles.put(origen, arbol);
+        if (anterior != null) {
+            bytesUsados -= anterior.tamanoEnBytes();
+        }
+        bytesUsados += arbol.tamanoEnBytes();
+        desalojar();
+    }
+
+    private void desalojar() {
+        Iterator<Map.Entry<K, ArbolRutaMinima<K, V>>> masAntiguos = arboles.entrySet().iterator();
+        while (bytesUsados > capacidadBytes && masAntiguos.hasNext()) {
+            bytesUsados -= masAntiguos.next().getValue().tamanoEnBytes();
+            masAntiguos.remove();
+            desalojos++;
+        }
+    }
+
+    /**
+     * Descarta todos los árboles; se llama cada vez que cambia el grafo.
+     */
+    public synchronized void invalidar() {
+        version++;
+        arboles.clear();
+        bytesUsados = 0;
+    }
+
+    public synchronized long darVersion() {
+        return version;
+    }
+
+    public synchronized void cambiarCapacidad(long capacidadBytes) {
+        this.capacidadBytes = capacidadBytes;
+        desalojar();
+    }
+
+    public synchronized int size() {
+        return arboles.size();
+    }
+
+    public synchronized long darBytesUsados() {
+        return bytesUsados;
+    }
+
+    public synchronized long darAciertos() {
+        return aciertos;
+    }
+
+    public synchronized long darFallos() {
+        return fallos;
+    }
+
+    public synchronized long darDesalojos() {
+        return desalojos;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder retorno = new StringBuilder();
+        retorno.append("Árboles en caché: ").append(arboles.size());
+        retorno.append("\nMemoria usada: ").append(bytesUsados).append(" de ").append(capacidadBytes).append(" bytes");
+        retorno.append("\nAciertos: ").append(aciertos).append(", fallos: ").append(fallos).append(", desalojos: ").append(desalojos);
+        return retorno.toString();
+    }
+}
@@ -2,7 +2,7 @@ package model.data_structures;
 public class ColaEncadenada<T extends Comparable<T>> extends ListaEncadenada<T> {
 
     public void enqueue(T element) throws NullException {
-        this.addLast(element);
+        this.addLastCola(element);
     }
 
     public T dequeue() throws PosException {
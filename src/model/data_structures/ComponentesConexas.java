@@ -0,0 +1,49 @@
+package model.data_structures;
+
+/**
+ * Resultado de calcular las componentes conexas de un grafo: el número de componente de cada
+ * vértice (de 1 a darNumeroComponentes(), en el orden de índice del primer vértice de cada una)
+ * y la cantidad de componentes.
+ */
+public class ComponentesConexas<K extends Comparable<K>, V extends Comparable<V>> {
+
+    private final GrafoCSR<K, V> grafo;
+    private final int[] componentes;
+    private final int numeroComponentes;
+    private ITablaSimbolos<K, Integer> tabla;
+
+    ComponentesConexas(GrafoCSR<K, V> grafo, int[] componentes, int numeroComponentes) {
+        this.grafo = grafo;
+        this.componentes = componentes;
+        this.numeroComponentes = numeroComponentes;
+    }
+
+    public int darNumeroComponentes() {
+        return numeroComponentes;
+    }
+
+    /**
+     * @param indice índice denso del vértice (Vertex.getIndice()).
+     */
+    public int componente(int indice) {
+        return componentes[indice];
+    }
+
+    public boolean mismaComponente(Vertex<K, V> vertice1, Vertex<K, V> vertice2) {
+        return componentes[vertice1.getIndice()] == componentes[vertice2.getIndice()];
+    }
+
+    /**
+     * Tabla id del vértice -> número de componente.
+     * Se construye la primera vez que se pide.
+     */
+    public ITablaSimbolos<K, Integer> darTabla() {
+        if (tabla == null) {
+            tabla = new TablaHashPlana<>(componentes.length);
+            for (int v = 0; v < componentes.length; v++) {
+                tabla.poner(grafo.vertice(v).getId(), componentes[v]);
+            }
+        }
+        return tabla;
+    }
+}
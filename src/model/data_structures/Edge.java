@@ -5,6 +5,12 @@ public class Edge<K extends Comparable<K>, V extends Comparable<V>> implements C
     private Vertex<K, V> source;
     private Vertex<K, V> destination;
     private float weight;
+    private float capacidad = Float.POSITIVE_INFINITY;
+    private GrafoListaAdyacencia<K, V> grafo;
+    private Edge<K, V> reverso;
+    private int posicionAdyacencia;
+    private int posicionGlobal;
+    private int indiceAtributos = -1;
 
     public Edge(Vertex<K, V> source, Vertex<K, V> destination, float weight) {
         this.source = source;
@@ -24,8 +30,115 @@ public class Edge<K extends Comparable<K>, V extends Comparable<V>> implements C
         return weight;
     }
 
+    /**
+     * Si el arco está en un grafo, cambia el peso con el candado de escritura del grafo.
+     */
     public void setWeight(float weight) {
-        this.weight = weight;
+        if (grafo == null) {
+            this.weight = weight;
+            return;
+        }
+        grafo.darCandado().writeLock().lock();
+        try {
+            this.weight = weight;
+            grafo.registrarCambio();
+        } finally {
+            grafo.darCandado().writeLock().unlock();
+        }
+    }
+
+    /**
+     * Capacidad del cable en Tbps; infinita para los enlaces sin límite conocido (hacia la capital
+     * o entre vértices de un mismo landing point).
+     */
+    public float getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Asigna la capacidad a este arco y a su reverso, porque es la del mismo cable.
+     */
+    public void setCapacidad(float capacidad) {
+        if (grafo == null) {
+            asignarCapacidad(capacidad);
+            return;
+        }
+        grafo.darCandado().writeLock().lock();
+        try {
+            asignarCapacidad(capacidad);
+            grafo.registrarCambio();
+        } finally {
+            grafo.darCandado().writeLock().unlock();
+        }
+    }
+
+    private void asignarCapacidad(float capacidad) {
+        this.capacidad = capacidad;
+        if (reverso != null) {
+            reverso.capacidad = capacidad;
+        }
+    }
+
+    /**
+     * Grafo al que se avisa cuando cambia el peso.
+     */
+    void setGrafo(GrafoListaAdyacencia<K, V> grafo) {
+        this.grafo = grafo;
+    }
+
+    /**
+     * Arco en sentido contrario que agregarArco crea junto con este.
+     */
+    Edge<K, V> getReverso() {
+        return reverso;
+    }
+
+    void setReverso(Edge<K, V> reverso) {
+        this.reverso = reverso;
+    }
+
+    /**
+     * Posición (desde 1) del arco en la lista de arcos de su origen; 0 si no está en el grafo.
+     */
+    int getPosicionAdyacencia() {
+        return posicionAdyacencia;
+    }
+
+    void setPosicionAdyacencia(int posicionAdyacencia) {
+        this.posicionAdyacencia = posicionAdyacencia;
+    }
+
+    /**
+     * Posición (desde 1) en GrafoListaAdyacencia.arcos(); 0 si el arco no está en esa lista
+     * (de cada par solo aparece uno de los dos sentidos).
+     */
+    int getPosicionGlobal() {
+        return posicionGlobal;
+    }
+
+    void setPosicionGlobal(int posicionGlobal) {
+        this.posicionGlobal = posicionGlobal;
+    }
+
+    /**
+     * Índice del cable en AtributosCables, compartido con el reverso; -1 si no tiene atributos.
+     */
+    int getIndiceAtributos() {
+        return indiceAtributos;
+    }
+
+    void setIndiceAtributos(int indiceAtributos) {
+        this.indiceAtributos = indiceAtributos;
+        if (reverso != null) {
+            reverso.indiceAtributos = indiceAtributos;
+        }
+    }
+
+    /**
+     * @return true si el arco sigue en la lista de arcos de su origen.
+     */
+    public boolean estaEnGrafo() {
+        return posicionAdyacencia > 0;
     }
 
     @Override
@@ -0,0 +1,228 @@
+package model.data_structures;
+
+import java.util.Arrays;
+
+/**
+ * Flujo máximo entre dos vértices de una instantánea CSR con push-relabel: cola FIFO de vértices
+ * activos, alturas iniciales exactas (BFS desde el sumidero) y heurística de brecha. Solo se
+ * ejecuta la primera fase, que basta para el valor del flujo y el corte mínimo.
+ *
+ * Cada par arco/reverso es un enlace no dirigido con la misma capacidad en los dos sentidos. Las
+ * capacidades infinitas se reemplazan por un valor finito mayor que la suma de todas las demás,
+ * que ningún corte puede alcanzar.
+ */
+public class FlujoMaximo<K extends Comparable<K>, V extends Comparable<V>> {
+
+    private static final double EPSILON = 1e-9;
+
+    private final GrafoCSR<K, V> grafo;
+    private final int fuente;
+    private final int sumidero;
+    private final int n;
+    private final double[] residual;
+    private final double[] exceso;
+    private final int[] altura;
+    private final int[] cuenta;
+    private final int[] actual;
+    private final int[] cola;
+    private final boolean[] enCola;
+    private int primero;
+    private int tamanoCola;
+    private final boolean[] ladoFuente;
+    private final double valor;
+    private final double capacidadInfinita;
+
+    public FlujoMaximo(GrafoCSR<K, V> grafo, int fuente, int sumidero) {
+        this.grafo = grafo;
+        this.fuente = fuente;
+        this.sumidero = sumidero;
+        n = grafo.numVertices();
+        residual = new double[grafo.numArcos()];
+        exceso = new double[n];
+        altura = new int[n];
+        cuenta = new int[n + 1];
+        actual = new int[n];
+        cola = new int[n];
+        enCola = new boolean[n];
+
+        double finita = 1.0;
+        for (int e = 0; e < residual.length; e++) {
+            if (grafo.capacidad(e) != Float.POSITIVE_INFINITY) {
+                finita += grafo.capacidad(e);
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            for (int e = grafo.inicioArcos(v); e < grafo.finArcos(v); e++) {
+                if (grafo.reverso(e) != -1 && grafo.destino(e) != v) {
+                    residual[e] = grafo.capacidad(e) == Float.POSITIVE_INFINITY ? finita : grafo.capacidad(e);
+                }
+            }
+        }
+        capacidadInfinita = finita;
+
+        if (fuente != sumidero) {
+            calcular();
+        }
+        valor = fuente != sumidero ? exceso[sumidero] : 0.0;
+        ladoFuente = new boolean[n];
+        boolean[] alcanzaSumidero = distanciasAlSumidero(null);
+        for (int v = 0; v < n; v++) {
+            ladoFuente[v] = !alcanzaSumidero[v];
+        }
+    }
+
+    /**
+     * @return el ancho de banda máximo entre fuente y sumidero, en las unidades de la capacidad.
+     */
+    public double darValor() {
+        return valor;
+    }
+
+    /**
+     * @return true si fuente y sumidero están unidos por una ruta sin ningún arco de capacidad
+     * finita, y entonces darValor() no es un ancho de banda real.
+     */
+    public boolean esIlimitado() {
+        return valor >= capacidadInfinita;
+    }
+
+    /**
+     * Arcos del corte mínimo, en el sentido de la fuente al sumidero: los cables que limitan el flujo.
+     * La suma de sus capacidades es darValor().
+     */
+    public ILista<Edge<K, V>> darCorte() {
+        ILista<Edge<K, V>> corte = new ArregloDinamico<>(4);
+        for (int v = 0; v < n; v++) {
+            if (ladoFuente[v]) {
+                for (int e = grafo.inicioArcos(v); e < grafo.finArcos(v); e++) {
+                    if (!ladoFuente[grafo.destino(e)] && grafo.reverso(e) != -1) {
+                        corte.addLast(grafo.arco(e));
+                    }
+                }
+            }
+        }
+        return corte;
+    }
+
+    public boolean estaDelLadoFuente(Vertex<K, V> vertice) {
+        return ladoFuente[vertice.getIndice()];
+    }
+
+    private void calcular() {
+        distanciasAlSumidero(altura);
+        altura[fuente] = n;
+        for (int v = 0; v < n; v++) {
+            if (altura[v] < n) {
+                cuenta[altura[v]]++;
+            }
+            actual[v] = grafo.inicioArcos(v);
+        }
+
+        for (int e = grafo.inicioArcos(fuente); e < grafo.finArcos(fuente); e++) {
+            exceso[fuente] += residual[e];
+            empujar(fuente, e, residual[e]);
+        }
+
+        while (tamanoCola > 0) {
+            int v = cola[primero];
+            primero = (primero + 1) % n;
+            tamanoCola--;
+            enCola[v] = false;
+            descargar(v);
+        }
+    }
+
+    /**
+     * Empuja excedente de v hasta que se acaba o v ya no puede llegar al sumidero (altura n).
+     */
+    private void descargar(int v) {
+        int fin = grafo.finArcos(v);
+        while (exceso[v] > EPSILON && altura[v] < n) {
+            if (actual[v] == fin) {
+                reetiquetar(v);
+                continue;
+            }
+            int e = actual[v];
+            if (residual[e] > EPSILON && altura[v] == altura[grafo.destino(e)] + 1) {
+                empujar(v, e, Math.min(exceso[v], residual[e]));
+            } else {
+                actual[v]++;
+            }
+        }
+    }
+
+    private void empujar(int v, int e, double cantidad) {
+        if (cantidad <= 0) {
+            return;
+        }
+        int w = grafo.destino(e);
+        residual[e] -= cantidad;
+        residual[grafo.reverso(e)] += cantidad;
+        exceso[v] -= cantidad;
+        exceso[w] += cantidad;
+        if (w != fuente && w != sumidero && !enCola[w] && altura[w] < n) {
+            cola[(primero + tamanoCola) % n] = w;
+            tamanoCola++;
+            enCola[w] = true;
+        }
+    }
+
+    private void reetiquetar(int v) {
+        int anterior = altura[v];
+        int nueva = n;
+        for (int e = grafo.inicioArcos(v); e < grafo.finArcos(v); e++) {
+            if (residual[e] > EPSILON) {
+                nueva = Math.min(nueva, altura[grafo.destino(e)] + 1);
+            }
+        }
+        cuenta[anterior]--;
+        if (cuenta[anterior] == 0) {
+            // Brecha: nadie con altura mayor que anterior puede volver a llegar al sumidero
+            for (int u = 0; u < n; u++) {
+                if (altura[u] > anterior && altura[u] < n) {
+                    cuenta[altura[u]]--;
+                    altura[u] = n;
+                }
+            }
+            nueva = n;
+        }
+        altura[v] = nueva;
+        if (nueva < n) {
+            cuenta[nueva]++;
+        }
+        actual[v] = grafo.inicioArcos(v);
+    }
+
+    /**
+     * BFS hacia atrás desde el sumidero sobre los arcos con capacidad residual.
+     *
+     * @param distancias si no es null se llena con la distancia al sumidero, o n si no lo alcanza.
+     * @return true en los vértices que todavía pueden enviar flujo al sumidero.
+     */
+    private boolean[] distanciasAlSumidero(int[] distancias) {
+        boolean[] alcanzados = new boolean[n];
+        int[] pendientes = new int[n];
+        if (distancias != null) {
+            Arrays.fill(distancias, n);
+            distancias[sumidero] = 0;
+        }
+        int fin = 0;
+        pendientes[fin++] = sumidero;
+        alcanzados[sumidero] = true;
+        for (int i = 0; i < fin; i++) {
+            int w = pendientes[i];
+            for (int e = grafo.inicioArcos(w); e < grafo.finArcos(w); e++) {
+                int u = grafo.destino(e);
+                int r = grafo.reverso(e);
+                if (!alcanzados[u] && r != -1 && residual[r] > EPSILON) {
+                    alcanzados[u] = true;
+                    if (distancias != null) {
+                        distancias[u] = distancias[w] + 1;
+                    }
+                    pendientes[fin++] = u;
+                }
+            }
+        }
+        return alcanzados;
+    }
+}
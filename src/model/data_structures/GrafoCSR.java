@@ -0,0 +1,537 @@
+package model.data_structures;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Instantánea inmutable de un GrafoListaAdyacencia en formato CSR (compressed sparse row).
+ * Los vértices se identifican con su índice denso (Vertex.getIndice()) y los arcos que salen
+ * del vértice v ocupan las posiciones [inicio[v], inicio[v + 1]) de los arreglos destinos y pesos,
+ * en el mismo orden en que aparecen en Vertex.edges().
+ */
+public class GrafoCSR<K extends Comparable<K>, V extends Comparable<V>> {
+
+    private final Vertex<K, V>[] vertices;
+    private final int[] inicio;
+    private final int[] destinos;
+    private final float[] pesos;
+    private final float[] capacidades;
+    private final int[] reversos;
+
+    @SuppressWarnings("unchecked")
+    GrafoCSR(ILista<Vertex<K, V>> lista) {
+        int n = lista.size();
+        vertices = (Vertex<K, V>[]) new Vertex<?, ?>[n];
+        inicio = new int[n + 1];
+
+        for (Vertex<K, V> actual : lista) {
+            vertices[actual.getIndice()] = actual;
+            inicio[actual.getIndice() + 1] = actual.outdegree();
+        }
+
+        for (int v = 0; v < n; v++) {
+            inicio[v + 1] += inicio[v];
+        }
+
+        destinos = new int[inicio[n]];
+        pesos = new float[inicio[n]];
+        capacidades = new float[inicio[n]];
+        reversos = new int[inicio[n]];
+
+        for (int v = 0; v < n; v++) {
+            int posicion = inicio[v];
+            for (Edge<K, V> arco : vertices[v].edges()) {
+                destinos[posicion] = arco.getDestination().getIndice();
+                pesos[posicion] = arco.getWeight();
+                capacidades[posicion] = arco.getCapacidad();
+                Edge<K, V> reverso = arco.getReverso();
+                reversos[posicion] = reverso != null && reverso.estaEnGrafo()
+                        ? inicio[reverso.getSource().getIndice()] + reverso.getPosicionAdyacencia() - 1
+                        : -1;
+                posicion++;
+            }
+        }
+    }
+
+    public int numVertices() {
+        return vertices.length;
+    }
+
+    public int numArcos() {
+        return destinos.length;
+    }
+
+    public Vertex<K, V> vertice(int indice) {
+        return vertices[indice];
+    }
+
+    public int inicioArcos(int v) {
+        return inicio[v];
+    }
+
+    public int finArcos(int v) {
+        return inicio[v + 1];
+    }
+
+    public int destino(int posicion) {
+        return destinos[posicion];
+    }
+
+    public float peso(int posicion) {
+        return pesos[posicion];
+    }
+
+    public float capacidad(int posicion) {
+        return capacidades[posicion];
+    }
+
+    /**
+     * Posición del arco en sentido contrario que agregarArco creó junto con el de la posición dada,
+     * o -1 si no tiene.
+     */
+    public int reverso(int posicion) {
+        return reversos[posicion];
+    }
+
+    /**
+     * Vértice del que sale el arco en la posición dada (búsqueda binaria sobre inicio).
+     */
+    public int origen(int posicion) {
+        int lo = 0;
+        int hi = vertices.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (inicio[mid] <= posicion) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Recupera el Edge original que corresponde a una posición de la instantánea.
+     */
+    public Edge<K, V> arco(int posicion) {
+        int v = origen(posicion);
+        Edge<K, V> retorno = null;
+        try {
+            retorno = vertices[v].edges().getElement(posicion - inicio[v] + 1);
+        } catch (PosException | VacioException e) {
+            e.printStackTrace();
+        }
+        return retorno;
+    }
+
+    /**
+     * Recorrido en profundidad desde el vértice origen.
+     *
+     * @return arreglo con true en los vértices alcanzados.
+     */
+    public boolean[] dfs(int origen) {
+        boolean[] marcados = new boolean[vertices.length];
+        int[] pila = new int[vertices.length];
+        int[] cursor = new int[vertices.length];
+        int tope = 0;
+
+        marcados[origen] = true;
+        cursor[origen] = inicio[origen];
+        pila[tope++] = origen;
+
+        while (tope > 0) {
+            int v = pila[tope - 1];
+            if (cursor[v] < inicio[v + 1]) {
+                int w = destinos[cursor[v]++];
+                if (!marcados[w]) {
+                    marcados[w] = true;
+                    cursor[w] = inicio[w];
+                    pila[tope++] = w;
+                }
+            } else {
+                tope--;
+            }
+        }
+        return marcados;
+    }
+
+    /**
+     * Recorrido en anchura desde el vértice origen.
+     *
+     * @return número de arcos hasta cada vértice, -1 si no es alcanzable.
+     */
+    public int[] bfs(int origen) {
+        int[] distancia = new int[vertices.length];
+        Arrays.fill(distancia, -1);
+        int[] cola = new int[vertices.length];
+        int primero = 0;
+        int ultimo = 0;
+
+        distancia[origen] = 0;
+        cola[ultimo++] = origen;
+
+        while (primero < ultimo) {
+            int v = cola[primero++];
+            for (int e = inicio[v]; e < inicio[v + 1]; e++) {
+                int w = destinos[e];
+                if (distancia[w] == -1) {
+                    distancia[w] = distancia[v] + 1;
+                    cola[ultimo++] = w;
+                }
+            }
+        }
+        return distancia;
+    }
+
+    /**
+     * Componentes fuertemente conectadas de la instantánea. Como agregarArco siempre inserta ambos
+     * sentidos, las componentes fuertemente conectadas coinciden con las componentes conectadas,
+     * así que basta un recorrido por componente y no hace falta construir el grafo reverso.
+     *
+     * @return identificador de componente (desde 1) de cada vértice; el mayor es la cantidad.
+     */
+    public int[] componentes() {
+        int[] componente = new int[vertices.length];
+        int[] cola = new int[vertices.length];
+        int idComponente = 0;
+
+        for (int s = 0; s < vertices.length; s++) {
+            if (componente[s] == 0) {
+                idComponente++;
+                int primero = 0;
+                int ultimo = 0;
+                componente[s] = idComponente;
+                cola[ultimo++] = s;
+                while (primero < ultimo) {
+                    int v = cola[primero++];
+                    for (int e = inicio[v]; e < inicio[v + 1]; e++) {
+                        int w = destinos[e];
+                        if (componente[w] == 0) {
+                            componente[w] = idComponente;
+                            cola[ultimo++] = w;
+                        }
+                    }
+                }
+            }
+        }
+        return componente;
+    }
+
+    /**
+     * Componentes conexas calculadas con un UnionFindConcurrente: las listas de arcos se reparten
+     * entre los hilos del ForkJoinPool común y cada hilo une los extremos de sus arcos. Luego se
+     * numeran las raíces desde 1 en orden de índice, igual que componentes().
+     */
+    public ComponentesConexas<K, V> componentesConexas() {
+        UnionFindConcurrente conjuntos = new UnionFindConcurrente(vertices.length);
+        ForkJoinPool.commonPool().invoke(new UnirArcos(conjuntos, 0, vertices.length));
+
+        int[] componente = new int[vertices.length];
+        int[] idRaiz = new int[vertices.length];
+        int cantidad = 0;
+        for (int v = 0; v < vertices.length; v++) {
+            int raiz = conjuntos.find(v);
+            if (idRaiz[raiz] == 0) {
+                idRaiz[raiz] = ++cantidad;
+            }
+            componente[v] = idRaiz[raiz];
+        }
+        return new ComponentesConexas<>(this, componente, cantidad);
+    }
+
+    /**
+     * Une los extremos de los arcos que salen de los vértices [desde, hasta). Divide el rango por
+     * la mitad mientras tenga más de UMBRAL_ARCOS arcos.
+     */
+    private final class UnirArcos extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int UMBRAL_ARCOS = 4096;
+
+        private final UnionFindConcurrente conjuntos;
+        private final int desde;
+        private final int hasta;
+
+        UnirArcos(UnionFindConcurrente conjuntos, int desde, int hasta) {
+            this.conjuntos = conjuntos;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde > 1 && inicio[hasta] - inicio[desde] > UMBRAL_ARCOS) {
+                int mitad = (desde + hasta) >>> 1;
+                invokeAll(new UnirArcos(conjuntos, desde, mitad), new UnirArcos(conjuntos, mitad, hasta));
+                return;
+            }
+            for (int v = desde; v < hasta; v++) {
+                for (int e = inicio[v]; e < inicio[v + 1]; e++) {
+                    conjuntos.union(v, destinos[e]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Vértices de articulación y puentes con el algoritmo de Tarjan (tiempos de descubrimiento y
+     * low-link) en O(V + E), sin recursión: cada vértice de la pila guarda la siguiente posición
+     * de arco por revisar. Supone un grafo no dirigido (cada arco con su reverso). Lo único que no
+     * cuenta como arco de retroceso es el reverso del arco por el que se llegó, así que dos cables
+     * paralelos entre el mismo par sí forman un ciclo.
+     */
+    public PuntosCriticos<K, V> puntosCriticos() {
+        int n = vertices.length;
+        int[] descubrimiento = new int[n];
+        int[] low = new int[n];
+        int[] padres = new int[n];
+        int[] arcoPadre = new int[n];
+        int[] siguienteArco = new int[n];
+        int[] pila = new int[n];
+        BitSet articulaciones = new BitSet(n);
+        int[] puentes = new int[16];
+        int numPuentes = 0;
+        Arrays.fill(descubrimiento, -1);
+
+        int tiempo = 0;
+        for (int raiz = 0; raiz < n; raiz++) {
+            if (descubrimiento[raiz] != -1) {
+                continue;
+            }
+            int hijosRaiz = 0;
+            int tope = 0;
+            pila[tope++] = raiz;
+            descubrimiento[raiz] = low[raiz] = tiempo++;
+            padres[raiz] = -1;
+            siguienteArco[raiz] = inicio[raiz];
+
+            while (tope > 0) {
+                int v = pila[tope - 1];
+                if (siguienteArco[v] < inicio[v + 1]) {
+                    int e = siguienteArco[v]++;
+                    int w = destinos[e];
+                    if (w == v) {
+                        continue;
+                    }
+                    if (descubrimiento[w] == -1) {
+                        padres[w] = v;
+                        arcoPadre[w] = e;
+                        descubrimiento[w] = low[w] = tiempo++;
+                        siguienteArco[w] = inicio[w];
+                        pila[tope++] = w;
+                        if (v == raiz) {
+                            hijosRaiz++;
+                        }
+                    } else if (padres[v] == -1 || e != reversos[arcoPadre[v]]) {
+                        low[v] = Math.min(low[v], descubrimiento[w]);
+                    }
+                } else {
+                    tope--;
+                    int p = padres[v];
+                    if (p != -1) {
+                        low[p] = Math.min(low[p], low[v]);
+                        if (low[v] > descubrimiento[p]) {
+                            if (numPuentes == puentes.length) {
+                                puentes = Arrays.copyOf(puentes, numPuentes * 2);
+                            }
+                            puentes[numPuentes++] = arcoPadre[v];
+                        }
+                        if (p != raiz && low[v] >= descubrimiento[p]) {
+                            articulaciones.set(p);
+                        }
+                    }
+                }
+            }
+
+            if (hijosRaiz > 1) {
+                articulaciones.set(raiz);
+            }
+        }
+
+        return new PuntosCriticos<>(this, articulaciones, Arrays.copyOf(puentes, numPuentes));
+    }
+
+    /**
+     * Equivalente de mstPrimLazy sobre la instantánea.
+     *
+     * @return posiciones de los arcos del árbol de expansión mínima, en el orden en que se agregan.
+     */
+    public int[] mstPrimLazy(int origen) {
+        boolean[] marcados = new boolean[vertices.length];
+        int[] mst = new int[Math.max(vertices.length - 1, 0)];
+        int cantidad = 0;
+        HeapArcos cola = new HeapArcos(16);
+
+        visitarPrim(origen, marcados, cola);
+        while (!cola.isEmpty()) {
+            int e = cola.delMin();
+            int w = destinos[e];
+            if (!marcados[w]) {
+                mst[cantidad++] = e;
+                visitarPrim(w, marcados, cola);
+            }
+        }
+        return Arrays.copyOf(mst, cantidad);
+    }
+
+    private void visitarPrim(int v, boolean[] marcados, HeapArcos cola) {
+        marcados[v] = true;
+        for (int e = inicio[v]; e < inicio[v + 1]; e++) {
+            if (!marcados[destinos[e]]) {
+                cola.insert(pesos[e], e);
+            }
+        }
+    }
+
+    /**
+     * Equivalente de rutaMinima sobre la instantánea (Dijkstra).
+     *
+     * @return posiciones de los arcos de la ruta desde origen hasta destino, en orden.
+     * Vacío si el destino no es alcanzable o coincide con el origen.
+     */
+    public int[] rutaMinima(int origen, int destino) {
+        float[] distTo = new float[vertices.length];
+        int[] arcoHacia = new int[vertices.length];
+        dijkstra(origen, destino, distTo, arcoHacia);
+        return rutaHacia(destino, arcoHacia);
+    }
+
+    /**
+     * Árbol de rutas mínimas completo desde origen.
+     *
+     * @param distTo se llena con la distancia mínima a cada vértice (infinito si no es alcanzable).
+     * @param arcoHacia se llena con la posición del último arco de la ruta hacia cada vértice, o -1.
+     */
+    public void arbolRutaMinima(int origen, float[] distTo, int[] arcoHacia) {
+        dijkstra(origen, -1, distTo, arcoHacia);
+    }
+
+    /**
+     * Dijkstra desde origen; se detiene al sacar destino de la cola (-1 para no detenerse).
+     */
+    private void dijkstra(int origen, int destino, float[] distTo, int[] arcoHacia) {
+        dijkstra(origen, destino, pesos, null, Float.POSITIVE_INFINITY, distTo, arcoHacia);
+    }
+
+    /**
+     * Dijkstra con costos propios por posición de arco, para las búsquedas que bloquean arcos o
+     * usan costos reducidos (RutasAlternativas).
+     *
+     * @param costos costo de cada posición; infinito para no usar ese arco. No pueden ser negativos.
+     * @param bloqueados vértices por los que la ruta no puede pasar, o null.
+     * @param cota no se relajan distancias mayores que esta, así que los vértices más lejanos
+     * quedan en infinito.
+     */
+    void dijkstra(int origen, int destino, float[] costos, BitSet bloqueados, float cota, float[] distTo, int[] arcoHacia) {
+        Arrays.fill(distTo, Float.POSITIVE_INFINITY);
+        Arrays.fill(arcoHacia, -1);
+        MinPQIndexadaDensa cola = new MinPQIndexadaDensa(vertices.length);
+
+        distTo[origen] = 0f;
+        cola.insert(origen, 0f);
+        while (!cola.isEmpty()) {
+            int v = cola.delMin();
+            if (v == destino) {
+                break;
+            }
+            for (int e = inicio[v]; e < inicio[v + 1]; e++) {
+                int w = destinos[e];
+                float nueva = distTo[v] + costos[e];
+                if (nueva < distTo[w] && nueva <= cota && (bloqueados == null || !bloqueados.get(w))) {
+                    distTo[w] = nueva;
+                    arcoHacia[w] = e;
+                    cola.insertOrChange(w, nueva);
+                }
+            }
+        }
+    }
+
+    /**
+     * Posiciones de los arcos desde la raíz del árbol arcoHacia hasta destino, en orden.
+     */
+    int[] rutaHacia(int destino, int[] arcoHacia) {
+        int longitud = 0;
+        for (int v = destino; arcoHacia[v] != -1; v = origen(arcoHacia[v])) {
+            longitud++;
+        }
+        int[] ruta = new int[longitud];
+        for (int v = destino; arcoHacia[v] != -1; v = origen(arcoHacia[v])) {
+            ruta[--longitud] = arcoHacia[v];
+        }
+        return ruta;
+    }
+
+    /**
+     * Resumen de la estructura y los pesos de la instantánea, para comprobar que un resultado
+     * guardado en disco corresponde a este mismo grafo.
+     */
+    public long huella() {
+        long h = vertices.length * 31L + destinos.length;
+        for (int v = 0; v < vertices.length; v++) {
+            h = h * 31 + vertices[v].getId().hashCode();
+        }
+        for (int e = 0; e < destinos.length; e++) {
+            h = h * 31 + destinos[e];
+            h = h * 31 + Float.floatToIntBits(pesos[e]);
+        }
+        return h;
+    }
+
+    /**
+     * Montículo binario mínimo de pares (prioridad float, entero) sobre arreglos primitivos.
+     * Admite entradas repetidas; Prim perezoso descarta las obsoletas al sacarlas.
+     */
+    private static final class HeapArcos {
+        private float[] prioridades;
+        private int[] elementos;
+        private int tamano;
+
+        HeapArcos(int capacidad) {
+            prioridades = new float[capacidad + 1];
+            elementos = new int[capacidad + 1];
+        }
+
+        boolean isEmpty() {
+            return tamano == 0;
+        }
+
+        void insert(float prioridad, int elemento) {
+            if (tamano + 1 == elementos.length) {
+                prioridades = Arrays.copyOf(prioridades, elementos.length * 2);
+                elementos = Arrays.copyOf(elementos, elementos.length * 2);
+            }
+            int pos = ++tamano;
+            while (pos > 1 && prioridades[pos / 2] > prioridad) {
+                prioridades[pos] = prioridades[pos / 2];
+                elementos[pos] = elementos[pos / 2];
+                pos /= 2;
+            }
+            prioridades[pos] = prioridad;
+            elementos[pos] = elemento;
+        }
+
+        int delMin() {
+            int min = elementos[1];
+            float prioridad = prioridades[tamano];
+            int elemento = elementos[tamano];
+            tamano--;
+            int pos = 1;
+            while (2 * pos <= tamano) {
+                int hijo = 2 * pos;
+                if (hijo < tamano && prioridades[hijo + 1] < prioridades[hijo]) {
+                    hijo++;
+                }
+                if (prioridades[hijo] >= prioridad) {
+                    break;
+                }
+                prioridades[pos] = prioridades[hijo];
+                elementos[pos] = elementos[hijo];
+                pos = hijo;
+            }
+            prioridades[pos] = prioridad;
+            elementos[pos] = elemento;
+            return min;
+        }
+    }
+}
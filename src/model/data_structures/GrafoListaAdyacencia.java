@@ -1,13 +1,32 @@
 package model.data_structures;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Grafo con listas de adyacencia. Los recorridos guardan los vértices visitados en un BitSet propio
+ * de cada llamado, así que una vez cargado el grafo varias consultas pueden ejecutarse a la vez
+ * desde distintos hilos mientras nadie lo modifique. Quien consulta desde varios hilos toma el
+ * candado de lectura (darCandado()); todas las operaciones que lo modifican (insertar, agregar,
+ * eliminar y restaurar vértices o arcos, y Edge.setWeight/setCapacidad) toman el de escritura.
+ */
 public class GrafoListaAdyacencia<K extends Comparable<K>, V extends Comparable<V>> {
     private ITablaSimbolos<K, Vertex<K, V>> vertices;
-    private ILista<Edge<K, V>> arcos;
-    private ILista<Vertex<K, V>> verticesLista;
+    private ArregloDinamico<Edge<K, V>> arcos;
+    private ArregloDinamico<Vertex<K, V>> verticesLista;
     private int numEdges;
+    private volatile long version;
+    private double factorCota;
+    private long versionFactorCota = -1;
+    private UnionFind conectividad;
+    private PuntosCriticos<K, V> puntosCriticos;
+    private long versionPuntosCriticos = -1;
+    private final CacheArbolesRutaMinima<K, V> cacheRutas = new CacheArbolesRutaMinima<>(CacheArbolesRutaMinima.CAPACIDAD_POR_DEFECTO);
+    private final ReentrantReadWriteLock candado = new ReentrantReadWriteLock();
 
     public GrafoListaAdyacencia(int numVertices) {
-        vertices = new TablaHashLinearProbing<>(numVertices);
+        vertices = new TablaHashPlana<>(numVertices);
         numEdges = 0;
         arcos = new ArregloDinamico<>(1);
         verticesLista = new ArregloDinamico<>(1);
@@ -36,33 +55,291 @@ public class GrafoListaAdyacencia<K extends Comparable<K>, V extends Comparable<
     }
 
     public void insertarVertice(K id, V value) throws PosException, NullException {
-        Vertex<K, V> nuevoVertice = new Vertex<>(id, value);
-        vertices.poner(id, nuevoVertice);
-        verticesLista.insertElement(nuevoVertice, verticesLista.size() + 1);
+        candado.writeLock().lock();
+        try {
+            if (vertices.contiene(id)) {
+                return;
+            }
+            Vertex<K, V> nuevoVertice = new Vertex<>(id, value);
+            nuevoVertice.setIndice(verticesLista.size());
+            vertices.poner(id, nuevoVertice);
+            verticesLista.insertElement(nuevoVertice, verticesLista.size() + 1);
+            synchronized (this) {
+                if (conectividad != null) {
+                    conectividad.agregar();
+                }
+            }
+            registrarCambio();
+        } finally {
+            candado.writeLock().unlock();
+        }
     }
 
     public void agregarArco(K origen, K destino, float peso) {
-        Edge<K, V> existente = obtenerArco(origen, destino);
+        agregarArco(origen, destino, peso, Float.POSITIVE_INFINITY);
+    }
 
-        if (existente == null) {
+    /**
+     * Como agregarArco(origen, destino, peso), con la capacidad en ambos sentidos.
+     */
+    public void agregarArco(K origen, K destino, float peso, float capacidad) {
+        candado.writeLock().lock();
+        try {
+            if (obtenerArco(origen, destino) != null) {
+                return;
+            }
             Vertex<K, V> origenVertex = obtenerVertice(origen);
             Vertex<K, V> destinoVertex = obtenerVertice(destino);
 
             Edge<K, V> arco1 = new Edge<>(origenVertex, destinoVertex, peso);
+            Edge<K, V> arco2 = new Edge<>(destinoVertex, origenVertex, peso);
+            arco1.setReverso(arco2);
+            arco2.setReverso(arco1);
+            arco1.setCapacidad(capacidad);
+
+            arco1.setGrafo(this);
             origenVertex.addEdge(arco1);
 
-            Edge<K, V> arco2 = new Edge<>(destinoVertex, origenVertex, peso);
+            arco2.setGrafo(this);
             destinoVertex.addEdge(arco2);
 
             numEdges++;
+            arcos.addLast(arco1);
+            arco1.setPosicionGlobal(arcos.size());
+            synchronized (this) {
+                if (conectividad != null) {
+                    conectividad.union(origenVertex.getIndice(), destinoVertex.getIndice());
+                }
+            }
+            registrarCambio();
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina el arco entre los dos vértices en ambos sentidos. Encontrarlo recorre los arcos del
+     * origen; quitarlo es O(1) (ver eliminarArco(Edge)).
+     *
+     * @return true si el arco existía.
+     */
+    public boolean eliminarArco(K idOrigen, K idDestino) {
+        candado.writeLock().lock();
+        try {
+            Edge<K, V> arco = obtenerArco(idOrigen, idDestino);
+            return arco != null && eliminarArco(arco);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina en O(1) el arco y su reverso: cada arco guarda su posición en la lista de su origen
+     * y en arcos(), y se quita poniendo en su lugar el último de la lista. El arco conserva sus
+     * datos, así que se puede volver a poner con restaurarArco.
+     *
+     * @return true si el arco estaba en el grafo.
+     */
+    public boolean eliminarArco(Edge<K, V> arco) {
+        candado.writeLock().lock();
+        try {
+            if (!arco.estaEnGrafo()) {
+                return false;
+            }
+            quitarPar(arco);
+            synchronized (this) {
+                // Un union-find no sabe separar conjuntos; se vuelve a armar en la siguiente consulta
+                conectividad = null;
+            }
+            registrarCambio();
+            return true;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vuelve a poner un arco quitado con eliminarArco o eliminarVertice, junto con su reverso.
+     *
+     * @return false si el arco ya está, si alguno de sus extremos ya no está en el grafo o si
+     * entre tanto se agregó otro arco entre los mismos vértices.
+     */
+    public boolean restaurarArco(Edge<K, V> arco) {
+        candado.writeLock().lock();
+        try {
+            Vertex<K, V> origen = arco.getSource();
+            Vertex<K, V> destino = arco.getDestination();
+            if (arco.estaEnGrafo() || vertices.obtener(origen.getId()) != origen || vertices.obtener(destino.getId()) != destino
+                    || origen.getEdge(destino.getId()) != null) {
+                return false;
+            }
+
+            origen.addEdge(arco);
+            destino.addEdge(arco.getReverso());
+            arcos.addLast(arco);
+            arco.setPosicionGlobal(arcos.size());
+            numEdges++;
+            synchronized (this) {
+                if (conectividad != null) {
+                    conectividad.union(origen.getIndice(), destino.getIndice());
+                }
+            }
+            registrarCambio();
+            return true;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina el vértice y todos sus arcos. El último vértice de vertices() pasa a ocupar su
+     * posición y su índice (Vertex.getIndice()), así que los índices siguen siendo densos.
+     *
+     * @return los arcos quitados (uno por par, saliendo del vértice), para restaurarVertice; null
+     * si el vértice no existía.
+     */
+    public ILista<Edge<K, V>> eliminarVertice(K id) {
+        candado.writeLock().lock();
+        try {
+            Vertex<K, V> vertice = vertices.obtener(id);
+            if (vertice == null) {
+                return null;
+            }
+
+            ILista<Edge<K, V>> quitados = new ArregloDinamico<>(Math.max(vertice.outdegree(), 1));
             try {
-                arcos.insertElement(arco1, arcos.size() + 1);
-            } catch (PosException | NullException e) {
+                while (vertice.outdegree() > 0) {
+                    Edge<K, V> arco = vertice.edges().lastElement();
+                    quitarPar(arco);
+                    quitados.addLast(arco);
+                }
+
+                vertices.eliminar(id);
+                int posicion = vertice.getIndice() + 1;
+                verticesLista.eliminarIntercambiando(posicion);
+                if (posicion <= verticesLista.size()) {
+                    verticesLista.getElement(posicion).setIndice(posicion - 1);
+                }
+            } catch (PosException | VacioException e) {
                 e.printStackTrace();
             }
+
+            synchronized (this) {
+                conectividad = null;
+            }
+            registrarCambio();
+            return quitados;
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Vuelve a insertar un vértice quitado con eliminarVertice (el mismo objeto) y sus arcos.
+     *
+     * @return false si ya hay un vértice con ese id.
+     */
+    public boolean restaurarVertice(Vertex<K, V> vertice, ILista<Edge<K, V>> arcosQuitados) {
+        candado.writeLock().lock();
+        try {
+            if (vertices.contiene(vertice.getId())) {
+                return false;
+            }
+            vertice.setIndice(verticesLista.size());
+            vertices.poner(vertice.getId(), vertice);
+            verticesLista.addLast(vertice);
+            synchronized (this) {
+                if (conectividad != null) {
+                    conectividad.agregar();
+                }
+            }
+            registrarCambio();
+
+            for (Edge<K, V> arco : arcosQuitados) {
+                restaurarArco(arco);
+            }
+            return true;
+        } finally {
+            candado.writeLock().unlock();
         }
     }
 
+    /**
+     * Quita el arco y su reverso de las listas de sus orígenes y de arcos(), cada uno en O(1).
+     */
+    private void quitarPar(Edge<K, V> arco) {
+        Edge<K, V> reverso = arco.getReverso();
+        arco.getSource().quitarArco(arco);
+        reverso.getSource().quitarArco(reverso);
+        quitarDeLista(arco.getPosicionGlobal() > 0 ? arco : reverso);
+        numEdges--;
+    }
+
+    private void quitarDeLista(Edge<K, V> arco) {
+        int posicion = arco.getPosicionGlobal();
+        arcos.eliminarIntercambiando(posicion);
+        if (posicion <= arcos.size()) {
+            try {
+                arcos.getElement(posicion).setPosicionGlobal(posicion);
+            } catch (PosException | VacioException e) {
+                e.printStackTrace();
+            }
+        }
+        arco.setPosicionGlobal(0);
+    }
+
+    /**
+     * Agrega un tramo de cable después de la carga: inserta los vértices que falten y el arco entre
+     * ellos. La conectividad se actualiza con una unión, sin recalcular las componentes. El tramo
+     * completo se agrega con el candado de escritura, así que una consulta no lo ve a medias.
+     */
+    public void agregarSegmento(K idOrigen, V infoOrigen, K idDestino, V infoDestino, float peso) throws PosException, NullException {
+        candado.writeLock().lock();
+        try {
+            insertarVertice(idOrigen, infoOrigen);
+            insertarVertice(idDestino, infoDestino);
+            agregarArco(idOrigen, idDestino, peso);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return true si hay un camino entre los dos vértices; O(α(n)) una vez armada la conectividad.
+     */
+    public synchronized boolean mismaComponente(K id1, K id2) {
+        return darConectividad().conectados(obtenerVertice(id1).getIndice(), obtenerVertice(id2).getIndice());
+    }
+
+    public synchronized int numeroComponentes() {
+        return darConectividad().darConjuntos();
+    }
+
+    /**
+     * La primera consulta (y la primera después de una eliminación) arma el union-find a partir de
+     * las componentes que calcula componentesConexas() en paralelo: une cada vértice con el primero
+     * de su componente. Desde ahí insertarVertice y agregarArco lo mantienen al día.
+     */
+    private UnionFind darConectividad() {
+        if (conectividad == null) {
+            ComponentesConexas<K, V> componentes = componentesConexas();
+            int n = numVertices();
+            UnionFind nueva = new UnionFind(n);
+            int[] primero = new int[componentes.darNumeroComponentes() + 1];
+            Arrays.fill(primero, -1);
+            for (int v = 0; v < n; v++) {
+                int componente = componentes.componente(v);
+                if (primero[componente] == -1) {
+                    primero[componente] = v;
+                } else {
+                    nueva.union(primero[componente], v);
+                }
+            }
+            conectividad = nueva;
+        }
+        return conectividad;
+    }
+
     public Vertex<K, V> obtenerVertice(K id) {
         return vertices.obtener(id);
     }
@@ -104,42 +381,32 @@ public class GrafoListaAdyacencia<K extends Comparable<K>, V extends Comparable<
         return verticesLista;
     }
 
-    public void desmarcar() {
-        ILista<Vertex<K, V>> vertices = vertices();
-        for (int i = 1; i <= vertices.size(); i++) {
-            try {
-                vertices.obtenerElemento(i).unmark();
-            } catch (PosException | VacioException e) {
-                e.printStackTrace();
-            }
-        }
-    }
-
-    public void dfs(K id) {
-        Vertex<K, V> inicio = obtenerVertice(id);
-        inicio.dfs(null);
-        desmarcar();
+    /**
+     * @return índices (Vertex.getIndice()) de los vértices alcanzables desde id.
+     */
+    public BitSet dfs(K id) {
+        BitSet marcados = new BitSet(numVertices());
+        obtenerVertice(id).dfs(marcados);
+        return marcados;
     }
 
-    public void bfs(K id) throws NullException, PosException {
-        Vertex<K, V> inicio = obtenerVertice(id);
-        inicio.bfs();;
-        desmarcar();
+    /**
+     * @return índices (Vertex.getIndice()) de los vértices alcanzables desde id.
+     */
+    public BitSet bfs(K id) throws NullException, PosException {
+        BitSet marcados = new BitSet(numVertices());
+        obtenerVertice(id).bfs(marcados);
+        return marcados;
     }
 
     public Edge<K, V> arcoMinimo() {
         Edge<K, V> minimo = null;
-        try {
-            minimo = arcos.obtenerElemento(1);
-            float min = arcos.obtenerElemento(1).getWeight();
-            for (int i = 2; i <= arcos.size(); i++) {
-                if (arcos.obtenerElemento(i).getWeight()< min) {
-                    minimo = arcos.obtenerElemento(i);
-                    min = arcos.obtenerElemento(i).getWeight();
-                }
+        float min = Float.POSITIVE_INFINITY;
+        for (Edge<K, V> actual : arcos) {
+            if (actual.getWeight() < min) {
+                minimo = actual;
+                min = actual.getWeight();
             }
-        } catch (PosException | VacioException e) {
-            e.printStackTrace();
         }
 
         return minimo;
@@ -147,111 +414,276 @@ public class GrafoListaAdyacencia<K extends Comparable<K>, V extends Comparable<
 
     public Edge<K, V> arcoMaximo() {
         Edge<K, V> maximo = null;
-        try {
-            float max = 0;
-            for (int i = 2; i <= arcos.size(); i++) {
-                if (arcos.getElement(i).getWeight() > max) {
-                    maximo = arcos.getElement(i);
-                    max = arcos.getElement(i).getWeight();
-                }
+        float max = 0;
+        for (Edge<K, V> actual : arcos) {
+            if (actual.getWeight() > max) {
+                maximo = actual;
+                max = actual.getWeight();
             }
-        } catch (PosException | VacioException e) {
-            e.printStackTrace();
         }
 
         return maximo;
     }
 
-    public GrafoListaAdyacencia<K, V> reverso() throws NullException {
-        GrafoListaAdyacencia<K, V> copia = new GrafoListaAdyacencia<>(numVertices());
-        ILista<Vertex<K, V>> vertices2 = vertices();
-        ILista<Edge<K, V>> arcos = arcos();
+    /**
+     * Congela el estado actual del grafo en una instantánea CSR inmutable.
+     * Los índices de la instantánea corresponden a Vertex.getIndice().
+     *
+     * @return instantánea compacta del grafo.
+     */
+    public GrafoCSR<K, V> compactar() {
+        return new GrafoCSR<>(vertices());
+    }
 
-        for (int i = 1; i <= vertices2.size(); i++) {
-            Vertex<K, V> actual;
-            try {
-                actual = vertices2.getElement(i);
-                copia.insertarVertice(actual.getId(), actual.getInfo());
-            } catch (PosException | VacioException e) {
-                e.printStackTrace();
-            }
-        }
+    /**
+     * Componentes conexas en paralelo sobre una instantánea CSR. Como agregarArco inserta ambos
+     * sentidos, son también las componentes fuertemente conectadas, así que no hace falta el grafo
+     * reverso; darTabla() entrega el id de componente de cada vértice.
+     */
+    public ComponentesConexas<K, V> componentesConexas() {
+        return compactar().componentesConexas();
+    }
 
-        for (int i = 1; i <= arcos.size(); i++) {
-            Edge<K, V> actual;
-            try {
-                actual = arcos.getElement(i);
-                copia.agregarArco(actual.getDestination().getId(), actual.getSource().getId(), actual.getWeight());
-            } catch (PosException | VacioException e) {
-                e.printStackTrace();
+    public PilaEncadenada<Vertex<K, V>> ordenTopologico() {
+        ColaEncadenada<Vertex<K, V>> pre = new ColaEncadenada<>();
+        ColaEncadenada<Vertex<K, V>> post = new ColaEncadenada<>();
+        PilaEncadenada<Vertex<K, V>> inversoPost = new PilaEncadenada<>();
+        BitSet marcados = new BitSet(numVertices());
+
+        for (Vertex<K, V> actual : vertices()) {
+            if (!marcados.get(actual.getIndice())) {
+                actual.topologicalOrder(marcados, pre, post, inversoPost);
             }
         }
 
-        return copia;
+        return inversoPost;
     }
 
-    public ITablaSimbolos<K, Integer> obtenerSSC() throws NullException {
-        PilaEncadenada<Vertex<K, V>> topologicoInverso = reverso().ordenTopologico();
-        ITablaSimbolos<K, Integer> tabla = new TablaHashLinearProbing<>(numVertices());
-        int idComponente = 1;
+    public ILista<Edge<K, V>> mstPrimLazy(K idOrigen) {
+        return obtenerVertice(idOrigen).mstPrimLazy(new BitSet(numVertices()));
+    }
 
-        while (topologicoInverso.pop() != null) {
-            Vertex<K, V> actual = topologicoInverso.pop();
-            if (!actual.getMark()) {
-                actual.getSCC(tabla, idComponente);;
-                idComponente++;
-            }
+    /**
+     * Vértices de articulación y puentes de todo el grafo (ver GrafoCSR.puntosCriticos). El
+     * resultado se guarda y se recalcula solo cuando cambia darVersion().
+     */
+    public synchronized PuntosCriticos<K, V> puntosCriticos() {
+        if (versionPuntosCriticos != version) {
+            long versionCalculo = version;
+            puntosCriticos = compactar().puntosCriticos();
+            versionPuntosCriticos = versionCalculo;
         }
+        return puntosCriticos;
+    }
 
-        desmarcar();
-        return tabla;
+    /**
+     * Árbol de expansión mínima de la componente de idOrigen con Prim sobre cola indexada.
+     */
+    @SuppressWarnings("unchecked")
+    public ILista<Edge<K, V>> mstPrim(K idOrigen) {
+        int n = numVertices();
+        float[] distancias = new float[n];
+        Arrays.fill(distancias, Float.POSITIVE_INFINITY);
+        ILista<Edge<K, V>> mst = new ArregloDinamico<>(Math.max(n - 1, 1));
+        obtenerVertice(idOrigen).mstPrim(new BitSet(n), distancias, (Edge<K, V>[]) new Edge<?, ?>[n], new MinPQIndexadaDensa(n), mst);
+        return mst;
     }
 
-    public PilaEncadenada<Vertex<K, V>> ordenTopologico() throws NullException {
-        ColaEncadenada<Vertex<K, V>> pre = new ColaEncadenada<>();
-        ColaEncadenada<Vertex<K, V>> post = new ColaEncadenada<>();
-        PilaEncadenada<Vertex<K, V>> inversoPost = new PilaEncadenada<>();
+    /**
+     * Árbol de expansión mínima de la componente de idOrigen, enraizado en idOrigen.
+     */
+    public ArbolExpansion<K, V> arbolExpansionMinima(K idOrigen) {
+        return new ArbolExpansion<>(obtenerVertice(idOrigen), mstPrim(idOrigen), numVertices());
+    }
 
-        ILista<Vertex<K, V>> vertices = vertices();
+    /**
+     * Bosque de expansión mínima: un árbol por componente conexa, con todos los vértices del grafo.
+     *
+     * @return los arcos del bosque; con PRIM quedan agrupados por árbol, con KRUSKAL en orden de peso.
+     */
+    public ILista<Edge<K, V>> bosqueExpansionMinima(AlgoritmoMST algoritmo) {
+        return algoritmo == AlgoritmoMST.KRUSKAL ? bosqueKruskal() : bosquePrim();
+    }
 
-        for (int i = 1; i <= vertices.size(); i++) {
-            try {
-                if (!vertices.getElement(i).getMark()) {
-                    vertices.getElement(i).topologicalOrder(pre, post, inversoPost);;
+    @SuppressWarnings("unchecked")
+    private ILista<Edge<K, V>> bosquePrim() {
+        int n = numVertices();
+        BitSet marcados = new BitSet(n);
+        float[] distancias = new float[n];
+        Arrays.fill(distancias, Float.POSITIVE_INFINITY);
+        Edge<K, V>[] arcosHacia = (Edge<K, V>[]) new Edge<?, ?>[n];
+        MinPQIndexadaDensa colaIndexada = new MinPQIndexadaDensa(n);
+        ILista<Edge<K, V>> bosque = new ArregloDinamico<>(Math.max(n - 1, 1));
+
+        for (Vertex<K, V> actual : vertices()) {
+            if (!marcados.get(actual.getIndice())) {
+                actual.mstPrim(marcados, distancias, arcosHacia, colaIndexada, bosque);
+            }
+        }
+        return bosque;
+    }
+
+    /**
+     * Ordena una sola vez los arcos de ambos sentidos (cada uno con el peso que ve Prim) como
+     * llaves long: los bits del peso, que para floats no negativos ordenan igual que el valor,
+     * en la parte alta y la posición del arco en la baja.
+     */
+    @SuppressWarnings("unchecked")
+    private ILista<Edge<K, V>> bosqueKruskal() {
+        int n = numVertices();
+        Edge<K, V>[] todos = (Edge<K, V>[]) new Edge<?, ?>[2 * numEdges];
+        int m = 0;
+        for (Vertex<K, V> vertice : vertices()) {
+            for (Edge<K, V> arco : vertice.edges()) {
+                if (m == todos.length) {
+                    todos = Arrays.copyOf(todos, 2 * m + 1);
                 }
-            } catch (PosException | VacioException e) {
-                e.printStackTrace();
+                todos[m++] = arco;
             }
         }
 
-        desmarcar();
-        return inversoPost;
+        long[] llaves = new long[m];
+        for (int i = 0; i < m; i++) {
+            llaves[i] = ((long) Float.floatToIntBits(todos[i].getWeight()) << 32) | i;
+        }
+        Arrays.sort(llaves);
+
+        UnionFind conjuntos = new UnionFind(n);
+        ILista<Edge<K, V>> bosque = new ArregloDinamico<>(Math.max(n - 1, 1));
+        for (int i = 0; i < m && bosque.size() < n - 1; i++) {
+            Edge<K, V> arco = todos[(int) llaves[i]];
+            if (conjuntos.union(arco.getSource().getIndice(), arco.getDestination().getIndice())) {
+                bosque.addLast(arco);
+            }
+        }
+        return bosque;
     }
 
-    public ILista<Edge<K, V>> mstPrimLazy(K idOrigen) {
-        ILista<Edge<K, V>> mst = obtenerVertice(idOrigen).mstPrimLazy();
-        desmarcar();
-        return mst;
+    /**
+     * Árbol de rutas mínimas desde idOrigen. Los árboles ya calculados se toman de la caché
+     * mientras el grafo no cambie.
+     */
+    public ArbolRutaMinima<K, V> arbolRutaMinima(K idOrigen) {
+        ArbolRutaMinima<K, V> arbol = cacheRutas.obtener(idOrigen);
+        if (arbol == null) {
+            long versionCalculo = cacheRutas.darVersion();
+            arbol = obtenerVertice(idOrigen).arbolRutaMinima(numVertices());
+            cacheRutas.poner(idOrigen, arbol, versionCalculo);
+        }
+        return arbol;
     }
 
-    private ITablaSimbolos<K, NodoTS<Float, Edge<K, V>>> arbolRutaMinima(K idOrigen) {
-        Vertex<K, V> inicio = obtenerVertice(idOrigen);
-        return inicio.minPathTree();
+    public PilaEncadenada<Edge<K, V>> rutaMinima(K idOrigen, K idDestino) {
+        return arbolRutaMinima(idOrigen).ruta(obtenerVertice(idDestino));
     }
 
-    public PilaEncadenada<Edge<K, V>> rutaMinima(K idOrigen, K idDestino) {
-        ITablaSimbolos<K, NodoTS<Float, Edge<K, V>>> arbolRutaMinima = arbolRutaMinima(idOrigen);
+    /**
+     * Ruta mínima con Dijkstra bidireccional: busca a la vez desde el origen y hacia el destino y
+     * se detiene cuando los dos frentes se encuentran, sin calcular ni guardar el árbol completo.
+     *
+     * @return la ruta en el mismo formato que rutaMinima.
+     */
+    public PilaEncadenada<Edge<K, V>> rutaMinimaBidireccional(K idOrigen, K idDestino) {
+        return new BusquedaBidireccional<>(obtenerVertice(idOrigen), obtenerVertice(idDestino), numVertices()).ruta();
+    }
+
+    /**
+     * rutaMinimaAEstrella con la cota admisible: da la misma ruta que rutaMinima.
+     */
+    public PilaEncadenada<Edge<K, V>> rutaMinimaAEstrella(K idOrigen, K idDestino) {
+        return rutaMinimaAEstrella(idOrigen, idDestino, true);
+    }
+
+    /**
+     * Ruta mínima con A*, usando como cota la distancia geográfica hasta el destino (los valores de
+     * los vértices deben ser Ubicable).
+     *
+     * @param admisible si es true la cota se escala con factorCotaAdmisible() y la ruta es mínima;
+     * si es false se usa la distancia geográfica tal cual, que se salta el cálculo del factor pero
+     * solo es admisible mientras ningún arco pese menos que la distancia entre sus extremos (con los
+     * pesos en float puede sobrar algún redondeo, y la ruta salir apenas más larga).
+     * @return la ruta en el mismo formato que rutaMinima.
+     */
+    public PilaEncadenada<Edge<K, V>> rutaMinimaAEstrella(K idOrigen, K idDestino, boolean admisible) {
+        double factor = admisible ? factorCotaAdmisible() : 1.0;
+        return new BusquedaAEstrella<>(obtenerVertice(idOrigen), obtenerVertice(idDestino), numVertices(), factor).ruta();
+    }
 
-        PilaEncadenada<Edge<K, V>> ruta = new PilaEncadenada<>();
-        K idBusqueda = idDestino;
-        NodoTS<Float, Edge<K, V>> actual;
+    /**
+     * Las k rutas sin ciclos más cortas entre los dos vértices (ver RutasAlternativas).
+     */
+    public ILista<ILista<Edge<K, V>>> kRutasMinimas(K idOrigen, K idDestino, int k) {
+        return new RutasAlternativas<>(compactar()).kRutasMinimas(obtenerVertice(idOrigen).getIndice(), obtenerVertice(idDestino).getIndice(), k);
+    }
+
+    /**
+     * Hasta k rutas sin arcos en común entre los dos vértices, con costo total mínimo
+     * (ver RutasAlternativas).
+     */
+    public ILista<ILista<Edge<K, V>>> rutasDisjuntas(K idOrigen, K idDestino, int k) {
+        return new RutasAlternativas<>(compactar()).rutasDisjuntas(obtenerVertice(idOrigen).getIndice(), obtenerVertice(idDestino).getIndice(), k);
+    }
+
+    /**
+     * Flujo máximo entre los dos vértices usando como capacidad la de cada arco (ver FlujoMaximo).
+     */
+    public FlujoMaximo<K, V> flujoMaximo(K idFuente, K idSumidero) {
+        return new FlujoMaximo<>(compactar(), obtenerVertice(idFuente).getIndice(), obtenerVertice(idSumidero).getIndice());
+    }
 
-        while ((actual = arbolRutaMinima.obtener(idBusqueda)) != null && actual.getValue() != null) {
-            ruta.push(actual.getValue());
-            idBusqueda = actual.getValue().getSource().getId();
+    /**
+     * Mayor factor f tal que f * distancia geográfica no supera el peso de ningún arco entre
+     * vértices Ubicable. Con él la cota de A* es consistente. Los arcos entre vértices de un mismo
+     * lugar (distancia 0) no lo limitan; si los pesos son la distancia geográfica sin truncar, f
+     * queda en 1 salvo por redondeo. Se recalcula solo cuando cambia el grafo.
+     */
+    public synchronized double factorCotaAdmisible() {
+        if (versionFactorCota != version) {
+            double minimo = 1.0;
+            for (Edge<K, V> arco : arcos) {
+                minimo = Math.min(minimo, razonPesoDistancia(arco));
+                minimo = Math.min(minimo, razonPesoDistancia(arco.getReverso()));
+            }
+            factorCota = minimo;
+            versionFactorCota = version;
         }
+        return factorCota;
+    }
 
-        desmarcar();
-        return ruta;
+    private static double razonPesoDistancia(Edge<?, ?> arco) {
+        if (arco == null || !(arco.getSource().getInfo() instanceof Ubicable) || !(arco.getDestination().getInfo() instanceof Ubicable)) {
+            return 1.0;
+        }
+        double distancia = Ubicable.distanciaKm((Ubicable) arco.getSource().getInfo(), (Ubicable) arco.getDestination().getInfo());
+        return distancia > 0 ? arco.getWeight() / distancia : 1.0;
+    }
+
+    /**
+     * Candado que separa las consultas concurrentes de los cambios. Es reentrante: quien tiene el
+     * de escritura puede llamar a eliminarArco y compañía, pero no se puede pasar de lectura a
+     * escritura en el mismo hilo.
+     */
+    public ReentrantReadWriteLock darCandado() {
+        return candado;
+    }
+
+    public CacheArbolesRutaMinima<K, V> darCacheRutas() {
+        return cacheRutas;
+    }
+
+    /**
+     * Número que aumenta cada vez que cambian los vértices, los arcos o algún peso.
+     */
+    public long darVersion() {
+        return version;
+    }
+
+    /**
+     * Lo llaman las operaciones que modifican el grafo, incluido Edge.setWeight, siempre con el
+     * candado de escritura tomado.
+     */
+    void registrarCambio() {
+        version++;
+        cacheRutas.invalidar();
     }
 }
@@ -1,6 +1,9 @@
 package model.data_structures;
 
-public interface ILista<T extends Comparable<T>> extends Comparable<ILista<T>> {
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+public interface ILista<T extends Comparable<T>> extends Comparable<ILista<T>>, Iterable<T> {
 
     void addFirst(T element);
 
@@ -52,4 +55,21 @@ public interface ILista<T extends Comparable<T>> extends Comparable<ILista<T>> {
      * @throws VacioException si la lista está vacía.
      */
     T obtenerElemento(int i) throws PosException, VacioException;
+
+    /**
+     * Recorre la lista hacia adelante, desde la posición 1 hasta size(), sin validar cada
+     * posición ni lanzar excepciones verificadas. La lista no debe modificarse mientras se recorre.
+     *
+     * @return cursor sobre los elementos de la lista.
+     */
+    @Override
+    Iterator<T> iterator();
+
+    /**
+     * Aplica la acción a cada elemento en orden, recorriendo directamente la representación interna.
+     *
+     * @param accion acción que se aplica a cada elemento.
+     */
+    @Override
+    void forEach(Consumer<? super T> accion);
 }
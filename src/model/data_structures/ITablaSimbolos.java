@@ -1,6 +1,6 @@
 package model.data_structures;
 
-public interface ITablaSimbolos<K, V> {
+public interface ITablaSimbolos<K extends Comparable<K>, V extends Comparable<V>> {
     /**
      * Verifica si la tabla de símbolos contiene una clave específica.
      *
@@ -38,4 +38,25 @@ public interface ITablaSimbolos<K, V> {
      * @return Número de elementos en la tabla.
      */
     int size();
+
+    /**
+     * Indica si la tabla de símbolos está vacía.
+     *
+     * @return true si no hay elementos, false de lo contrario.
+     */
+    boolean isEmpty();
+
+    /**
+     * Obtiene las llaves presentes en la tabla de símbolos.
+     *
+     * @return lista con las llaves, en el orden interno de la tabla.
+     */
+    ILista<K> keySet();
+
+    /**
+     * Obtiene los valores presentes en la tabla de símbolos.
+     *
+     * @return lista con los valores, en el mismo orden que keySet().
+     */
+    ILista<V> valueSet();
 }
@@ -0,0 +1,504 @@
+package model.data_structures;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Jerarquía de contracción sobre una instantánea CSR del grafo. Los vértices se contraen de uno
+ * en uno, del menos al más importante (diferencia de arcos más vecinos ya contraídos, con
+ * actualización perezosa). Al contraer v, cada par u -> v -> x que no tenga una ruta testigo igual
+ * o más corta que evite v se reemplaza por un atajo u -> x que recuerda sus dos arcos hijos. Una
+ * consulta es un Dijkstra bidireccional que solo sube de rango en cada sentido, y la ruta se
+ * desempaca recursivamente hasta los Edge originales.
+ *
+ * Los arcos 0..numOriginales-1 son las posiciones de la instantánea CSR; los siguientes son atajos.
+ */
+public class JerarquiaContraccion<K extends Comparable<K>, V extends Comparable<V>> {
+
+    private static final int MAGICO = 0x49434843;
+    public static final int VERSION = 1;
+
+    /**
+     * Vértices que puede asentar una búsqueda de testigo antes de rendirse y agregar el atajo.
+     */
+    private static final int LIMITE_TESTIGO = 500;
+
+    private final GrafoListaAdyacencia<K, V> grafo;
+    private final GrafoCSR<K, V> csr;
+    private final int n;
+    private final int numOriginales;
+    private final int[] rango;
+
+    private int numArcos;
+    private int[] origenes;
+    private int[] destinos;
+    private float[] pesos;
+    private int[] hijos1;
+    private int[] hijos2;
+
+    private int[] inicioSubida;
+    private int[] arcosSubida;
+    private int[] inicioBajada;
+    private int[] arcosBajada;
+
+    private JerarquiaContraccion(GrafoListaAdyacencia<K, V> grafo, GrafoCSR<K, V> csr) {
+        this.grafo = grafo;
+        this.csr = csr;
+        this.n = csr.numVertices();
+        this.numOriginales = csr.numArcos();
+        this.rango = new int[n];
+
+        int capacidad = Math.max(numOriginales * 2, 16);
+        origenes = new int[capacidad];
+        destinos = new int[capacidad];
+        pesos = new float[capacidad];
+        hijos1 = new int[capacidad];
+        hijos2 = new int[capacidad];
+        for (int v = 0; v < n; v++) {
+            for (int e = csr.inicioArcos(v); e < csr.finArcos(v); e++) {
+                origenes[e] = v;
+                destinos[e] = csr.destino(e);
+                pesos[e] = csr.peso(e);
+                hijos1[e] = -1;
+                hijos2[e] = -1;
+            }
+        }
+        numArcos = numOriginales;
+    }
+
+    /**
+     * Contrae todos los vértices del grafo. Es el paso costoso; el resultado se puede guardar con escribir.
+     */
+    public static <K extends Comparable<K>, V extends Comparable<V>> JerarquiaContraccion<K, V> construir(GrafoListaAdyacencia<K, V> grafo) {
+        JerarquiaContraccion<K, V> jerarquia = new JerarquiaContraccion<>(grafo, grafo.compactar());
+        jerarquia.contraer();
+        jerarquia.construirGrafosSubida();
+        return jerarquia;
+    }
+
+    public int numAtajos() {
+        return numArcos - numOriginales;
+    }
+
+    // ------------------------------------------------------------------
+    // Contracción
+    // ------------------------------------------------------------------
+
+    private void contraer() {
+        ListaEnteros[] salida = new ListaEnteros[n];
+        ListaEnteros[] entrada = new ListaEnteros[n];
+        for (int v = 0; v < n; v++) {
+            salida[v] = new ListaEnteros();
+            entrada[v] = new ListaEnteros();
+        }
+        for (int a = 0; a < numArcos; a++) {
+            salida[origenes[a]].agregar(a);
+            entrada[destinos[a]].agregar(a);
+        }
+
+        boolean[] contraido = new boolean[n];
+        int[] vecinosContraidos = new int[n];
+        BusquedaTestigo testigo = new BusquedaTestigo();
+
+        MinPQIndexadaDensa orden = new MinPQIndexadaDensa(n);
+        for (int v = 0; v < n; v++) {
+            orden.insert(v, prioridad(v, salida, entrada, contraido, vecinosContraidos, testigo));
+        }
+
+        int siguienteRango = 0;
+        while (!orden.isEmpty()) {
+            int v = orden.delMin();
+            float actualizada = prioridad(v, salida, entrada, contraido, vecinosContraidos, testigo);
+            if (!orden.isEmpty() && actualizada > orden.minPrioridad()) {
+                orden.insert(v, actualizada);
+                continue;
+            }
+
+            contraerVertice(v, salida, entrada, contraido, testigo, true);
+            contraido[v] = true;
+            rango[v] = siguienteRango++;
+
+            for (int i = 0; i < salida[v].tamano; i++) {
+                vecinosContraidos[destinos[salida[v].datos[i]]]++;
+            }
+            for (int i = 0; i < entrada[v].tamano; i++) {
+                vecinosContraidos[origenes[entrada[v].datos[i]]]++;
+            }
+        }
+    }
+
+    private float prioridad(int v, ListaEnteros[] salida, ListaEnteros[] entrada, boolean[] contraido, int[] vecinosContraidos, BusquedaTestigo testigo) {
+        int atajos = contraerVertice(v, salida, entrada, contraido, testigo, false);
+        int grado = 0;
+        for (int i = 0; i < salida[v].tamano; i++) {
+            if (!contraido[destinos[salida[v].datos[i]]]) {
+                grado++;
+            }
+        }
+        for (int i = 0; i < entrada[v].tamano; i++) {
+            if (!contraido[origenes[entrada[v].datos[i]]]) {
+                grado++;
+            }
+        }
+        return atajos - grado + vecinosContraidos[v];
+    }
+
+    /**
+     * Busca los atajos que exige contraer v.
+     *
+     * @param agregar si es false solo los cuenta (para la prioridad).
+     * @return cantidad de atajos necesarios.
+     */
+    private int contraerVertice(int v, ListaEnteros[] salida, ListaEnteros[] entrada, boolean[] contraido, BusquedaTestigo testigo, boolean agregar) {
+        int atajos = 0;
+        ListaEnteros salidaV = salida[v];
+        ListaEnteros entradaV = entrada[v];
+
+        float maxSalida = 0f;
+        for (int j = 0; j < salidaV.tamano; j++) {
+            int arco = salidaV.datos[j];
+            if (!contraido[destinos[arco]]) {
+                maxSalida = Math.max(maxSalida, pesos[arco]);
+            }
+        }
+
+        for (int i = 0; i < entradaV.tamano; i++) {
+            int arcoEntrada = entradaV.datos[i];
+            int u = origenes[arcoEntrada];
+            if (contraido[u] || u == v) {
+                continue;
+            }
+
+            testigo.buscar(u, v, pesos[arcoEntrada] + maxSalida, salida, contraido);
+
+            for (int j = 0; j < salidaV.tamano; j++) {
+                int arcoSalida = salidaV.datos[j];
+                int x = destinos[arcoSalida];
+                if (contraido[x] || x == u || x == v) {
+                    continue;
+                }
+                float porV = pesos[arcoEntrada] + pesos[arcoSalida];
+                if (testigo.distancia(x) > porV) {
+                    atajos++;
+                    if (agregar) {
+                        int atajo = agregarArco(u, x, porV, arcoEntrada, arcoSalida);
+                        salida[u].agregar(atajo);
+                        entrada[x].agregar(atajo);
+                    }
+                }
+            }
+            testigo.limpiar();
+        }
+        return atajos;
+    }
+
+    private int agregarArco(int origen, int destino, float peso, int hijo1, int hijo2) {
+        if (numArcos == origenes.length) {
+            int capacidad = origenes.length * 2;
+            origenes = Arrays.copyOf(origenes, capacidad);
+            destinos = Arrays.copyOf(destinos, capacidad);
+            pesos = Arrays.copyOf(pesos, capacidad);
+            hijos1 = Arrays.copyOf(hijos1, capacidad);
+            hijos2 = Arrays.copyOf(hijos2, capacidad);
+        }
+        origenes[numArcos] = origen;
+        destinos[numArcos] = destino;
+        pesos[numArcos] = peso;
+        hijos1[numArcos] = hijo1;
+        hijos2[numArcos] = hijo2;
+        return numArcos++;
+    }
+
+    /**
+     * Dijkstra local desde u que no pasa por el vértice que se está contrayendo ni por vértices
+     * ya contraídos. Reutiliza sus arreglos entre búsquedas y solo limpia lo que tocó.
+     */
+    private final class BusquedaTestigo {
+        private final float[] distancias = new float[n];
+        private final MinPQIndexadaDensa cola = new MinPQIndexadaDensa(n);
+        private final ListaEnteros tocados = new ListaEnteros();
+
+        BusquedaTestigo() {
+            Arrays.fill(distancias, Float.POSITIVE_INFINITY);
+        }
+
+        void buscar(int u, int excluido, float limite, ListaEnteros[] salida, boolean[] contraido) {
+            distancias[u] = 0f;
+            tocados.agregar(u);
+            cola.insert(u, 0f);
+            int asentados = 0;
+            while (!cola.isEmpty() && cola.minPrioridad() <= limite && asentados < LIMITE_TESTIGO) {
+                int w = cola.delMin();
+                asentados++;
+                for (int i = 0; i < salida[w].tamano; i++) {
+                    int arco = salida[w].datos[i];
+                    int x = destinos[arco];
+                    if (x == excluido || contraido[x]) {
+                        continue;
+                    }
+                    float nueva = distancias[w] + pesos[arco];
+                    if (nueva < distancias[x]) {
+                        if (distancias[x] == Float.POSITIVE_INFINITY) {
+                            tocados.agregar(x);
+                        }
+                        distancias[x] = nueva;
+                        cola.insertOrChange(x, nueva);
+                    }
+                }
+            }
+        }
+
+        float distancia(int x) {
+            return distancias[x];
+        }
+
+        void limpiar() {
+            while (!cola.isEmpty()) {
+                cola.delMin();
+            }
+            for (int i = 0; i < tocados.tamano; i++) {
+                distancias[tocados.datos[i]] = Float.POSITIVE_INFINITY;
+            }
+            tocados.tamano = 0;
+        }
+    }
+
+    /**
+     * Agrupa los arcos que suben de rango: por origen para la búsqueda desde el origen de la
+     * consulta y por destino para la búsqueda hacia atrás desde el destino.
+     */
+    private void construirGrafosSubida() {
+        inicioSubida = new int[n + 1];
+        inicioBajada = new int[n + 1];
+        for (int a = 0; a < numArcos; a++) {
+            if (rango[destinos[a]] > rango[origenes[a]]) {
+                inicioSubida[origenes[a] + 1]++;
+            } else if (rango[origenes[a]] > rango[destinos[a]]) {
+                inicioBajada[destinos[a] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            inicioSubida[v + 1] += inicioSubida[v];
+            inicioBajada[v + 1] += inicioBajada[v];
+        }
+        arcosSubida = new int[inicioSubida[n]];
+        arcosBajada = new int[inicioBajada[n]];
+        int[] siguienteSubida = Arrays.copyOf(inicioSubida, n);
+        int[] siguienteBajada = Arrays.copyOf(inicioBajada, n);
+        for (int a = 0; a < numArcos; a++) {
+            if (rango[destinos[a]] > rango[origenes[a]]) {
+                arcosSubida[siguienteSubida[origenes[a]]++] = a;
+            } else if (rango[origenes[a]] > rango[destinos[a]]) {
+                arcosBajada[siguienteBajada[destinos[a]]++] = a;
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Consultas
+    // ------------------------------------------------------------------
+
+    /**
+     * Ruta mínima en el mismo formato que GrafoListaAdyacencia.rutaMinima.
+     */
+    public PilaEncadenada<Edge<K, V>> rutaMinima(K idOrigen, K idDestino) {
+        int s = grafo.obtenerVertice(idOrigen).getIndice();
+        int t = grafo.obtenerVertice(idDestino).getIndice();
+
+        float[] distanciaAdelante = new float[n];
+        float[] distanciaAtras = new float[n];
+        int[] arcoAdelante = new int[n];
+        int[] arcoAtras = new int[n];
+        Arrays.fill(distanciaAdelante, Float.POSITIVE_INFINITY);
+        Arrays.fill(distanciaAtras, Float.POSITIVE_INFINITY);
+        Arrays.fill(arcoAdelante, -1);
+        Arrays.fill(arcoAtras, -1);
+        MinPQIndexadaDensa colaAdelante = new MinPQIndexadaDensa(n);
+        MinPQIndexadaDensa colaAtras = new MinPQIndexadaDensa(n);
+
+        distanciaAdelante[s] = 0f;
+        distanciaAtras[t] = 0f;
+        colaAdelante.insert(s, 0f);
+        colaAtras.insert(t, 0f);
+        float mejor = Float.POSITIVE_INFINITY;
+        int encuentro = -1;
+
+        while (true) {
+            boolean adelante = !colaAdelante.isEmpty() && colaAdelante.minPrioridad() < mejor;
+            boolean atras = !colaAtras.isEmpty() && colaAtras.minPrioridad() < mejor;
+            if (!adelante && !atras) {
+                break;
+            }
+            if (adelante && (!atras || colaAdelante.minPrioridad() <= colaAtras.minPrioridad())) {
+                int u = colaAdelante.delMin();
+                if (distanciaAdelante[u] + distanciaAtras[u] < mejor) {
+                    mejor = distanciaAdelante[u] + distanciaAtras[u];
+                    encuentro = u;
+                }
+                for (int i = inicioSubida[u]; i < inicioSubida[u + 1]; i++) {
+                    int a = arcosSubida[i];
+                    int w = destinos[a];
+                    float nueva = distanciaAdelante[u] + pesos[a];
+                    if (nueva < distanciaAdelante[w]) {
+                        distanciaAdelante[w] = nueva;
+                        arcoAdelante[w] = a;
+                        colaAdelante.insertOrChange(w, nueva);
+                    }
+                }
+            } else {
+                int u = colaAtras.delMin();
+                if (distanciaAdelante[u] + distanciaAtras[u] < mejor) {
+                    mejor = distanciaAdelante[u] + distanciaAtras[u];
+                    encuentro = u;
+                }
+                for (int i = inicioBajada[u]; i < inicioBajada[u + 1]; i++) {
+                    int a = arcosBajada[i];
+                    int w = origenes[a];
+                    float nueva = distanciaAtras[u] + pesos[a];
+                    if (nueva < distanciaAtras[w]) {
+                        distanciaAtras[w] = nueva;
+                        arcoAtras[w] = a;
+                        colaAtras.insertOrChange(w, nueva);
+                    }
+                }
+            }
+        }
+
+        PilaEncadenada<Edge<K, V>> ruta = new PilaEncadenada<>();
+        if (encuentro == -1) {
+            return ruta;
+        }
+
+        ListaEnteros arcosRuta = new ListaEnteros();
+        for (int v = encuentro; arcoAdelante[v] != -1; v = origenes[arcoAdelante[v]]) {
+            arcosRuta.agregar(arcoAdelante[v]);
+        }
+        arcosRuta.invertir();
+        for (int v = encuentro; arcoAtras[v] != -1; v = destinos[arcoAtras[v]]) {
+            arcosRuta.agregar(arcoAtras[v]);
+        }
+
+        ListaEnteros originales = desempacar(arcosRuta);
+        for (int i = originales.tamano - 1; i >= 0; i--) {
+            ruta.push(csr.arco(originales.datos[i]));
+        }
+        return ruta;
+    }
+
+    /**
+     * Reemplaza cada atajo por sus dos hijos hasta llegar a arcos originales, conservando el orden.
+     */
+    private ListaEnteros desempacar(ListaEnteros arcosRuta) {
+        ListaEnteros originales = new ListaEnteros();
+        ListaEnteros pila = new ListaEnteros();
+        for (int i = arcosRuta.tamano - 1; i >= 0; i--) {
+            pila.agregar(arcosRuta.datos[i]);
+        }
+        while (pila.tamano > 0) {
+            int a = pila.datos[--pila.tamano];
+            if (a < numOriginales) {
+                originales.agregar(a);
+            } else {
+                pila.agregar(hijos2[a]);
+                pila.agregar(hijos1[a]);
+            }
+        }
+        return originales;
+    }
+
+    // ------------------------------------------------------------------
+    // Persistencia
+    // ------------------------------------------------------------------
+
+    /**
+     * Guarda el orden de contracción y los atajos; los arcos originales salen del grafo al leer.
+     */
+    public void escribir(Path archivo) throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        try (OutputStream salida = Files.newOutputStream(temporal);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(salida, 1 << 16))) {
+            out.writeInt(MAGICO);
+            out.writeInt(VERSION);
+            out.writeLong(csr.huella());
+            out.writeInt(n);
+            out.writeInt(numOriginales);
+            out.writeInt(numArcos);
+            for (int v = 0; v < n; v++) {
+                out.writeInt(rango[v]);
+            }
+            for (int a = numOriginales; a < numArcos; a++) {
+                out.writeInt(origenes[a]);
+                out.writeInt(destinos[a]);
+                out.writeFloat(pesos[a]);
+                out.writeInt(hijos1[a]);
+                out.writeInt(hijos2[a]);
+            }
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return la jerarquía guardada, o null si no existe, está dañada o se construyó sobre otro grafo.
+     */
+    public static <K extends Comparable<K>, V extends Comparable<V>> JerarquiaContraccion<K, V> leer(Path archivo, GrafoListaAdyacencia<K, V> grafo) throws IOException {
+        if (!Files.isRegularFile(archivo)) {
+            return null;
+        }
+
+        GrafoCSR<K, V> csr = grafo.compactar();
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            MappedByteBuffer in = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            if (in.remaining() < 28 || in.getInt() != MAGICO || in.getInt() != VERSION || in.getLong() != csr.huella()
+                    || in.getInt() != csr.numVertices() || in.getInt() != csr.numArcos()) {
+                return null;
+            }
+
+            JerarquiaContraccion<K, V> jerarquia = new JerarquiaContraccion<>(grafo, csr);
+            int total = in.getInt();
+            for (int v = 0; v < jerarquia.n; v++) {
+                jerarquia.rango[v] = in.getInt();
+            }
+            for (int a = jerarquia.numOriginales; a < total; a++) {
+                jerarquia.agregarArco(in.getInt(), in.getInt(), in.getFloat(), in.getInt(), in.getInt());
+            }
+            jerarquia.construirGrafosSubida();
+            return jerarquia;
+        } catch (RuntimeException e) {
+            // Un archivo truncado no es fatal: se vuelve a construir
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Arreglo de enteros que crece según se necesite.
+     */
+    private static final class ListaEnteros {
+        private int[] datos = new int[4];
+        private int tamano;
+
+        void agregar(int valor) {
+            if (tamano == datos.length) {
+                datos = Arrays.copyOf(datos, tamano * 2);
+            }
+            datos[tamano++] = valor;
+        }
+
+        void invertir() {
+            for (int i = 0, j = tamano - 1; i < j; i++, j--) {
+                int temp = datos[i];
+                datos[i] = datos[j];
+                datos[j] = temp;
+            }
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package model.data_structures;
 
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
 
 public class ListaEncadenada <T extends Comparable <T>> implements ILista<T>{
 
@@ -118,10 +121,12 @@ public class ListaEncadenada <T extends Comparable <T>> implements ILista<T>{
 	public T removeFirst() throws VacioException
 	{
 		T primero= firstElement();
-		if (first!=null)
+		first=first.getNext();
+		if (first==null)
 		{
-			first=first.getNext();
+			last=null;
 		}
+		size--;
 	
 		return primero;
 		
@@ -184,6 +189,8 @@ public class ListaEncadenada <T extends Comparable <T>> implements ILista<T>{
 		{
 			ultimo= first;
 			first=null;
+			last=null;
+			size--;
 		}
 		
 		return ultimo.getInfo();
@@ -207,7 +214,8 @@ public class ListaEncadenada <T extends Comparable <T>> implements ILista<T>{
 		 {
 			if ( pos==1)
 			{
-				retorno=removeFirst();
+				// removeFirst ya descuenta el elemento
+				return removeFirst();
 			}
 			else if (pos==size())
 			{
@@ -404,7 +412,7 @@ public class ListaEncadenada <T extends Comparable <T>> implements ILista<T>{
 		}
 		else
 		{
-			ILista<T> copia= new ListaEncadenada();
+			ILista<T> copia= new ListaEncadenada<>();
 			
 			int contador=pos;
 			for(int i=0; i<numElementos; i++)
@@ -419,14 +427,50 @@ public class ListaEncadenada <T extends Comparable <T>> implements ILista<T>{
 	}
 
 	@Override
-	public int compareTo(ILista o) {
+	public int compareTo(ILista<T> o) {
 		// TODO Auto-generated method stub
 		return 0;
 	}
 
 	@Override
 	public T obtenerElemento(int i) throws PosException, VacioException {
-		// TODO Auto-generated method stub
-		throw new UnsupportedOperationException("Unimplemented method 'obtenerElemento'");
+		return getElement(i);
+	}
+
+	//Recorre los nodos directamente, así que recorrer toda la lista es O(n) y no O(n^2) como con getElement
+	@Override
+	public Iterator<T> iterator()
+	{
+		return new Iterator<T>()
+		{
+			private Nodo<T> actual= first;
+
+			@Override
+			public boolean hasNext()
+			{
+				return actual!=null;
+			}
+
+			@Override
+			public T next()
+			{
+				if(actual==null)
+				{
+					throw new NoSuchElementException();
+				}
+				T elemento= actual.getInfo();
+				actual= actual.getNext();
+				return elemento;
+			}
+		};
+	}
+
+	@Override
+	public void forEach(Consumer<? super T> accion)
+	{
+		for(Nodo<T> actual= first; actual!=null; actual=actual.getNext())
+		{
+			accion.accept(actual.getInfo());
+		}
 	}
 }
@@ -133,8 +133,12 @@ public class MinPQ<K extends Comparable<K> ,V extends Comparable <V>>
 		}
 		else if(tamano>0)
 		{
-			retornar=arbol.removeLast();
-			tamano--;
+			try {
+				retornar=arbol.removeLast();
+				tamano--;
+			} catch (VacioException e) {
+				e.printStackTrace();
+			}
 		}
 		
 		return retornar;
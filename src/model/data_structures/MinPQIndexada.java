@@ -17,6 +17,7 @@ public class MinPQIndexada<K extends Comparable<K>, IK extends Comparable <IK>,
         swim(arbol, tamano);
     }
     
+    @SuppressWarnings("unchecked")
     public void changePriority(IK indexedKey, K newKey, V value) 
     {
     	try
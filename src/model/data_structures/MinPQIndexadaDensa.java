@@ -0,0 +1,143 @@
+package model.data_structures;
+
+import java.util.Arrays;
+
+/**
+ * Cola de prioridad mínima indexada sobre índices densos 0..capacidad-1 y prioridades float.
+ * Además del montículo binario (pq: posición -> índice) mantiene la posición de cada índice
+ * dentro del montículo (qp: índice -> posición), así que contains es O(1) y decreaseKey,
+ * changePriority y delMin son O(log n) sin recorrer el montículo.
+ */
+public class MinPQIndexadaDensa {
+
+    private final int[] pq;
+    private final int[] qp;
+    private final float[] prioridades;
+    private int tamano;
+
+    public MinPQIndexadaDensa(int capacidad) {
+        pq = new int[capacidad + 1];
+        qp = new int[capacidad];
+        prioridades = new float[capacidad];
+        Arrays.fill(qp, -1);
+        tamano = 0;
+    }
+
+    public boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    public int size() {
+        return tamano;
+    }
+
+    public boolean contains(int indice) {
+        return qp[indice] != -1;
+    }
+
+    public float prioridad(int indice) {
+        return prioridades[indice];
+    }
+
+    public void insert(int indice, float prioridad) {
+        if (contains(indice)) {
+            throw new IllegalArgumentException("El índice ya está en la cola");
+        }
+        tamano++;
+        qp[indice] = tamano;
+        pq[tamano] = indice;
+        prioridades[indice] = prioridad;
+        swim(tamano);
+    }
+
+    /**
+     * Inserta el índice o, si ya está, le asigna la nueva prioridad.
+     */
+    public void insertOrChange(int indice, float prioridad) {
+        if (contains(indice)) {
+            changePriority(indice, prioridad);
+        } else {
+            insert(indice, prioridad);
+        }
+    }
+
+    public void decreaseKey(int indice, float prioridad) {
+        if (prioridad > prioridades[indice]) {
+            throw new IllegalArgumentException("La nueva prioridad no es menor");
+        }
+        prioridades[indice] = prioridad;
+        swim(qp[indice]);
+    }
+
+    public void changePriority(int indice, float prioridad) {
+        float anterior = prioridades[indice];
+        prioridades[indice] = prioridad;
+        if (prioridad < anterior) {
+            swim(qp[indice]);
+        } else if (prioridad > anterior) {
+            sink(qp[indice]);
+        }
+    }
+
+    public int minIndex() {
+        return pq[1];
+    }
+
+    public float minPrioridad() {
+        return prioridades[pq[1]];
+    }
+
+    public int delMin() {
+        if (tamano == 0) {
+            throw new IllegalStateException("La cola está vacía");
+        }
+        int min = pq[1];
+        exchange(1, tamano--);
+        sink(1);
+        qp[min] = -1;
+        return min;
+    }
+
+    public void delete(int indice) {
+        int posicion = qp[indice];
+        exchange(posicion, tamano--);
+        if (posicion <= tamano) {
+            swim(posicion);
+            sink(posicion);
+        }
+        qp[indice] = -1;
+    }
+
+    private boolean greater(int i, int j) {
+        return prioridades[pq[i]] > prioridades[pq[j]];
+    }
+
+    private void exchange(int i, int j) {
+        int temp = pq[i];
+        pq[i] = pq[j];
+        pq[j] = temp;
+        qp[pq[i]] = i;
+        qp[pq[j]] = j;
+    }
+
+    private void swim(int pos) {
+        while (pos > 1 && greater(pos / 2, pos)) {
+            exchange(pos, pos / 2);
+            pos = pos / 2;
+        }
+    }
+
+    private void sink(int pos) {
+        while (2 * pos <= tamano) {
+            int hijo = 2 * pos;
+            if (hijo < tamano && greater(hijo, hijo + 1)) {
+                hijo++;
+            }
+            if (!greater(pos, hijo)) {
+                break;
+            }
+            exchange(pos, hijo);
+            pos = hijo;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package model.data_structures;
 
 public class NullException extends Exception
 {
+	private static final long serialVersionUID = 1L;
+
 	public NullException(String causa)
 	{
 		super(causa);
@@ -2,6 +2,8 @@ package model.data_structures;
 
 public class PosException extends Exception
 {
+	private static final long serialVersionUID = 1L;
+
 	public PosException(String causa)
 	{
 		super(causa);
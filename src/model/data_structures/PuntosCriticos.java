@@ -0,0 +1,52 @@
+package model.data_structures;
+
+import java.util.BitSet;
+
+/**
+ * Puntos únicos de falla de un grafo no dirigido: los vértices de articulación (quitar uno separa
+ * su componente en varias) y los puentes (arcos cuya eliminación desconecta sus extremos).
+ * Los puentes se guardan como posiciones de la instantánea CSR sobre la que se calcularon.
+ */
+public class PuntosCriticos<K extends Comparable<K>, V extends Comparable<V>> {
+
+    private final GrafoCSR<K, V> grafo;
+    private final BitSet articulaciones;
+    private final int[] puentes;
+
+    PuntosCriticos(GrafoCSR<K, V> grafo, BitSet articulaciones, int[] puentes) {
+        this.grafo = grafo;
+        this.articulaciones = articulaciones;
+        this.puentes = puentes;
+    }
+
+    public int numArticulaciones() {
+        return articulaciones.cardinality();
+    }
+
+    public int numPuentes() {
+        return puentes.length;
+    }
+
+    public boolean esArticulacion(Vertex<K, V> vertice) {
+        return articulaciones.get(vertice.getIndice());
+    }
+
+    public ILista<Vertex<K, V>> darArticulaciones() {
+        ILista<Vertex<K, V>> lista = new ArregloDinamico<>(Math.max(numArticulaciones(), 1));
+        for (int v = articulaciones.nextSetBit(0); v >= 0; v = articulaciones.nextSetBit(v + 1)) {
+            lista.addLast(grafo.vertice(v));
+        }
+        return lista;
+    }
+
+    /**
+     * @return un arco por puente, en el sentido en que lo recorrió la búsqueda en profundidad.
+     */
+    public ILista<Edge<K, V>> darPuentes() {
+        ILista<Edge<K, V>> lista = new ArregloDinamico<>(Math.max(puentes.length, 1));
+        for (int posicion : puentes) {
+            lista.addLast(grafo.arco(posicion));
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,280 @@
+package model.data_structures;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Rutas alternativas entre dos vértices de una instantánea CSR, sobre el mismo Dijkstra de
+ * GrafoCSR:
+ * - kRutasMinimas: las k rutas sin ciclos más cortas (Yen).
+ * - rutasDisjuntas: hasta k rutas que no comparten ningún arco y cuya suma de costos es mínima
+ *   (flujo de costo mínimo con capacidad 1 por arco). Si el flujo máximo entre los dos vértices es
+ *   menor que k se devuelven solo esas rutas.
+ * Las rutas se devuelven como listas de Edge en orden desde el origen.
+ */
+public class RutasAlternativas<K extends Comparable<K>, V extends Comparable<V>> {
+
+    /**
+     * Error relativo de redondeo que se acepta en un costo reducido negativo.
+     */
+    private static final float TOLERANCIA = 1e-5f;
+
+    private final GrafoCSR<K, V> grafo;
+    private final float[] distTo;
+    private final int[] arcoHacia;
+
+    public RutasAlternativas(GrafoCSR<K, V> grafo) {
+        this.grafo = grafo;
+        distTo = new float[grafo.numVertices()];
+        arcoHacia = new int[grafo.numVertices()];
+    }
+
+    /**
+     * Algoritmo de Yen. Cada desvío se busca con una cota: si ya hay suficientes candidatas, no se
+     * exploran rutas más costosas que la candidata que hoy ocuparía el puesto k.
+     *
+     * @return las rutas en orden de costo; vacía si destino no es alcanzable o coincide con origen.
+     */
+    public ILista<ILista<Edge<K, V>>> kRutasMinimas(int origen, int destino, int k) {
+        if (k <= 0 || origen == destino) {
+            return aRutas(new int[0][], 0);
+        }
+        int[][] aceptadas = new int[k][];
+        int numAceptadas = 0;
+
+        float[] costos = new float[grafo.numArcos()];
+        for (int e = 0; e < costos.length; e++) {
+            costos[e] = grafo.peso(e);
+        }
+
+        grafo.dijkstra(origen, destino, costos, null, Float.POSITIVE_INFINITY, distTo, arcoHacia);
+        if (distTo[destino] == Float.POSITIVE_INFINITY) {
+            return aRutas(aceptadas, 0);
+        }
+        aceptadas[numAceptadas++] = grafo.rutaHacia(destino, arcoHacia);
+
+        // Candidatas ordenadas por costo; nunca se guardan más de las que todavía pueden aceptarse
+        int[][] candidatas = new int[k][];
+        float[] costosCandidatas = new float[k];
+        int numCandidatas = 0;
+        BitSet bloqueados = new BitSet(grafo.numVertices());
+        int[] arcosBloqueados = new int[k];
+
+        while (numAceptadas < k) {
+            int[] anterior = aceptadas[numAceptadas - 1];
+            float costoRaiz = 0f;
+            int desvio = origen;
+            bloqueados.clear();
+
+            for (int j = 0; j < anterior.length; j++) {
+                int faltantes = k - numAceptadas;
+                float cota = numCandidatas >= faltantes ? costosCandidatas[faltantes - 1] - costoRaiz : Float.POSITIVE_INFINITY;
+
+                // Se prohíbe repetir el siguiente arco de cualquier ruta aceptada con la misma raíz
+                int numArcosBloqueados = 0;
+                for (int a = 0; a < numAceptadas; a++) {
+                    int[] ruta = aceptadas[a];
+                    if (ruta.length > j && mismaRaiz(ruta, anterior, j) && costos[ruta[j]] != Float.POSITIVE_INFINITY) {
+                        arcosBloqueados[numArcosBloqueados++] = ruta[j];
+                        costos[ruta[j]] = Float.POSITIVE_INFINITY;
+                    }
+                }
+
+                if (cota >= 0f) {
+                    grafo.dijkstra(desvio, destino, costos, bloqueados, cota, distTo, arcoHacia);
+                    if (distTo[destino] != Float.POSITIVE_INFINITY) {
+                        float costo = costoRaiz + distTo[destino];
+                        int[] desviada = grafo.rutaHacia(destino, arcoHacia);
+                        int[] candidata = Arrays.copyOf(anterior, j + desviada.length);
+                        System.arraycopy(desviada, 0, candidata, j, desviada.length);
+                        numCandidatas = insertarCandidata(candidatas, costosCandidatas, numCandidatas, faltantes, candidata, costo);
+                    }
+                }
+
+                for (int i = 0; i < numArcosBloqueados; i++) {
+                    costos[arcosBloqueados[i]] = grafo.peso(arcosBloqueados[i]);
+                }
+
+                // La raíz crece con el arco j de la ruta anterior y su vértice de partida queda fuera
+                bloqueados.set(desvio);
+                costoRaiz += grafo.peso(anterior[j]);
+                desvio = grafo.destino(anterior[j]);
+            }
+
+            if (numCandidatas == 0) {
+                break;
+            }
+            aceptadas[numAceptadas++] = candidatas[0];
+            System.arraycopy(candidatas, 1, candidatas, 0, numCandidatas - 1);
+            System.arraycopy(costosCandidatas, 1, costosCandidatas, 0, numCandidatas - 1);
+            candidatas[--numCandidatas] = null;
+        }
+        return aRutas(aceptadas, numAceptadas);
+    }
+
+    /**
+     * Rutas sin arcos en común (un cable o enlace no se comparte entre dos rutas, los vértices sí)
+     * con costo total mínimo. Cada ruta se agrega con Dijkstra sobre la red residual usando costos
+     * reducidos por potenciales, que nunca son negativos, y al final el flujo se separa en rutas.
+     *
+     * @return las rutas encontradas (como máximo k), de menor a mayor costo.
+     */
+    public ILista<ILista<Edge<K, V>>> rutasDisjuntas(int origen, int destino, int k) {
+        if (k <= 0 || origen == destino) {
+            return aRutas(new int[0][], 0);
+        }
+
+        int n = grafo.numVertices();
+        int m = grafo.numArcos();
+        // flujo[e] es 1 si una ruta usa el arco e, -1 si usa su reverso y 0 si ninguno
+        int[] flujo = new int[m];
+        int[] origenes = new int[m];
+        for (int v = 0; v < n; v++) {
+            for (int e = grafo.inicioArcos(v); e < grafo.finArcos(v); e++) {
+                origenes[e] = v;
+            }
+        }
+        float[] costos = new float[m];
+        float[] potencial = new float[n];
+
+        int enviadas = 0;
+        while (enviadas < k) {
+            for (int e = 0; e < m; e++) {
+                int u = origenes[e];
+                int w = grafo.destino(e);
+                if (flujo[e] == 1 || u == w) {
+                    costos[e] = Float.POSITIVE_INFINITY;
+                } else {
+                    float costo = flujo[e] == -1 ? -grafo.peso(e) : grafo.peso(e);
+                    float reducido = costo + potencial[u] - potencial[w];
+                    // Con potenciales exactos nunca es negativo; en float puede quedar apenas bajo
+                    // cero por redondeo, y solo eso se lleva a 0
+                    assert reducido >= -TOLERANCIA * (Math.abs(costo) + Math.abs(potencial[u]) + Math.abs(potencial[w]) + 1)
+                            : "Costo reducido negativo " + reducido + " en el arco " + e;
+                    costos[e] = Math.max(0f, reducido);
+                }
+            }
+
+            grafo.dijkstra(origen, destino, costos, null, Float.POSITIVE_INFINITY, distTo, arcoHacia);
+            float alcance = distTo[destino];
+            if (alcance == Float.POSITIVE_INFINITY) {
+                break;
+            }
+            for (int e : grafo.rutaHacia(destino, arcoHacia)) {
+                flujo[e]++;
+                int r = grafo.reverso(e);
+                if (r != -1) {
+                    flujo[r]--;
+                }
+            }
+            for (int v = 0; v < n; v++) {
+                potencial[v] += Math.min(distTo[v], alcance);
+            }
+            enviadas++;
+        }
+
+        int[] posicionEnRuta = new int[n];
+        Arrays.fill(posicionEnRuta, -1);
+        int[] arcosRuta = new int[n];
+        int[][] rutas = new int[enviadas][];
+        float[] costosRutas = new float[enviadas];
+        for (int i = 0; i < enviadas; i++) {
+            int longitud = 0;
+            int v = origen;
+            posicionEnRuta[v] = 0;
+            while (v != destino) {
+                int e = grafo.inicioArcos(v);
+                while (flujo[e] != 1) {
+                    e++;
+                }
+                flujo[e] = 0;
+                int w = grafo.destino(e);
+                if (posicionEnRuta[w] != -1) {
+                    // Ciclo de costo cero dentro del flujo: se descarta volviendo a w
+                    for (int p = posicionEnRuta[w]; p < longitud; p++) {
+                        posicionEnRuta[grafo.destino(arcosRuta[p])] = -1;
+                    }
+                    longitud = posicionEnRuta[w];
+                } else {
+                    arcosRuta[longitud++] = e;
+                    posicionEnRuta[w] = longitud;
+                }
+                v = w;
+            }
+            posicionEnRuta[origen] = -1;
+            for (int p = 0; p < longitud; p++) {
+                posicionEnRuta[grafo.destino(arcosRuta[p])] = -1;
+            }
+            int[] ruta = Arrays.copyOf(arcosRuta, longitud);
+            float costo = costo(ruta);
+            int posicion = i;
+            while (posicion > 0 && costosRutas[posicion - 1] > costo) {
+                rutas[posicion] = rutas[posicion - 1];
+                costosRutas[posicion] = costosRutas[posicion - 1];
+                posicion--;
+            }
+            rutas[posicion] = ruta;
+            costosRutas[posicion] = costo;
+        }
+        return aRutas(rutas, enviadas);
+    }
+
+    private static boolean mismaRaiz(int[] ruta, int[] otra, int longitud) {
+        for (int i = 0; i < longitud; i++) {
+            if (ruta[i] != otra[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Inserta la candidata en su posición por costo si no está repetida y cabe entre las primeras
+     * limite.
+     *
+     * @return la nueva cantidad de candidatas.
+     */
+    private static int insertarCandidata(int[][] candidatas, float[] costos, int cantidad, int limite, int[] candidata, float costo) {
+        int posicion = cantidad;
+        while (posicion > 0 && costos[posicion - 1] > costo) {
+            posicion--;
+        }
+        for (int i = posicion - 1; i >= 0 && costos[i] == costo; i--) {
+            if (Arrays.equals(candidatas[i], candidata)) {
+                return cantidad;
+            }
+        }
+        if (posicion >= limite) {
+            return cantidad;
+        }
+        int nuevaCantidad = Math.min(cantidad + 1, limite);
+        for (int i = nuevaCantidad - 1; i > posicion; i--) {
+            candidatas[i] = candidatas[i - 1];
+            costos[i] = costos[i - 1];
+        }
+        candidatas[posicion] = candidata;
+        costos[posicion] = costo;
+        return nuevaCantidad;
+    }
+
+    private float costo(int[] ruta) {
+        float total = 0f;
+        for (int e : ruta) {
+            total += grafo.peso(e);
+        }
+        return total;
+    }
+
+    private ILista<ILista<Edge<K, V>>> aRutas(int[][] posiciones, int cantidad) {
+        ILista<ILista<Edge<K, V>>> rutas = new ArregloDinamico<>(Math.max(cantidad, 1));
+        for (int i = 0; i < cantidad; i++) {
+            int[] ruta = posiciones[i];
+            ILista<Edge<K, V>> arcos = new ArregloDinamico<>(Math.max(ruta.length, 1));
+            for (int e : ruta) {
+                arcos.addLast(grafo.arco(e));
+            }
+            rutas.addLast(arcos);
+        }
+        return rutas;
+    }
+}
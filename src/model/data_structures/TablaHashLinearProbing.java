@@ -97,7 +97,7 @@ public class TablaHashLinearProbing<K extends Comparable<K>, V extends Comparabl
     }
 
     @Override
-    public V eliminar(K key) {
+    public void eliminar(K key) {
         int posicion = hash(key);
         V retornar = null;
         boolean encontroNull = false;
@@ -123,14 +123,12 @@ public class TablaHashLinearProbing<K extends Comparable<K>, V extends Comparabl
 
             if (retornar != null) {
                 listaNodos.getElement(posicion).setEmpty();
-            } else {
-                throw new PosException("No está el elemento");
+                tamanoAct--;
             }
         } catch (PosException | VacioException e) {
             e.printStackTrace();
         }
 
-        return retornar;
     }
 
     @Override
@@ -180,12 +178,10 @@ public class TablaHashLinearProbing<K extends Comparable<K>, V extends Comparabl
         return lista;
     }
 
-    @Override
     public int hash(K key) {
         return Math.abs(key.hashCode() % tamanoTabla) + 1;
     }
 
-    @Override
     public ILista<NodoTS<K, V>> darListaNodos() {
         ILista<NodoTS<K, V>> nodos = new ArregloDinamico<>(1);
 
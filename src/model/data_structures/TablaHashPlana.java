@@ -0,0 +1,223 @@
+package model.data_structures;
+
+/**
+ * Tabla de símbolos con direccionamiento abierto (sondeo lineal) sobre arreglos paralelos.
+ * Las llaves, los valores y los hash ya mezclados se guardan en arreglos planos de capacidad
+ * potencia de dos, de modo que poner y obtener no crean objetos intermedios. Las eliminaciones
+ * desplazan hacia atrás el resto del grupo en lugar de dejar marcas de borrado.
+ */
+public class TablaHashPlana<K extends Comparable<K>, V extends Comparable<V>> implements ITablaSimbolos<K, V> {
+
+    private static final float FACTOR_CARGA_MAXIMO = 0.6f;
+    private static final int CAPACIDAD_MINIMA = 4;
+
+    private K[] llaves;
+    private V[] valores;
+    private int[] hashes;
+    private int mascara;
+    private int umbral;
+    private int tamanoAct;
+    private int minicial;
+    private int cantidadRehash;
+
+    /**
+     * @param tamInicial cantidad de elementos que se espera guardar sin redimensionar.
+     */
+    public TablaHashPlana(int tamInicial) {
+        int capacidad = capacidadPara(tamInicial);
+        minicial = capacidad;
+        inicializar(capacidad);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void inicializar(int capacidad) {
+        llaves = (K[]) new Comparable<?>[capacidad];
+        valores = (V[]) new Comparable<?>[capacidad];
+        hashes = new int[capacidad];
+        mascara = capacidad - 1;
+        umbral = (int) (capacidad * FACTOR_CARGA_MAXIMO);
+    }
+
+    private static int capacidadPara(int elementos) {
+        int necesaria = (int) Math.ceil(Math.max(elementos, 1) / FACTOR_CARGA_MAXIMO);
+        int capacidad = CAPACIDAD_MINIMA;
+        while (capacidad < necesaria) {
+            capacidad <<= 1;
+        }
+        return capacidad;
+    }
+
+    /**
+     * Mezcla final de MurmurHash3: reparte los bits altos de hashCode() sobre los bits bajos
+     * que usa la máscara.
+     */
+    private static int mezclar(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private int buscar(K key, int h) {
+        int posicion = h & mascara;
+        K actual;
+        while ((actual = llaves[posicion]) != null) {
+            if (hashes[posicion] == h && (actual == key || actual.compareTo(key) == 0)) {
+                return posicion;
+            }
+            posicion = (posicion + 1) & mascara;
+        }
+        return -1;
+    }
+
+    @Override
+    public void poner(K key, V value) {
+        int h = mezclar(key.hashCode());
+        int posicion = h & mascara;
+        K actual;
+        while ((actual = llaves[posicion]) != null) {
+            if (hashes[posicion] == h && (actual == key || actual.compareTo(key) == 0)) {
+                valores[posicion] = value;
+                return;
+            }
+            posicion = (posicion + 1) & mascara;
+        }
+
+        llaves[posicion] = key;
+        valores[posicion] = value;
+        hashes[posicion] = h;
+        tamanoAct++;
+
+        if (tamanoAct > umbral) {
+            rehash();
+        }
+    }
+
+    @Override
+    public V obtener(K key) {
+        int posicion = buscar(key, mezclar(key.hashCode()));
+        return posicion == -1 ? null : valores[posicion];
+    }
+
+    @Override
+    public boolean contiene(K key) {
+        return buscar(key, mezclar(key.hashCode())) != -1;
+    }
+
+    @Override
+    public void eliminar(K key) {
+        int libre = buscar(key, mezclar(key.hashCode()));
+        if (libre == -1) {
+            return;
+        }
+
+        int siguiente = libre;
+        while (true) {
+            siguiente = (siguiente + 1) & mascara;
+            if (llaves[siguiente] == null) {
+                break;
+            }
+            int ideal = hashes[siguiente] & mascara;
+            // Se mueve al hueco solo si su posición ideal no queda entre el hueco y su posición actual.
+            if (((siguiente - ideal) & mascara) >= ((siguiente - libre) & mascara)) {
+                llaves[libre] = llaves[siguiente];
+                valores[libre] = valores[siguiente];
+                hashes[libre] = hashes[siguiente];
+                libre = siguiente;
+            }
+        }
+
+        llaves[libre] = null;
+        valores[libre] = null;
+        hashes[libre] = 0;
+        tamanoAct--;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return tamanoAct == 0;
+    }
+
+    @Override
+    public int size() {
+        return tamanoAct;
+    }
+
+    @Override
+    public ILista<K> keySet() {
+        ArregloDinamico<K> lista = new ArregloDinamico<>(Math.max(tamanoAct, 1));
+        for (int i = 0; i < llaves.length; i++) {
+            if (llaves[i] != null) {
+                lista.addLast(llaves[i]);
+            }
+        }
+        return lista;
+    }
+
+    @Override
+    public ILista<V> valueSet() {
+        ArregloDinamico<V> lista = new ArregloDinamico<>(Math.max(tamanoAct, 1));
+        for (int i = 0; i < llaves.length; i++) {
+            if (llaves[i] != null) {
+                lista.addLast(valores[i]);
+            }
+        }
+        return lista;
+    }
+
+    public ILista<NodoTS<K, V>> darListaNodos() {
+        ArregloDinamico<NodoTS<K, V>> nodos = new ArregloDinamico<>(Math.max(tamanoAct, 1));
+        for (int i = 0; i < llaves.length; i++) {
+            if (llaves[i] != null) {
+                nodos.addLast(new NodoTS<>(llaves[i], valores[i]));
+            }
+        }
+        return nodos;
+    }
+
+    /**
+     * Duplica la capacidad y reubica las entradas usando los hash guardados, sin volver a llamar
+     * hashCode() ni crear nodos.
+     */
+    private void rehash() {
+        K[] viejasLlaves = llaves;
+        V[] viejosValores = valores;
+        int[] viejosHashes = hashes;
+
+        inicializar(viejasLlaves.length << 1);
+
+        for (int i = 0; i < viejasLlaves.length; i++) {
+            if (viejasLlaves[i] != null) {
+                int posicion = viejosHashes[i] & mascara;
+                while (llaves[posicion] != null) {
+                    posicion = (posicion + 1) & mascara;
+                }
+                llaves[posicion] = viejasLlaves[i];
+                valores[posicion] = viejosValores[i];
+                hashes[posicion] = viejosHashes[i];
+            }
+        }
+
+        cantidadRehash++;
+    }
+
+    public int darMinicial() {
+        return minicial;
+    }
+
+    public int darMfinal() {
+        return llaves.length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder retorno = new StringBuilder();
+        retorno.append("La cantidad de duplas: ").append(tamanoAct);
+        retorno.append("\nEl m inicial es: ").append(minicial);
+        retorno.append("\nEl m final es: ").append(llaves.length);
+        retorno.append("\nLa cantidad de rehash es: ").append(cantidadRehash);
+        return retorno.toString();
+    }
+}
@@ -76,24 +76,22 @@ public class TablaHashSeparteChaining<K extends Comparable<K>, V extends Compara
     }
 
     @Override
-    public V eliminar(K key) {
-        V retornar = null;
+    public void eliminar(K key) {
         int posicion = hash(key);
         try {
             ILista<NodoTS<K, V>> listasc = listaNodos.getElement(posicion);
             if (listasc != null) {
-                for (int i = 1; i <= listasc.size() && retornar == null; i++) {
+                for (int i = 1; i <= listasc.size(); i++) {
                     if (listasc.getElement(i).getKey().compareTo(key) == 0) {
-                        retornar = listasc.getElement(i).getValue();
                         listasc.deleteElement(i);
+                        tamanoAct--;
+                        return;
                     }
                 }
             }
         } catch (PosException | VacioException e) {
             e.printStackTrace();
         }
-        tamanoAct--;
-        return retornar;
     }
 
     @Override
@@ -153,7 +151,6 @@ public class TablaHashSeparteChaining<K extends Comparable<K>, V extends Compara
         return lista;
     }
 
-    @Override
     public ILista<NodoTS<K, V>> darListaNodos() {
         ILista<NodoTS<K, V>> nodos = new ArregloDinamico<>(1);
         try {
@@ -175,7 +172,6 @@ public class TablaHashSeparteChaining<K extends Comparable<K>, V extends Compara
         return nodos;
     }
 
-    @Override
     public int hash(K key) {
         return Math.abs(key.hashCode() % tamanoTabla) + 1;
     }
@@ -197,7 +193,7 @@ public class TablaHashSeparteChaining<K extends Comparable<K>, V extends Compara
             NodoTS<K, V> actual = null;
             for (int i = 1; i <= nodos.size(); i++) {
                 actual = nodos.getElement(i);
-                put(actual.getKey(), actual.getValue());
+                poner(actual.getKey(), actual.getValue());
             }
         } catch (NullException | VacioException | PosException e) {
             e.printStackTrace();
@@ -7,10 +7,11 @@ public class TablaSimbolos <K extends Comparable<K>, V extends Comparable <V>> i
 
 	public TablaSimbolos()
 	{
-		listaNodos= new ArregloDinamico(1);
+		listaNodos= new ArregloDinamico<>(1);
 	}
 
-	public void put(K key, V value) 
+	@Override
+	public void poner(K key, V value) 
 	{
 		NodoTS<K, V> agregar = new NodoTS<K, V>(key, value);
 		try 
@@ -25,7 +26,7 @@ public class TablaSimbolos <K extends Comparable<K>, V extends Comparable <V>> i
 	}
 
 	@Override
-	public V get(K key) 
+	public V obtener(K key) 
 	{
 		
 		int i = 1;
@@ -59,44 +60,48 @@ public class TablaSimbolos <K extends Comparable<K>, V extends Comparable <V>> i
 	}
 
 	@Override
-	public V remove(K key) 
+	public void eliminar(K key) 
 	{
-		V eliminado1=null;
-		try 
+		int pos= posicion(key);
+		if(pos>0)
 		{
-			int pos= listaNodos.isPresent((NodoTS<K, V>) get(key));
-			eliminado1=listaNodos.getElement(pos).getValue();
-			listaNodos.deleteElement(pos);
-		} 
-		catch (VacioException | NullException | PosException e) 
-		{
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+			try 
+			{
+				listaNodos.deleteElement(pos);
+			} 
+			catch (PosException | VacioException e) 
+			{
+				e.printStackTrace();
+			}
 		}
-
-		return eliminado1; 
 	}
 
 	@Override
-	public boolean contains(K key) 
+	public boolean contiene(K key) 
 	{
-		boolean respuesta=false;
-		int pos=-1;
-		try 
-		{
-			pos = listaNodos.isPresent((NodoTS<K, V>) get(key));
-		} 
-		catch (VacioException | NullException | PosException e) 
-		{
-			// TODO Auto-generated catch block
-			e.printStackTrace();
-		}
+		return posicion(key)>0;
+	}
 
-		if (pos>0)
+	/**
+	 * Posición (desde 1) de la llave en la lista de nodos, o -1 si no está.
+	 */
+	private int posicion(K key)
+	{
+		for (int i=1; i<= size(); i++)
 		{
-			respuesta=true;
+			try 
+			{
+				if(listaNodos.getElement(i).getKey().compareTo(key)==0)
+				{
+					return i;
+				}
+			} 
+			catch (PosException | VacioException e) 
+			{
+				e.printStackTrace();
+			}
 		}
-		return respuesta;
+		return -1;
 	}
 
 	@Override
@@ -114,7 +119,7 @@ public class TablaSimbolos <K extends Comparable<K>, V extends Comparable <V>> i
 	@Override
 	public ILista<K> keySet() 
 	{
-		ILista<K> lista= new ArregloDinamico(1);
+		ILista<K> lista= new ArregloDinamico<>(1);
 		for (int i=1; i<= size(); i++)
 		{
 			try 
@@ -133,7 +138,7 @@ public class TablaSimbolos <K extends Comparable<K>, V extends Comparable <V>> i
 	@Override
 	public ILista<V> valueSet() 
 	{
-		ILista<V> lista= new ArregloDinamico(1);
+		ILista<V> lista= new ArregloDinamico<>(1);
 		for (int i=1; i<= size(); i++)
 		{
 			try 
@@ -158,16 +163,4 @@ public class TablaSimbolos <K extends Comparable<K>, V extends Comparable <V>> i
 	{
 		return listaNodos;
 	}
-
-	@Override
-	public ILista<NodoTS<K, V>> darListaNodos() {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public int hash(K key) {
-		// TODO Auto-generated method stub
-		return 0;
-	}
 }
@@ -0,0 +1,25 @@
+package model.data_structures;
+
+/**
+ * Elemento con posición geográfica en grados.
+ */
+public interface Ubicable {
+
+    double RADIO_TIERRA_KM = 6371;
+
+    double getLatitude();
+
+    double getLongitude();
+
+    /**
+     * Distancia sobre la superficie terrestre (haversine) en kilómetros, sin redondear.
+     */
+    static double distanciaKm(Ubicable a, Ubicable b) {
+        double lat1 = Math.toRadians(a.getLatitude());
+        double lat2 = Math.toRadians(b.getLatitude());
+        double sinlat = Math.sin((lat2 - lat1) / 2);
+        double sinlon = Math.sin(Math.toRadians(b.getLongitude() - a.getLongitude()) / 2);
+        double h = sinlat * sinlat + Math.cos(lat1) * Math.cos(lat2) * sinlon * sinlon;
+        return 2 * RADIO_TIERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(h)));
+    }
+}
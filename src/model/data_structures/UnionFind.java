@@ -0,0 +1,90 @@
+package model.data_structures;
+
+import java.util.Arrays;
+
+/**
+ * Union-find secuencial sobre los índices 0..size()-1, con unión por tamaño y compresión de
+ * caminos a la mitad. Crece con agregar(), así que puede seguir a un grafo al que se le insertan
+ * vértices. Para uniones desde varios hilos a la vez está UnionFindConcurrente.
+ */
+public class UnionFind {
+
+    private int[] padres;
+    private int[] tamanos;
+    private int cantidad;
+    private int conjuntos;
+
+    public UnionFind(int n) {
+        padres = new int[Math.max(n, 1)];
+        tamanos = new int[padres.length];
+        for (int i = 0; i < n; i++) {
+            agregar();
+        }
+    }
+
+    public int size() {
+        return cantidad;
+    }
+
+    /**
+     * Agrega un elemento en un conjunto propio.
+     *
+     * @return índice del nuevo elemento (el anterior size()).
+     */
+    public int agregar() {
+        if (cantidad == padres.length) {
+            padres = Arrays.copyOf(padres, cantidad * 2);
+            tamanos = Arrays.copyOf(tamanos, cantidad * 2);
+        }
+        padres[cantidad] = cantidad;
+        tamanos[cantidad] = 1;
+        conjuntos++;
+        return cantidad++;
+    }
+
+    /**
+     * @return cantidad de conjuntos disjuntos.
+     */
+    public int darConjuntos() {
+        return conjuntos;
+    }
+
+    public int find(int x) {
+        while (padres[x] != x) {
+            padres[x] = padres[padres[x]];
+            x = padres[x];
+        }
+        return x;
+    }
+
+    /**
+     * @return true si a y b estaban en conjuntos distintos y este llamado los unió.
+     */
+    public boolean union(int a, int b) {
+        int raizA = find(a);
+        int raizB = find(b);
+        if (raizA == raizB) {
+            return false;
+        }
+        if (tamanos[raizA] < tamanos[raizB]) {
+            int temp = raizA;
+            raizA = raizB;
+            raizB = temp;
+        }
+        padres[raizB] = raizA;
+        tamanos[raizA] += tamanos[raizB];
+        conjuntos--;
+        return true;
+    }
+
+    public boolean conectados(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * @return cantidad de elementos en el conjunto de x.
+     */
+    public int tamanoConjunto(int x) {
+        return tamanos[find(x)];
+    }
+}
@@ -0,0 +1,74 @@
+package model.data_structures;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Union-find sin candados sobre los índices 0..n-1. Cada posición guarda el padre del elemento
+ * en un AtomicIntegerArray; union enlaza la raíz de mayor índice debajo de la de menor índice con
+ * compareAndSet y reintenta si otro hilo cambió esa raíz entre tanto. find comprime los caminos a
+ * la mitad (cada nodo pasa a apuntar a su abuelo), lo que es seguro con varios hilos porque solo
+ * acorta caminos que siguen llevando a la misma raíz.
+ */
+public class UnionFindConcurrente {
+
+    private final AtomicIntegerArray padres;
+
+    public UnionFindConcurrente(int n) {
+        padres = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            padres.set(i, i);
+        }
+    }
+
+    public int size() {
+        return padres.length();
+    }
+
+    public int find(int x) {
+        int padre;
+        while ((padre = padres.get(x)) != x) {
+            int abuelo = padres.get(padre);
+            if (abuelo != padre) {
+                padres.compareAndSet(x, padre, abuelo);
+            }
+            x = abuelo;
+        }
+        return x;
+    }
+
+    /**
+     * @return true si a y b estaban en conjuntos distintos y este llamado los unió.
+     */
+    public boolean union(int a, int b) {
+        while (true) {
+            int raizA = find(a);
+            int raizB = find(b);
+            if (raizA == raizB) {
+                return false;
+            }
+            if (raizA < raizB) {
+                int temp = raizA;
+                raizA = raizB;
+                raizB = temp;
+            }
+            // Solo una raíz puede cambiar de padre; si ya no lo es, se vuelve a buscar
+            if (padres.compareAndSet(raizA, raizA, raizB)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean conectados(int a, int b) {
+        while (true) {
+            int raizA = find(a);
+            int raizB = find(b);
+            if (raizA == raizB) {
+                return true;
+            }
+            // Si raizA sigue siendo raíz, no hubo una unión concurrente que invalide la respuesta
+            if (padres.get(raizA) == raizA) {
+                return false;
+            }
+        }
+    }
+}
@@ -2,6 +2,8 @@ package model.data_structures;
 
 public class VacioException extends Exception
 {
+	private static final long serialVersionUID = 1L;
+
 	public VacioException(String causa)
 	{
 		super(causa);
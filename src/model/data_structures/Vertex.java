@@ -1,13 +1,18 @@
 package model.data_structures;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.function.Consumer;
 
 public class Vertex<K extends Comparable<K>, V extends Comparable<V>> implements Comparable<Vertex<K, V>> {
 
     private K key;
     private V value;
-    private ILista<Edge<K, V>> arcos;
-    private boolean marked;
+    private ArregloDinamico<Edge<K, V>> arcos;
+    private int indice;
 
     public Vertex(K id, V value) {
         this.key = id;
@@ -23,24 +28,37 @@ public class Vertex<K extends Comparable<K>, V extends Comparable<V>> implements
         return value;
     }
 
-    public boolean getMark() {
-        return marked;
+    /**
+     * Posición densa (desde 0) del vértice dentro del grafo que lo contiene.
+     */
+    public int getIndice() {
+        return indice;
     }
 
-    public void addEdge(Edge<K, V> edge) {
-        try {
-            arcos.insertElement(edge, arcos.size() + 1);
-        } catch (PosException | NullException e) {
-            e.printStackTrace();
-        }
+    void setIndice(int indice) {
+        this.indice = indice;
     }
 
-    public void mark() {
-        marked = true;
+    public void addEdge(Edge<K, V> edge) {
+        arcos.addLast(edge);
+        edge.setPosicionAdyacencia(arcos.size());
     }
 
-    public void unmark() {
-        marked = false;
+    /**
+     * Quita el arco en O(1) con la posición que guarda: el último arco de la lista pasa a ocupar su
+     * lugar. El orden de los arcos del vértice cambia.
+     */
+    void quitarArco(Edge<K, V> edge) {
+        int posicion = edge.getPosicionAdyacencia();
+        arcos.eliminarIntercambiando(posicion);
+        if (posicion <= arcos.size()) {
+            try {
+                arcos.getElement(posicion).setPosicionAdyacencia(posicion);
+            } catch (PosException | VacioException e) {
+                e.printStackTrace();
+            }
+        }
+        edge.setPosicionAdyacencia(0);
     }
 
     public int outdegree() {
@@ -52,27 +70,18 @@ public class Vertex<K extends Comparable<K>, V extends Comparable<V>> implements
     }
 
     public Edge<K, V> getEdge(K vertex) {
-        Edge<K, V> retorno = null;
-        for (int i = 1; i <= arcos.size(); i++) {
-            try {
-                if (arcos.getElement(i).getDestination().getId().compareTo(vertex) == 0) {
-                    retorno = arcos.getElement(i);
-                }
-            } catch (PosException | VacioException e) {
-                e.printStackTrace();
+        for (Edge<K, V> arco : arcos) {
+            if (arco.getDestination().getId().compareTo(vertex) == 0) {
+                return arco;
             }
         }
-        return retorno;
+        return null;
     }
 
     public ILista<Vertex<K, V>> vertices() {
-        ILista<Vertex<K, V>> retorno = new ArregloDinamico<>(1);
-        for (int i = 1; i <= arcos.size(); i++) {
-            try {
-                retorno.insertElement(arcos.getElement(i).getDestination(), retorno.size() + 1);
-            } catch (PosException | NullException | VacioException e) {
-                e.printStackTrace();
-            }
+        ILista<Vertex<K, V>> retorno = new ArregloDinamico<>(Math.max(arcos.size(), 1));
+        for (Edge<K, V> arco : arcos) {
+            retorno.addLast(arco.getDestination());
         }
         return retorno;
     }
@@ -81,61 +90,84 @@ public class Vertex<K extends Comparable<K>, V extends Comparable<V>> implements
         return arcos;
     }
 
-    public void bfs() throws NullException, PosException {
+    public void bfs(BitSet marcados) throws NullException, PosException {
         ColaEncadenada<Vertex<K, V>> cola = new ColaEncadenada<>();
-        mark();
+        marcados.set(indice);
         cola.enqueue(this);
-        while (cola.peek() != null) {
+        while (!cola.isEmpty()) {
             Vertex<K, V> actual = cola.dequeue();
-            for (int i = 1; i <= actual.arcos.size(); i++) {
-                Vertex<K, V> dest;
-                try {
-                    dest = actual.edges().getElement(i).getDestination();
-                    if (dest.marked) {
-                        mark();
-                        cola.enqueue(dest);
-                    }
-                } catch (PosException | VacioException e) {
-                    e.printStackTrace();
+            for (Edge<K, V> arco : actual.arcos) {
+                Vertex<K, V> dest = arco.getDestination();
+                if (!marcados.get(dest.indice)) {
+                    marcados.set(dest.indice);
+                    cola.enqueue(dest);
                 }
             }
         }
     }
 
-    public void dfs(Edge<K, V> edgeTo) {
-        mark();
-        for (int i = 1; i <= arcos.size(); i++) {
-            Vertex<K, V> dest;
-            try {
-                dest = arcos.getElement(i).getDestination();
-                if (!dest.marked) {
-                    dest.dfs(arcos.getElement(i));
-                }
-            } catch (PosException | VacioException e) {
-                e.printStackTrace();
-            }
-        }
+    /**
+     * Recorrido en profundidad desde este vértice con pila explícita. Los vértices visitados se
+     * marcan en el BitSet por su índice, así que no se toca el estado de los vértices.
+     */
+    public void dfs(BitSet marcados) {
+        recorrerProfundidad(marcados, null, null);
+    }
+
+    public void topologicalOrder(BitSet marcados, ColaEncadenada<Vertex<K, V>> pre, ColaEncadenada<Vertex<K, V>> post, PilaEncadenada<Vertex<K, V>> reversePost) {
+        recorrerProfundidad(marcados, actual -> encolar(pre, actual), actual -> {
+            encolar(post, actual);
+            reversePost.push(actual);
+        });
     }
 
-    public void topologicalOrder(ColaEncadenada<Vertex<K, V>> pre, ColaEncadenada<Vertex<K, V>> post, PilaEncadenada<Vertex<K, V>> reversePost) throws NullException {
-        mark();
-        pre.enqueue(this);
+    private void encolar(ColaEncadenada<Vertex<K, V>> cola, Vertex<K, V> vertice) {
+        try {
+            cola.enqueue(vertice);
+        } catch (NullException e) {
+            e.printStackTrace();
+        }
+    }
 
-        for (int i = 1; i <= arcos.size(); i++) {
-            Vertex<K, V> destino;
-            try {
-                destino = arcos.getElement(i).getDestination();
-                if (!destino.getMark()) {
-                    destino.topologicalOrder(pre, post, reversePost);
+    /**
+     * Recorrido en profundidad iterativo. Cada nivel de la pila guarda el vértice y el iterador de
+     * sus arcos pendientes, de modo que alSalir se llama en el mismo orden que en la versión
+     * recursiva (postorden).
+     *
+     * @param alEntrar se llama al marcar cada vértice; puede ser null.
+     * @param alSalir se llama cuando se terminan los arcos del vértice; puede ser null.
+     */
+    private void recorrerProfundidad(BitSet marcados, Consumer<Vertex<K, V>> alEntrar, Consumer<Vertex<K, V>> alSalir) {
+        ArrayDeque<Vertex<K, V>> pila = new ArrayDeque<>();
+        ArrayDeque<Iterator<Edge<K, V>>> pendientes = new ArrayDeque<>();
+
+        marcados.set(indice);
+        if (alEntrar != null) {
+            alEntrar.accept(this);
+        }
+        pila.push(this);
+        pendientes.push(arcos.iterator());
+
+        while (!pila.isEmpty()) {
+            Iterator<Edge<K, V>> arcosPendientes = pendientes.peek();
+            if (arcosPendientes.hasNext()) {
+                Vertex<K, V> dest = arcosPendientes.next().getDestination();
+                if (!marcados.get(dest.indice)) {
+                    marcados.set(dest.indice);
+                    if (alEntrar != null) {
+                        alEntrar.accept(dest);
+                    }
+                    pila.push(dest);
+                    pendientes.push(dest.arcos.iterator());
+                }
+            } else {
+                pendientes.pop();
+                Vertex<K, V> terminado = pila.pop();
+                if (alSalir != null) {
+                    alSalir.accept(terminado);
                 }
-            } catch (PosException | VacioException e) {
-                e.printStackTrace();
             }
-
         }
-
-        post.enqueue(this);
-        reversePost.push(this);
     }
 
     @Override
@@ -143,108 +175,106 @@ public class Vertex<K extends Comparable<K>, V extends Comparable<V>> implements
         return key.compareTo(o.getId());
     }
 
-    public void getSCC(ITablaSimbolos<K, Integer> tabla, int idComponente) {
-        mark();
-        tabla.poner(key, idComponente);
-        for (int i = 1; i <= arcos.size(); i++) {
-            Vertex<K, V> actual;
-            try {
-                actual = arcos.getElement(i).getDestination();
-                if (!actual.getMark()) {
-                    actual.getSCC(tabla, idComponente);
-                }
-            } catch (PosException | VacioException e) {
-                e.printStackTrace();
-            }
-        }
-    }
-
-    public ILista<Edge<K, V>> mstPrimLazy() {
+    public ILista<Edge<K, V>> mstPrimLazy(BitSet marcados) {
         ILista<Edge<K, V>> mst = new ArregloDinamico<>(1);
         MinPQ<Float, Edge<K, V>> cola = new MinPQ<>(1);
 
-        addEdgesToMinPQ(cola, this);
+        addEdgesToMinPQ(marcados, cola, this);
 
         while (!cola.isEmpty()) {
             Edge<K, V> actual = cola.delMin().getValue();
             Vertex<K, V> dest = actual.getDestination();
-            if (!dest.marked) {
-                try {
-                    mst.insertElement(actual, mst.size() + 1);
-                } catch (PosException | NullException e) {
-                    e.printStackTrace();
-                }
-                addEdgesToMinPQ(cola, dest);
+            if (!marcados.get(dest.indice)) {
+                mst.addLast(actual);
+                addEdgesToMinPQ(marcados, cola, dest);
             }
         }
         return mst;
     }
 
-    private void addEdgesToMinPQ(MinPQ<Float, Edge<K, V>> cola, Vertex<K, V> inicio) {
-        inicio.mark();
+    /**
+     * Prim con cola indexada desde este vértice: para cada vértice fuera del árbol la cola guarda
+     * solo el arco más liviano que lo une al árbol, así que nunca tiene más de V elementos.
+     * Los arreglos son del tamaño del grafo y se comparten entre árboles para armar un bosque.
+     *
+     * @param mst recibe los arcos en el orden en que entran al árbol.
+     */
+    void mstPrim(BitSet marcados, float[] distancias, Edge<K, V>[] arcosHacia, MinPQIndexadaDensa colaIndexada, ILista<Edge<K, V>> mst) {
+        distancias[indice] = 0f;
+        colaIndexada.insert(indice, 0f);
 
-        for (int i = 1; i <= inicio.edges().size(); i++) {
-            Edge<K, V> actual = null;
-            try {
-                actual = inicio.edges().getElement(i);
-            } catch (PosException | VacioException e) {
-                e.printStackTrace();
+        while (!colaIndexada.isEmpty()) {
+            int v = colaIndexada.delMin();
+            Vertex<K, V> actual = v == indice ? this : arcosHacia[v].getDestination();
+            if (v != indice) {
+                mst.addLast(arcosHacia[v]);
+            }
+            marcados.set(v);
+
+            for (Edge<K, V> arcoActual : actual.arcos) {
+                int destino = arcoActual.getDestination().indice;
+                if (!marcados.get(destino) && arcoActual.getWeight() < distancias[destino]) {
+                    distancias[destino] = arcoActual.getWeight();
+                    arcosHacia[destino] = arcoActual;
+                    colaIndexada.insertOrChange(destino, arcoActual.getWeight());
+                }
             }
-            cola.insert(actual.getWeight(), actual);
         }
     }
 
-    public static class ComparadorXKey implements Comparator<Vertex<String, Landing>> {
+    private void addEdgesToMinPQ(BitSet marcados, MinPQ<Float, Edge<K, V>> cola, Vertex<K, V> inicio) {
+        marcados.set(inicio.indice);
 
-        public int compare(Vertex vertice1, Vertex vertice2) {
-            return ((String) vertice1.getId()).compareToIgnoreCase((String) vertice2.getId());
+        for (Edge<K, V> actual : inicio.edges()) {
+            cola.insert(actual.getWeight(), actual);
         }
     }
 
-    public ITablaSimbolos<K, NodoTS<Float, Edge<K, V>>> minPathTree() {
-        ITablaSimbolos<K, NodoTS<Float, Edge<K, V>>> tablaResultado = new TablaHashLinearProbing<>(2);
-        MinPQIndexada<Float, K, Edge<K, V>> colaIndexada = new MinPQIndexada<>(20);
-
-        tablaResultado.poner(this.key, new NodoTS<>(0f, null));
+    public static class ComparadorXKey implements Comparator<Vertex<String, Landing>> {
 
-        relaxDijkstra(tablaResultado, colaIndexada, this, 0);
+        public int compare(Vertex<String, Landing> vertice1, Vertex<String, Landing> vertice2) {
+            return vertice1.getId().compareToIgnoreCase(vertice2.getId());
+        }
+    }
 
+    /**
+     * Árbol de rutas mínimas (Dijkstra) desde este vértice.
+     *
+     * @param numVertices cantidad de vértices del grafo; acota los índices de Vertex.getIndice().
+     * @return distancia acumulada y último arco de la ruta hacia cada vértice.
+     */
+    @SuppressWarnings("unchecked")
+    public ArbolRutaMinima<K, V> arbolRutaMinima(int numVertices) {
+        float[] distancias = new float[numVertices];
+        Edge<K, V>[] arcosHacia = (Edge<K, V>[]) new Edge<?, ?>[numVertices];
+        MinPQIndexadaDensa colaIndexada = new MinPQIndexadaDensa(numVertices);
+        BitSet terminados = new BitSet(numVertices);
+
+        Arrays.fill(distancias, Float.POSITIVE_INFINITY);
+        distancias[indice] = 0f;
+        colaIndexada.insert(indice, 0f);
+
+        Vertex<K, V> actual = this;
         while (!colaIndexada.isEmpty()) {
-            NodoTS<Float, Edge<K, V>> actual = colaIndexada.delMin();
-            Edge<K, V> arcoActual = actual.getValue();
-            float pesoActual = actual.getKey();
-            relaxDijkstra(tablaResultado, colaIndexada, arcoActual.getDestination(), pesoActual);
+            int v = colaIndexada.delMin();
+            actual = v == indice ? this : arcosHacia[v].getDestination();
+            relaxDijkstra(terminados, distancias, arcosHacia, colaIndexada, actual);
         }
 
-        return tablaResultado;
+        return new ArbolRutaMinima<>(this, distancias, arcosHacia);
     }
 
-    public void relaxDijkstra(ITablaSimbolos<K, NodoTS<Float, Edge<K, V>>> tablaResultado, MinPQIndexada<Float, K, Edge<K, V>> colaIndexada, Vertex<K, V> actual, float pesoAcumulado) {
-        actual.mark();
-        for (int i = 1; i <= actual.edges().size(); i++) {
-            Edge<K, V> arcoActual;
-            try {
-                arcoActual = actual.edges().getElement(i);
-                Vertex<K, V> destino = arcoActual.getDestination();
-                float peso = arcoActual.getWeight();
-                if (!destino.getMark()) {
-                    NodoTS<Float, Edge<K, V>> llegadaDestino = tablaResultado.get(destino.getId());
-
-                    if (llegadaDestino == null) {
-                        tablaResultado.poner(destino.getId(), new NodoTS<>(pesoAcumulado + peso, arcoActual));
-                        colaIndexada.insert(peso + pesoAcumulado, destino.getId(), arcoActual);
-
-                    } else if (llegadaDestino.getKey() > (pesoAcumulado + peso)) {
-                        llegadaDestino.setKey(pesoAcumulado + peso);
-                        llegadaDestino.setValue(arcoActual);
-                        colaIndexada.changePriority(destino.getId(), pesoAcumulado + peso, arcoActual);
-
-                    }
-                }
-            } catch (PosException | VacioException e) {
-                e.printStackTrace();
+    private void relaxDijkstra(BitSet terminados, float[] distancias, Edge<K, V>[] arcosHacia, MinPQIndexadaDensa colaIndexada, Vertex<K, V> actual) {
+        terminados.set(actual.indice);
+        float pesoAcumulado = distancias[actual.indice];
+        for (Edge<K, V> arcoActual : actual.arcos) {
+            Vertex<K, V> destino = arcoActual.getDestination();
+            float nuevoPeso = pesoAcumulado + arcoActual.getWeight();
+            if (!terminados.get(destino.indice) && nuevoPeso < distancias[destino.indice]) {
+                distancias[destino.indice] = nuevoPeso;
+                arcosHacia[destino.indice] = arcoActual;
+                colaIndexada.insertOrChange(destino.indice, nuevoPeso);
             }
-
         }
     }
 }
@@ -2,6 +2,8 @@ package model.data_structures;
 
 public class YaExisteException extends Exception
 {
+	private static final long serialVersionUID = 1L;
+
 	public YaExisteException(String causa)
 	{
 		super(causa);
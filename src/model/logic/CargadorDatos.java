@@ -0,0 +1,675 @@
+package model.logic;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import model.data_structures.ArregloDinamico;
+import model.data_structures.AtributosCables;
+import model.data_structures.Country;
+import model.data_structures.Edge;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.ILista;
+import model.data_structures.ITablaSimbolos;
+import model.data_structures.Landing;
+import model.data_structures.NullException;
+import model.data_structures.PosException;
+import model.data_structures.TablaHashPlana;
+import model.data_structures.VacioException;
+import model.data_structures.Vertex;
+
+/**
+ * Carga countries.csv, landing_points.csv y connections.csv en una sola pasada por archivo.
+ * Antes de leer cuenta las filas de cada archivo para dimensionar el grafo y las tablas, lee a
+ * través de canales NIO con buffer, comparte una sola instancia de cada cadena repetida (ids de
+ * cable, nombres de país, llaves de vértice) y mide el tiempo de carga de cada archivo.
+ *
+ * Sobre un modelo ya cargado también aplica archivos delta: filas de connections.csv o de
+ * landing_points.csv precedidas por una columna operacion con + (agregar) o - (eliminar).
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class CargadorDatos
+{
+	public static final String ARCHIVO_PAISES = "countries.csv";
+
+	public static final String ARCHIVO_LANDINGS = "landing_points.csv";
+
+	public static final String ARCHIVO_CONEXIONES = "connections.csv";
+
+	/**
+	 * Peso de los arcos que unen los vértices de un mismo landing point en cables distintos
+	 */
+	public static final float PESO_MISMO_LANDING = 100;
+
+	/**
+	 * Columna que indica en un archivo delta si la fila se agrega (+) o se elimina (-)
+	 */
+	public static final String COLUMNA_OPERACION = "operacion";
+
+	/**
+	 * Columna de connections.csv con la capacidad del cable en Tbps
+	 */
+	public static final String COLUMNA_CAPACIDAD = "capacityTBPS";
+
+	private static final int TAMANO_BUFFER = 1 << 16;
+
+	private final Path directorio;
+
+	private GrafoListaAdyacencia grafo;
+
+	private ITablaSimbolos paises;
+
+	private ITablaSimbolos points;
+
+	private ITablaSimbolos landingidtabla;
+
+	private ITablaSimbolos nombrecodigo;
+
+	private AtributosCables atributos;
+
+	private TablaHashPlana<String, String> internadas;
+
+	private StringBuilder reporte;
+
+	/**
+	 * En un delta los vértices nuevos se unen de inmediato con los de su mismo landing
+	 */
+	private boolean incremental;
+
+	private int agregadas;
+
+	private int eliminadas;
+
+	private int ignoradas;
+
+	/**
+	 * Filas de conexiones leídas sin capacidad o con una que no es un número
+	 */
+	private int sinCapacidad;
+
+	public CargadorDatos(String directorio)
+	{
+		this.directorio = Paths.get(directorio);
+	}
+
+	/**
+	 * Cargador que trabaja sobre un modelo ya cargado, para aplicarle deltas.
+	 */
+	public CargadorDatos(String directorio, GrafoListaAdyacencia grafo, ITablaSimbolos paises, ITablaSimbolos points, ITablaSimbolos landingidtabla, ITablaSimbolos nombrecodigo, AtributosCables atributos)
+	{
+		this(directorio);
+		this.grafo = grafo;
+		this.paises = paises;
+		this.points = points;
+		this.landingidtabla = landingidtabla;
+		this.nombrecodigo = nombrecodigo;
+		this.atributos = atributos;
+		this.internadas = new TablaHashPlana<>(1024);
+		this.reporte = new StringBuilder();
+		this.incremental = true;
+	}
+
+	public void cargar() throws IOException
+	{
+		reporte = new StringBuilder("Tiempos de carga:");
+
+		int filasPaises = contarFilas(directorio.resolve(ARCHIVO_PAISES));
+		int filasLandings = contarFilas(directorio.resolve(ARCHIVO_LANDINGS));
+		int filasConexiones = contarFilas(directorio.resolve(ARCHIVO_CONEXIONES));
+
+		// Cada conexión aporta a lo sumo dos vértices (landing + cable) además de las capitales
+		grafo = new GrafoListaAdyacencia(filasPaises + 2 * filasConexiones);
+		paises = new TablaHashPlana(filasPaises);
+		points = new TablaHashPlana(filasLandings);
+		landingidtabla = new TablaHashPlana(filasLandings);
+		nombrecodigo = new TablaHashPlana(filasLandings);
+		// connections.csv trae cada cable en los dos sentidos
+		atributos = new AtributosCables(filasConexiones / 2);
+		internadas = new TablaHashPlana<>(filasPaises + filasLandings + filasConexiones);
+
+		long inicio = System.nanoTime();
+		int leidas = cargarPaises();
+		registrarTiempo(ARCHIVO_PAISES, leidas, inicio);
+
+		inicio = System.nanoTime();
+		leidas = cargarLandings();
+		registrarTiempo(ARCHIVO_LANDINGS, leidas, inicio);
+
+		inicio = System.nanoTime();
+		sinCapacidad = 0;
+		leidas = cargarConexiones();
+		unirMismoLanding();
+		registrarTiempo(ARCHIVO_CONEXIONES, leidas, inicio);
+		registrarSinCapacidad();
+
+		// Las cadenas ya quedaron compartidas por los objetos cargados
+		internadas = null;
+	}
+
+	/**
+	 * Aplica un archivo delta al modelo. Las filas que no se pueden aplicar (landing desconocido,
+	 * arco o landing inexistente, operación inválida) se cuentan como ignoradas.
+	 */
+	public void aplicarDelta(Path archivo) throws IOException
+	{
+		long inicio = System.nanoTime();
+		agregadas = 0;
+		eliminadas = 0;
+		ignoradas = 0;
+		sinCapacidad = 0;
+
+		int leidas = 0;
+		try (Reader in = abrir(archivo))
+		{
+			CSVParser parser = CSVFormat.RFC4180.builder().setHeader().build().parse(in);
+			boolean conexiones = parser.getHeaderMap().containsKey("origin");
+			for (CSVRecord record : parser)
+			{
+				String operacion = record.get(COLUMNA_OPERACION).trim();
+				boolean aplicada;
+				if(operacion.equals("+"))
+				{
+					aplicada = conexiones ? agregarConexionDelta(record) : agregarLandingDelta(record);
+				}
+				else if(operacion.equals("-"))
+				{
+					aplicada = conexiones ? eliminarConexionDelta(record) : eliminarLandingDelta(record);
+				}
+				else
+				{
+					aplicada = false;
+				}
+
+				if(!aplicada)
+				{
+					ignoradas++;
+				}
+				leidas++;
+			}
+		}
+
+		long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+		reporte.append("Delta ").append(archivo.getFileName()).append(": ").append(leidas).append(" filas en ").append(milisegundos).append(" ms");
+		reporte.append("\n ").append(agregadas).append(" agregadas, ").append(eliminadas).append(" eliminadas, ").append(ignoradas).append(" ignoradas");
+		registrarSinCapacidad();
+	}
+
+	private boolean agregarConexionDelta(CSVRecord record)
+	{
+		Landing landing1= (Landing) points.obtener(record.get("origin"));
+		Landing landing2= (Landing) points.obtener(record.get("destination"));
+		if(landing1==null || landing2==null)
+		{
+			return false;
+		}
+		float capacidad= leerCapacidad(record);
+		registrarAtributos(agregarConexion(landing1, landing2, internar(record.get("cable_id")), capacidad), record, capacidad);
+		agregadas++;
+		return true;
+	}
+
+	private boolean eliminarConexionDelta(CSVRecord record)
+	{
+		String cableid= record.get("cable_id");
+		if(grafo.eliminarArco(record.get("origin") + cableid, record.get("destination") + cableid))
+		{
+			eliminadas++;
+			return true;
+		}
+		return false;
+	}
+
+	private boolean agregarLandingDelta(CSVRecord record)
+	{
+		String landingId= record.get("landing_point_id");
+		if(points.contiene(landingId))
+		{
+			return false;
+		}
+		points.poner(internar(landingId), leerLanding(record));
+		agregadas++;
+		return true;
+	}
+
+	/**
+	 * Quita el landing de las tablas y elimina sus vértices con todos sus arcos.
+	 */
+	private boolean eliminarLandingDelta(CSVRecord record)
+	{
+		String landingId= record.get("landing_point_id");
+		Landing landing= (Landing) points.obtener(landingId);
+		if(landing==null)
+		{
+			return false;
+		}
+
+		ILista vertices= (ILista) landingidtabla.obtener(landingId);
+		if(vertices!=null)
+		{
+			for(Object elemento : vertices)
+			{
+				grafo.eliminarVertice(((Vertex) elemento).getId());
+			}
+			landingidtabla.eliminar(landingId);
+		}
+
+		points.eliminar(landingId);
+		if(landingId.equals(nombrecodigo.obtener(landing.getName())))
+		{
+			nombrecodigo.eliminar(landing.getName());
+		}
+		eliminadas++;
+		return true;
+	}
+
+	/**
+	 * Lee las columnas por nombre para que sirva tanto con landing_points.csv como con un delta,
+	 * que trae la columna de operación antes.
+	 */
+	private Landing leerLanding(CSVRecord record)
+	{
+		String landingId= internar(record.get("landing_point_id"));
+		String id= record.get("id");
+		String[] x= record.get("name").split(", ");
+		String name= x[0];
+		String paisnombre= internar(x[x.length-1]);
+		double latitude= Double.parseDouble(record.get("latitude"));
+		double longitude= Double.parseDouble(record.get("longitude"));
+
+		return new Landing(landingId, id, name, paisnombre, latitude, longitude);
+	}
+
+	/**
+	 * Guarda nombre, id, capacidad, año RFS y dueños de la fila de connections.csv para el arco del cable.
+	 */
+	private void registrarAtributos(Edge cable, CSVRecord record, float capacidad)
+	{
+		String[] duenos= record.get("owners").split(",");
+		int cantidad= 0;
+		for(String dueno : duenos)
+		{
+			String limpio= dueno.trim();
+			if(!limpio.isEmpty())
+			{
+				duenos[cantidad++]= limpio;
+			}
+		}
+		atributos.agregar(cable, record.get("cable_name"), record.get("cable_id"), capacidad, leerRfs(record), Arrays.copyOf(duenos, cantidad));
+	}
+
+	/**
+	 * Año de la columna cable_rfs ("2021", "2021 June", "2023 Q3"); 0 si no trae año ("n.a.").
+	 */
+	private static int leerRfs(CSVRecord record)
+	{
+		String valor= record.get("cable_rfs").trim();
+		int fin= 0;
+		while(fin < valor.length() && Character.isDigit(valor.charAt(fin)))
+		{
+			fin++;
+		}
+		return fin==0 ? 0 : Integer.parseInt(valor.substring(0, fin));
+	}
+
+	/**
+	 * Capacidad en Tbps de la fila de connections.csv. Si falta o no es un número la capacidad es
+	 * desconocida: se devuelve infinito, que no limita el flujo máximo (igual que los arcos que no
+	 * son cables), y la fila se cuenta en el reporte. Nunca se toma como 0, que cortaría el cable.
+	 */
+	private float leerCapacidad(CSVRecord record)
+	{
+		if(record.isMapped(COLUMNA_CAPACIDAD))
+		{
+			try
+			{
+				float capacidad= Float.parseFloat(record.get(COLUMNA_CAPACIDAD).trim());
+				if(capacidad >= 0 && !Float.isNaN(capacidad))
+				{
+					return capacidad;
+				}
+			}
+			catch(NumberFormatException e)
+			{
+				// Se cuenta abajo como capacidad desconocida
+			}
+		}
+		sinCapacidad++;
+		return Float.POSITIVE_INFINITY;
+	}
+
+	private void registrarSinCapacidad()
+	{
+		if(sinCapacidad > 0)
+		{
+			reporte.append("\n ").append(sinCapacidad).append(" conexiones sin capacidad válida: se toman como capacidad desconocida (no limitan el ancho de banda ni pasan un filtro de capacidad mínima)");
+		}
+	}
+
+	private int cargarPaises() throws IOException
+	{
+		int leidas = 0;
+		try (Reader in = abrir(ARCHIVO_PAISES))
+		{
+			for (CSVRecord record : CSVFormat.RFC4180.builder().setHeader().build().parse(in))
+			{
+				if(!record.get(0).equals(""))
+				{
+					String countryName= internar(record.get(0));
+					String capitalName= internar(record.get(1));
+					double latitude= Double.parseDouble(record.get(2));
+					double longitude= Double.parseDouble(record.get(3));
+					String code= record.get(4);
+					String continentName= internar(record.get(5));
+					float population= Float.parseFloat(record.get(6).replace(".", ""));
+					double users= Double.parseDouble(record.get(7).replace(".", ""));
+
+					Country pais= new Country(countryName, capitalName, latitude, longitude, code, continentName, population, users);
+
+					insertarVertice(capitalName, pais);
+					paises.poner(countryName, pais);
+					leidas++;
+				}
+			}
+		}
+		return leidas;
+	}
+
+	private int cargarLandings() throws IOException
+	{
+		int leidas = 0;
+		try (Reader in = abrir(ARCHIVO_LANDINGS))
+		{
+			for (CSVRecord record : CSVFormat.RFC4180.builder().setHeader().build().parse(in))
+			{
+				Landing landing= leerLanding(record);
+				points.poner(landing.getLandingId(), landing);
+				leidas++;
+			}
+		}
+		return leidas;
+	}
+
+	private int cargarConexiones() throws IOException
+	{
+		int leidas = 0;
+		try (Reader in = abrir(ARCHIVO_CONEXIONES))
+		{
+			for (CSVRecord record : CSVFormat.RFC4180.builder().setHeader().build().parse(in))
+			{
+				Landing landing1= (Landing) points.obtener(record.get(0));
+				Landing landing2= (Landing) points.obtener(record.get(1));
+				if(landing1!=null && landing2!=null)
+				{
+					float capacidad= leerCapacidad(record);
+					registrarAtributos(agregarConexion(landing1, landing2, internar(record.get(3)), capacidad), record, capacidad);
+				}
+				leidas++;
+			}
+		}
+		return leidas;
+	}
+
+	/**
+	 * Agrega los vértices (landing + cable) de los dos extremos, los arcos hacia la capital de cada
+	 * país y el arco del cable entre ambos extremos, con la capacidad del cable.
+	 *
+	 * @return el arco del cable.
+	 */
+	Edge agregarConexion(Landing landing1, Landing landing2, String cableid, float capacidad)
+	{
+		String llave1= internar(landing1.getLandingId() + cableid);
+		String llave2= internar(landing2.getLandingId() + cableid);
+
+		agregarVerticeLanding(llave1, landing1);
+		agregarVerticeLanding(llave2, landing2);
+
+		Country pais1= buscarPais(landing1.getPais());
+		Country pais2= buscarPais(landing2.getPais());
+
+		if(pais1!=null)
+		{
+			Country capital1= capital(pais1);
+			float weight=Modelo.distancia(capital1.getLongitude(), capital1.getLatitude(), landing1.getLongitude(), landing1.getLatitude());
+			grafo.agregarArco(pais1.getCapitalName(), llave1, weight);
+		}
+
+		if(pais2!=null)
+		{
+			Country capital2= capital(pais2);
+			float weight2=Modelo.distancia(capital2.getLongitude(), capital2.getLatitude(), landing2.getLongitude(), landing2.getLatitude());
+			grafo.agregarArco(pais2.getCapitalName(), llave2, weight2);
+		}
+
+		float weight3=Modelo.distancia(landing1.getLongitude(), landing1.getLatitude(), landing2.getLongitude(), landing2.getLatitude());
+		Edge cable= grafo.obtenerArco(llave1, llave2);
+		if(cable==null)
+		{
+			grafo.agregarArco(llave1, llave2, weight3, capacidad);
+			cable= grafo.obtenerArco(llave1, llave2);
+		}
+		else
+		{
+			if(weight3 > cable.getWeight())
+			{
+				cable.setWeight(weight3);
+			}
+			cable.setCapacidad(AtributosCables.combinarCapacidad(cable.getCapacidad(), capacidad));
+		}
+		return cable;
+	}
+
+	private void agregarVerticeLanding(String llave, Landing landing)
+	{
+		if(!grafo.contieneVertice(llave))
+		{
+			insertarVertice(llave, landing);
+
+			ILista vertices= (ILista) landingidtabla.obtener(landing.getLandingId());
+			if(vertices==null)
+			{
+				vertices= new ArregloDinamico(2);
+				landingidtabla.poner(landing.getLandingId(), vertices);
+			}
+			Vertex nuevo= grafo.obtenerVertice(llave);
+			if(incremental)
+			{
+				// En la carga completa unirMismoLanding hace esto al final para todos los pares
+				for(Object elemento : vertices)
+				{
+					grafo.agregarArco(((Vertex) elemento).getId(), llave, PESO_MISMO_LANDING);
+				}
+			}
+			vertices.addLast(nuevo);
+
+			if(!nombrecodigo.contiene(landing.getName()))
+			{
+				nombrecodigo.poner(landing.getName(), landing.getLandingId());
+			}
+		}
+	}
+
+	/**
+	 * Une con un arco de peso PESO_MISMO_LANDING cada par de vértices que comparten landing point.
+	 */
+	private void unirMismoLanding()
+	{
+		for(Object elemento : landingidtabla.valueSet())
+		{
+			ILista vertices= (ILista) elemento;
+			for(int i=1; i<=vertices.size(); i++)
+			{
+				for(int j=i+1; j<=vertices.size(); j++)
+				{
+					try
+					{
+						Vertex vertice1= (Vertex) vertices.getElement(i);
+						Vertex vertice2= (Vertex) vertices.getElement(j);
+						grafo.agregarArco(vertice1.getId(), vertice2.getId(), PESO_MISMO_LANDING);
+					}
+					catch(PosException | VacioException e)
+					{
+						e.printStackTrace();
+					}
+				}
+			}
+		}
+	}
+
+	private Country buscarPais(String nombre)
+	{
+		Country pais= (Country) paises.obtener(nombre);
+		if(pais==null && nombre.equals("Côte d'Ivoire"))
+		{
+			pais= (Country) paises.obtener("Cote d'Ivoire");
+		}
+		return pais;
+	}
+
+	/**
+	 * País guardado en el vértice de la capital. Varios países comparten nombre de capital
+	 * (Oranjestad) y el vértice conserva solo uno; el peso del arco se mide desde ese, que es la
+	 * ubicación que usa la cota de A*.
+	 */
+	private Country capital(Country pais)
+	{
+		Vertex vertice= grafo.obtenerVertice(pais.getCapitalName());
+		return vertice!=null && vertice.getInfo() instanceof Country ? (Country) vertice.getInfo() : pais;
+	}
+
+	private void insertarVertice(String llave, Comparable info)
+	{
+		try
+		{
+			grafo.insertarVertice(llave, info);
+		}
+		catch(PosException | NullException e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	private String internar(String cadena)
+	{
+		String existente= internadas.obtener(cadena);
+		if(existente==null)
+		{
+			internadas.poner(cadena, cadena);
+			existente= cadena;
+		}
+		return existente;
+	}
+
+	private Reader abrir(String archivo) throws IOException
+	{
+		return abrir(directorio.resolve(archivo));
+	}
+
+	/**
+	 * Los bytes que no son UTF-8 válido se reemplazan por U+FFFD en lugar de abortar la carga
+	 * completa por un solo carácter dañado.
+	 */
+	private Reader abrir(Path archivo) throws IOException
+	{
+		FileChannel canal= FileChannel.open(archivo, StandardOpenOption.READ);
+		CharsetDecoder decodificador= StandardCharsets.UTF_8.newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+		return new BufferedReader(Channels.newReader(canal, decodificador, TAMANO_BUFFER), TAMANO_BUFFER);
+	}
+
+	/**
+	 * Cuenta los saltos de línea del archivo leyendo bloques directamente del canal, sin decodificar.
+	 * @return cantidad de filas de datos (sin el encabezado)
+	 */
+	static int contarFilas(Path archivo) throws IOException
+	{
+		int lineas= 0;
+		try (FileChannel canal= FileChannel.open(archivo, StandardOpenOption.READ))
+		{
+			ByteBuffer buffer= ByteBuffer.allocateDirect(TAMANO_BUFFER);
+			while(canal.read(buffer)!=-1)
+			{
+				buffer.flip();
+				while(buffer.hasRemaining())
+				{
+					if(buffer.get()=='\n')
+					{
+						lineas++;
+					}
+				}
+				buffer.clear();
+			}
+		}
+		return Math.max(lineas, 1);
+	}
+
+	private void registrarTiempo(String archivo, int filas, long inicio)
+	{
+		long milisegundos= (System.nanoTime() - inicio) / 1_000_000;
+		reporte.append("\n ").append(archivo).append(": ").append(filas).append(" filas en ").append(milisegundos).append(" ms");
+	}
+
+	public GrafoListaAdyacencia darGrafo()
+	{
+		return grafo;
+	}
+
+	public ITablaSimbolos darPaises()
+	{
+		return paises;
+	}
+
+	public ITablaSimbolos darPoints()
+	{
+		return points;
+	}
+
+	public ITablaSimbolos darLandingIdTabla()
+	{
+		return landingidtabla;
+	}
+
+	public AtributosCables darAtributos()
+	{
+		return atributos;
+	}
+
+	public ITablaSimbolos darNombreCodigo()
+	{
+		return nombrecodigo;
+	}
+
+	public int darAgregadas()
+	{
+		return agregadas;
+	}
+
+	public int darEliminadas()
+	{
+		return eliminadas;
+	}
+
+	public int darIgnoradas()
+	{
+		return ignoradas;
+	}
+
+	public String darReporte()
+	{
+		return reporte.toString();
+	}
+}
@@ -0,0 +1,172 @@
+package model.logic;
+
+import java.util.Arrays;
+
+import model.data_structures.ArregloDinamico;
+import model.data_structures.Country;
+import model.data_structures.Edge;
+import model.data_structures.ILista;
+import model.data_structures.ITablaSimbolos;
+import model.data_structures.Landing;
+import model.data_structures.Vertex;
+
+/**
+ * Países afectados si falla un landing point (req5), cada uno con la distancia de su capital al
+ * landing por el que queda conectado. Se calcula sin escribir nada en los Country compartidos y
+ * no cambia después de creado, así que se pueden calcular muchos a la vez desde distintos hilos.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public final class ImpactoFalla
+{
+	private final String landingId;
+
+	private final String nombre;
+
+	private final Country[] paises;
+
+	private final double[] distancias;
+
+	private ImpactoFalla(String landingId, String nombre, Country[] paises, double[] distancias)
+	{
+		this.landingId= landingId;
+		this.nombre= nombre;
+		this.paises= paises;
+		this.distancias= distancias;
+	}
+
+	/**
+	 * Afectados: el país del landing y el de cada landing vecino de alguno de sus vértices. Si un
+	 * país aparece varias veces se queda con la menor distancia. Quedan ordenados por distancia.
+	 *
+	 * @param vertices vértices del landing (una entrada de landingidtabla)
+	 * @param paisesPorNombre tabla nombre del país -> Country
+	 */
+	public static ImpactoFalla calcular(String landingId, ILista vertices, ITablaSimbolos paisesPorNombre)
+	{
+		Country[] afectados= new Country[8];
+		double[] distancias= new double[8];
+		int cantidad= 0;
+		Landing landing= null;
+
+		for(Object elemento : vertices)
+		{
+			Vertex vertice= (Vertex) elemento;
+			if(landing==null)
+			{
+				landing= (Landing) vertice.getInfo();
+				Country propio= (Country) paisesPorNombre.obtener(landing.getPais());
+				if(propio!=null)
+				{
+					afectados[0]= propio;
+					distancias[0]= distanciaCapital(propio, landing);
+					cantidad= 1;
+				}
+			}
+
+			for(Object objetoArco : vertice.edges())
+			{
+				Object info= ((Edge) objetoArco).getDestination().getInfo();
+				if(!(info instanceof Landing))
+				{
+					continue;
+				}
+				Landing vecino= (Landing) info;
+				Country pais= (Country) paisesPorNombre.obtener(vecino.getPais());
+				if(pais==null)
+				{
+					continue;
+				}
+
+				double distancia= distanciaCapital(pais, vecino);
+				int posicion= 0;
+				while(posicion<cantidad && afectados[posicion]!=pais)
+				{
+					posicion++;
+				}
+				if(posicion==cantidad)
+				{
+					if(cantidad==afectados.length)
+					{
+						afectados= Arrays.copyOf(afectados, cantidad*2);
+						distancias= Arrays.copyOf(distancias, cantidad*2);
+					}
+					afectados[cantidad]= pais;
+					distancias[cantidad]= distancia;
+					cantidad++;
+				}
+				else if(distancia<distancias[posicion])
+				{
+					distancias[posicion]= distancia;
+				}
+			}
+		}
+
+		// Son pocos países por landing; inserción sobre los dos arreglos a la vez
+		for(int i=1; i<cantidad; i++)
+		{
+			Country pais= afectados[i];
+			double distancia= distancias[i];
+			int j= i-1;
+			while(j>=0 && distancias[j]>distancia)
+			{
+				afectados[j+1]= afectados[j];
+				distancias[j+1]= distancias[j];
+				j--;
+			}
+			afectados[j+1]= pais;
+			distancias[j+1]= distancia;
+		}
+
+		String nombre= landing==null ? landingId : landing.getName();
+		return new ImpactoFalla(landingId, nombre, Arrays.copyOf(afectados, cantidad), Arrays.copyOf(distancias, cantidad));
+	}
+
+	private static double distanciaCapital(Country pais, Landing landing)
+	{
+		return Modelo.distancia(pais.getLongitude(), pais.getLatitude(), landing.getLongitude(), landing.getLatitude());
+	}
+
+	public String darLandingId()
+	{
+		return landingId;
+	}
+
+	public String darNombre()
+	{
+		return nombre;
+	}
+
+	public int darCantidadPaises()
+	{
+		return paises.length;
+	}
+
+	/**
+	 * @param i posición desde 1, en orden de distancia
+	 */
+	public Country darPais(int i)
+	{
+		return paises[i-1];
+	}
+
+	/**
+	 * @param i posición desde 1, en orden de distancia
+	 */
+	public double darDistancia(int i)
+	{
+		return distancias[i-1];
+	}
+
+	/**
+	 * @return copia de los países afectados en orden de distancia
+	 */
+	public ILista darPaises()
+	{
+		ILista lista= new ArregloDinamico(Math.max(paises.length, 1));
+		for(Country pais : paises)
+		{
+			lista.addLast(pais);
+		}
+		return lista;
+	}
+}
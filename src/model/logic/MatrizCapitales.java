@@ -0,0 +1,276 @@
+package model.logic;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+import model.data_structures.ArregloDinamico;
+import model.data_structures.Country;
+import model.data_structures.Edge;
+import model.data_structures.GrafoCSR;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.ILista;
+import model.data_structures.ITablaSimbolos;
+import model.data_structures.TablaHashPlana;
+
+/**
+ * Rutas mínimas precalculadas entre todas las capitales. Se corre un Dijkstra completo desde cada
+ * capital, repartidos entre los núcleos, y se guardan las distancias entre capitales en una matriz
+ * float C x C y, por cada capital de origen, la posición (en la instantánea CSR) del último arco de
+ * la ruta hacia cada vértice y el vértice de donde sale ese arco, en dos matrices int C x V. Con eso
+ * una ruta entre dos capitales se reconstruye recorriendo solo sus arcos.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class MatrizCapitales
+{
+	private static final int MAGICO = 0x49434D43;
+
+	public static final int VERSION = 2;
+
+	private final GrafoCSR grafo;
+
+	private final String[] capitales;
+
+	private final int[] verticesCapitales;
+
+	private final TablaHashPlana<String, Integer> filas;
+
+	private final float[] distancias;
+
+	private final int[] arcosHacia;
+
+	private final int[] padres;
+
+	private MatrizCapitales(GrafoCSR grafo, String[] capitales, int[] verticesCapitales, float[] distancias, int[] arcosHacia, int[] padres)
+	{
+		this.grafo= grafo;
+		this.capitales= capitales;
+		this.verticesCapitales= verticesCapitales;
+		this.distancias= distancias;
+		this.arcosHacia= arcosHacia;
+		this.padres= padres;
+		this.filas= new TablaHashPlana<>(capitales.length);
+		for(int i=0; i<capitales.length; i++)
+		{
+			filas.poner(capitales[i], i);
+		}
+	}
+
+	/**
+	 * Calcula la matriz para las capitales de paises que son vértices del grafo.
+	 */
+	public static MatrizCapitales calcular(GrafoListaAdyacencia grafo, ITablaSimbolos paises)
+	{
+		GrafoCSR csr= grafo.compactar();
+
+		// Varios países pueden compartir capital; cada capital ocupa una sola fila
+		TablaHashPlana<String, String> vistas= new TablaHashPlana<>(paises.size());
+		ArregloDinamico<String> nombres= new ArregloDinamico<>(Math.max(paises.size(), 1));
+		for(Object elemento : paises.valueSet())
+		{
+			String capital= ((Country) elemento).getCapitalName();
+			if(grafo.contieneVertice(capital) && !vistas.contiene(capital))
+			{
+				vistas.poner(capital, capital);
+				nombres.addLast(capital);
+			}
+		}
+
+		int c= nombres.size();
+		int n= csr.numVertices();
+		String[] capitales= new String[c];
+		int[] verticesCapitales= new int[c];
+		int i= 0;
+		for(String capital : nombres)
+		{
+			capitales[i]= capital;
+			verticesCapitales[i]= grafo.obtenerVertice(capital).getIndice();
+			i++;
+		}
+
+		float[] distancias= new float[c * c];
+		int[] arcosHacia= new int[c * n];
+		int[] padres= new int[c * n];
+
+		IntStream.range(0, c).parallel().forEach(fila -> 
+		{
+			float[] distTo= new float[n];
+			int[] arcoHacia= new int[n];
+			csr.arbolRutaMinima(verticesCapitales[fila], distTo, arcoHacia);
+			System.arraycopy(arcoHacia, 0, arcosHacia, fila * n, n);
+			// El padre de w es el vértice dueño del arco que llega a w; se encuentra recorriendo el CSR una vez
+			int desplazamiento= fila * n;
+			for(int v=0; v<n; v++)
+			{
+				padres[desplazamiento + v]= -1;
+			}
+			for(int u=0; u<n; u++)
+			{
+				for(int e=csr.inicioArcos(u); e<csr.finArcos(u); e++)
+				{
+					if(arcoHacia[csr.destino(e)]==e)
+					{
+						padres[desplazamiento + csr.destino(e)]= u;
+					}
+				}
+			}
+			for(int columna=0; columna<c; columna++)
+			{
+				distancias[fila * c + columna]= distTo[verticesCapitales[columna]];
+			}
+		});
+
+		return new MatrizCapitales(csr, capitales, verticesCapitales, distancias, arcosHacia, padres);
+	}
+
+	public int numCapitales()
+	{
+		return capitales.length;
+	}
+
+	public boolean contieneCapital(String capital)
+	{
+		return filas.contiene(capital);
+	}
+
+	/**
+	 * @return distancia mínima entre las dos capitales; infinito si no hay ruta.
+	 */
+	public float distancia(String capital1, String capital2)
+	{
+		return distancias[filas.obtener(capital1) * capitales.length + filas.obtener(capital2)];
+	}
+
+	/**
+	 * @return arcos de la ruta mínima de capital1 a capital2 en orden; vacía si no hay ruta o son la misma.
+	 */
+	public ILista ruta(String capital1, String capital2)
+	{
+		int fila= filas.obtener(capital1);
+		int destino= verticesCapitales[filas.obtener(capital2)];
+		int desplazamiento= fila * grafo.numVertices();
+
+		int longitud= 0;
+		for(int v=destino; arcosHacia[desplazamiento + v]!=-1; v=padres[desplazamiento + v])
+		{
+			longitud++;
+		}
+
+		int[] posiciones= new int[longitud];
+		for(int v=destino; arcosHacia[desplazamiento + v]!=-1; v=padres[desplazamiento + v])
+		{
+			posiciones[--longitud]= arcosHacia[desplazamiento + v];
+		}
+
+		ILista ruta= new ArregloDinamico(Math.max(posiciones.length, 1));
+		for(int posicion : posiciones)
+		{
+			ruta.addLast(grafo.arco(posicion));
+		}
+		return ruta;
+	}
+
+	/**
+	 * Escribe la matriz a un archivo temporal y luego reemplaza el destino.
+	 */
+	public void escribir(Path archivo) throws IOException
+	{
+		Path temporal= archivo.resolveSibling(archivo.getFileName() + ".tmp");
+		try (OutputStream salida= Files.newOutputStream(temporal);
+				DataOutputStream out= new DataOutputStream(new BufferedOutputStream(salida, 1 << 16)))
+		{
+			out.writeInt(MAGICO);
+			out.writeInt(VERSION);
+			out.writeLong(grafo.huella());
+			out.writeInt(capitales.length);
+			out.writeInt(grafo.numVertices());
+			for(int i=0; i<capitales.length; i++)
+			{
+				byte[] bytes= capitales[i].getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+				out.writeInt(verticesCapitales[i]);
+			}
+			for(float distancia : distancias)
+			{
+				out.writeFloat(distancia);
+			}
+			for(int arco : arcosHacia)
+			{
+				out.writeInt(arco);
+			}
+			for(int padre : padres)
+			{
+				out.writeInt(padre);
+			}
+		}
+		Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Lee una matriz guardada con escribir.
+	 * @return la matriz, o null si no existe, está dañada o se calculó sobre otro grafo
+	 */
+	public static MatrizCapitales leer(Path archivo, GrafoListaAdyacencia grafo) throws IOException
+	{
+		if(!Files.isRegularFile(archivo))
+		{
+			return null;
+		}
+
+		GrafoCSR csr= grafo.compactar();
+		try (FileChannel canal= FileChannel.open(archivo, StandardOpenOption.READ))
+		{
+			MappedByteBuffer in= canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+			if(in.remaining() < 24 || in.getInt()!=MAGICO || in.getInt()!=VERSION || in.getLong()!=csr.huella())
+			{
+				return null;
+			}
+
+			int c= in.getInt();
+			int n= in.getInt();
+			if(n!=csr.numVertices())
+			{
+				return null;
+			}
+
+			String[] capitales= new String[c];
+			int[] verticesCapitales= new int[c];
+			for(int i=0; i<c; i++)
+			{
+				byte[] bytes= new byte[in.getInt()];
+				in.get(bytes);
+				capitales[i]= new String(bytes, StandardCharsets.UTF_8);
+				verticesCapitales[i]= in.getInt();
+			}
+
+			float[] distancias= new float[c * c];
+			in.asFloatBuffer().get(distancias);
+			in.position(in.position() + distancias.length * 4);
+
+			int[] arcosHacia= new int[c * n];
+			in.asIntBuffer().get(arcosHacia);
+			in.position(in.position() + arcosHacia.length * 4);
+
+			int[] padres= new int[c * n];
+			in.asIntBuffer().get(padres);
+
+			return new MatrizCapitales(csr, capitales, verticesCapitales, distancias, arcosHacia, padres);
+		}
+		catch(RuntimeException e)
+		{
+			// Un archivo truncado no es fatal: se vuelve a calcular
+			e.printStackTrace();
+			return null;
+		}
+	}
+}
@@ -1,27 +1,32 @@
 package model.logic;
 
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.Reader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
 
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVRecord;
-
+import model.data_structures.AlgoritmoMST;
+import model.data_structures.ArbolExpansion;
 import model.data_structures.ArregloDinamico;
+import model.data_structures.AtributosCables;
 import model.data_structures.Country;
-import model.data_structures.Country.ComparadorXKm;
 import model.data_structures.Edge;
+import model.data_structures.FlujoMaximo;
 import model.data_structures.GrafoListaAdyacencia;
 import model.data_structures.ILista;
 import model.data_structures.ITablaSimbolos;
+import model.data_structures.JerarquiaContraccion;
 import model.data_structures.Landing;
 import model.data_structures.ListaEncadenada;
-import model.data_structures.NodoTS;
 import model.data_structures.NullException;
 import model.data_structures.PilaEncadenada;
 import model.data_structures.PosException;
-import model.data_structures.TablaHashLinearProbing;
+import model.data_structures.PuntosCriticos;
+import model.data_structures.TablaHashPlana;
 import model.data_structures.TablaHashSeparteChaining;
 import model.data_structures.VacioException;
 import model.data_structures.Vertex;
@@ -33,7 +38,16 @@ import utils.Ordenamiento;
  * Definicion del modelo del mundo
  *
  */
+@SuppressWarnings({ "rawtypes", "unchecked" })
 public class Modelo {
+	public static final String DIRECTORIO_DATOS= "./data/";
+
+	public static final String ARCHIVO_SNAPSHOT= "modelo.snapshot";
+
+	public static final String ARCHIVO_MATRIZ_CAPITALES= "modelo.capitales";
+
+	public static final String ARCHIVO_JERARQUIA= "modelo.jerarquia";
+
 	/**
 	 * Atributos del modelo del mundo
 	 */
@@ -49,13 +63,33 @@ public class Modelo {
 	
 	private ITablaSimbolos nombrecodigo;
 
+	private AtributosCables atributos;
+
+	private String reporteCarga;
+
+	private volatile CompletableFuture<MatrizCapitales> matrizCapitales;
+
+	private volatile JerarquiaContraccion jerarquia;
+
+	private final String directorioDatos;
+
 	/**
 	 * Constructor del modelo del mundo con capacidad dada
 	 * @param tamano
 	 */
 	public Modelo(int capacidad)
+	{
+		this(capacidad, DIRECTORIO_DATOS);
+	}
+
+	/**
+	 * @param directorioDatos carpeta con los CSV, donde también se guardan el snapshot, la matriz
+	 * de capitales y la jerarquía
+	 */
+	public Modelo(int capacidad, String directorioDatos)
 	{
 		datos = new ArregloDinamico<>(capacidad);
+		this.directorioDatos= directorioDatos;
 	}
 
 	/**
@@ -84,17 +118,18 @@ public class Modelo {
 	{
 		String fragmento="Info básica:";
 		
-		fragmento+= "\n El número total de conexiones (arcos) en el grafo es: " + grafo.edges().size();
+		fragmento+= "\n El número total de conexiones (arcos) en el grafo es: " + grafo.arcos().size();
 		fragmento+="\n El número total de puntos de conexión (landing points) en el grafo: " + grafo.vertices().size();
 		fragmento+= "\n La cantidad total de países es:  " + paises.size();
 		Landing landing=null;
 		try 
 		{
-			landing = (Landing) ((NodoTS) points.darListaNodos().getElement(1)).getValue();
+			landing = (Landing) points.valueSet().getElement(1);
 			fragmento+= "\n Info primer landing point " + "\n Identificador: " + landing.getId() + "\n Nombre: " + landing.getName()
 			+ " \n Latitud " + landing.getLatitude() + " \n Longitud" + landing.getLongitude();
 			
-			Country pais= (Country) ((NodoTS) paises.darListaNodos().getElement(paises.darListaNodos().size())).getValue();
+			ILista listaPaises= paises.valueSet();
+			Country pais= (Country) listaPaises.getElement(listaPaises.size());
 			
 			fragmento+= "\n Info último país: " + "\n Capital: "+ pais.getCapitalName() + "\n Población: " + pais.getPopulation()+
 			"\n Usuarios: "+ pais.getUsers();
@@ -112,38 +147,20 @@ public class Modelo {
 	
 	public String req1String(String punto1, String punto2)
 	{
-		ITablaSimbolos tabla= grafo.getSSC();
-		ILista lista= tabla.valueSet();
-		int max=0;
-		for(int i=1; i<= lista.size(); i++)
+		String fragmento="La cantidad de componentes conectados es: " + grafo.numeroComponentes();
+
+		try 
 		{
-			try
-			{
-				if((int) lista.getElement(i)> max)
-				{
-					max= (int) lista.getElement(i);
-				}
-			}
-			catch(PosException | VacioException  e)
+			String codigo1= (String) nombrecodigo.obtener(punto1);
+			String codigo2= (String) nombrecodigo.obtener(punto2);
+			if(codigo1==null || codigo2==null)
 			{
-				System.out.println(e.toString());
+				return fragmento + "\n No se encontró alguno de los landing points";
 			}
+			Vertex vertice1= (Vertex) ((ILista) landingidtabla.obtener(codigo1)).getElement(1);
+			Vertex vertice2= (Vertex) ((ILista) landingidtabla.obtener(codigo2)).getElement(1);
 			
-		}
-		
-		String fragmento="La cantidad de componentes conectados es: " + max;
-		
-		try 
-		{
-			String codigo1= (String) nombrecodigo.get(punto1);
-			String codigo2= (String) nombrecodigo.get(punto2);
-			Vertex vertice1= (Vertex) ((ILista) landingidtabla.get(codigo1)).getElement(1);
-			Vertex vertice2= (Vertex) ((ILista) landingidtabla.get(codigo2)).getElement(1);
-			
-			int elemento1= (int) tabla.get(vertice1.getId());
-			int elemento2= (int) tabla.get(vertice2.getId());
-			
-			if(elemento1== elemento2)
+			if(grafo.mismaComponente(vertice1.getId(), vertice2.getId()))
 			{
 				fragmento+= "\n Los landing points pertenecen al mismo clúster";
 			}
@@ -204,16 +221,187 @@ public class Modelo {
 	
 	public String req3String(String pais1, String pais2)
 	{
-		Country pais11= (Country) paises.get(pais1);
-		Country pais22= (Country) paises.get(pais2);
+		Country pais11= (Country) paises.obtener(pais1);
+		Country pais22= (Country) paises.obtener(pais2);
+		if(pais11==null || pais22==null)
+		{
+			return "No se encontró alguno de los países";
+		}
+		String capital1=pais11.getCapitalName();
+		String capital2=pais22.getCapitalName();
+
+		ILista ruta;
+		JerarquiaContraccion jerarquia= this.jerarquia;
+		if(!matrizCapitales.isDone())
+		{
+			// Mientras la matriz se calcula en segundo plano se responde sin esperarla: con la
+			// jerarquía si está preparada y si no con Dijkstra bidireccional entre las dos capitales
+			if(!grafo.contieneVertice(capital1) || !grafo.contieneVertice(capital2))
+			{
+				return "Alguna de las capitales no está en la red";
+			}
+			ruta= rutaEnOrden(jerarquia!=null ? jerarquia.rutaMinima(capital1, capital2) : grafo.rutaMinimaBidireccional(capital1, capital2));
+		}
+		else
+		{
+			MatrizCapitales matriz= darMatrizCapitales();
+			if(!matriz.contieneCapital(capital1) || !matriz.contieneCapital(capital2))
+			{
+				return "Alguna de las capitales no está en la red";
+			}
+			ruta= matriz.ruta(capital1, capital2);
+		}
+
+		return "Ruta: " + formatearRuta(ruta);
+	}
+
+	/**
+	 * Alternativas a la ruta de req3 entre las capitales de dos países, en el mismo formato.
+	 *
+	 * @param disjuntas si es true se buscan rutas que no compartan cables ni enlaces (puede haber
+	 * menos de k); si es false, las k rutas sin ciclos más cortas.
+	 */
+	public String rutasAlternativasString(String pais1, String pais2, int k, boolean disjuntas)
+	{
+		Country pais11= (Country) paises.obtener(pais1);
+		Country pais22= (Country) paises.obtener(pais2);
+		if(pais11==null || pais22==null)
+		{
+			return "No se encontró alguno de los países";
+		}
 		String capital1=pais11.getCapitalName();
 		String capital2=pais22.getCapitalName();
+		if(!grafo.contieneVertice(capital1) || !grafo.contieneVertice(capital2))
+		{
+			return "Alguna de las capitales no está en la red";
+		}
+
+		ILista rutas= disjuntas ? grafo.rutasDisjuntas(capital1, capital2, k) : grafo.kRutasMinimas(capital1, capital2, k);
+		if(rutas.isEmpty())
+		{
+			return "No hay ruta entre las capitales";
+		}
 
-		PilaEncadenada pila= grafo.minPath(capital1, capital2);
+		StringBuilder fragmento= new StringBuilder();
+		int numero=1;
+		for(Object elemento : rutas)
+		{
+			ILista ruta= (ILista) elemento;
+			float costo=0;
+			for(Object arco : ruta)
+			{
+				costo+= ((Edge) arco).getWeight();
+			}
+			fragmento.append(numero==1 ? "" : "\n\n").append("Ruta ").append(numero).append(" (costo ").append(costo).append(" km): ");
+			fragmento.append(formatearRuta(ruta));
+			numero++;
+		}
+		if(disjuntas && rutas.size()<k)
+		{
+			fragmento.append("\n\nSolo hay ").append(rutas.size()).append(" rutas sin cables en común");
+		}
+		return fragmento.toString();
+	}
 
+	/**
+	 * Ancho de banda disponible entre dos países: flujo máximo entre sus capitales con la capacidad
+	 * de cada cable. Los enlaces hacia las capitales y entre vértices de un mismo landing no limitan,
+	 * así que cada país reparte sin restricción entre sus propios landing points.
+	 */
+	public String anchoBandaString(String pais1, String pais2)
+	{
+		Country pais11= (Country) paises.obtener(pais1);
+		Country pais22= (Country) paises.obtener(pais2);
+		if(pais11==null || pais22==null)
+		{
+			return "No se encontró alguno de los países";
+		}
+		String capital1=pais11.getCapitalName();
+		String capital2=pais22.getCapitalName();
+		if(!grafo.contieneVertice(capital1) || !grafo.contieneVertice(capital2))
+		{
+			return "Alguna de las capitales no está en la red";
+		}
+
+		long inicio= System.nanoTime();
+		FlujoMaximo flujo= grafo.flujoMaximo(capital1, capital2);
+		long milisegundos= (System.nanoTime() - inicio) / 1_000_000;
+		if(flujo.esIlimitado())
+		{
+			return "Las capitales están unidas sin pasar por ningún cable de capacidad conocida";
+		}
+
+		StringBuilder fragmento= new StringBuilder();
+		fragmento.append("Ancho de banda disponible: ").append(String.format("%.3f", flujo.darValor())).append(" Tbps (").append(milisegundos).append(" ms)");
+		ILista corte= flujo.darCorte();
+		fragmento.append("\nCables que lo limitan: ").append(corte.size());
+		for(Object elemento : corte)
+		{
+			Edge arco= (Edge) elemento;
+			fragmento.append("\n ").append(arco.getSource().getId()).append(" - ").append(arco.getDestination().getId()).append(": ").append(arco.getCapacidad()).append(" Tbps");
+		}
+		return fragmento.toString();
+	}
+
+	/**
+	 * Cables de la red que cumplen los filtros, con su capacidad, año RFS y dueños.
+	 *
+	 * @param dueno dueño que debe tener el cable, o null para cualquiera.
+	 */
+	public String cablesString(String dueno, int rfsMinimo)
+	{
+		int[] cables= atributos.filtrar(dueno, rfsMinimo, 0);
+
+		StringBuilder fragmento= new StringBuilder();
+		fragmento.append("Cables encontrados: ").append(cables.length);
+		float capacidadTotal=0;
+		int desconocidas=0;
+		for(int cable : cables)
+		{
+			float capacidad= atributos.darCapacidad(cable);
+			if(capacidad==Float.POSITIVE_INFINITY)
+			{
+				desconocidas++;
+			}
+			else
+			{
+				capacidadTotal+= capacidad;
+			}
+			fragmento.append("\n ").append(atributos.darNombre(cable)).append(" (").append(atributos.darCableId(cable)).append("): ");
+			fragmento.append(atributos.darArco(cable).getSource().getId()).append(" - ").append(atributos.darArco(cable).getDestination().getId());
+			fragmento.append(", ").append(capacidad==Float.POSITIVE_INFINITY ? "capacidad desconocida" : capacidad + " Tbps").append(", RFS ").append(atributos.darRfs(cable));
+			fragmento.append(", dueños: ").append(atributos.darPropietarios(cable).size());
+		}
+		fragmento.append("\nCapacidad total: ").append(capacidadTotal).append(" Tbps");
+		if(desconocidas>0)
+		{
+			fragmento.append(" (sin contar ").append(desconocidas).append(" cables de capacidad desconocida)");
+		}
+		return fragmento.toString();
+	}
+
+	public AtributosCables darAtributosCables()
+	{
+		return atributos;
+	}
+
+	/**
+	 * Tabla nombre del país -> Country.
+	 */
+	public ITablaSimbolos darPaises()
+	{
+		return paises;
+	}
+
+	/**
+	 * Una línea por arco con los nombres de sus extremos y la distancia entre ellos, y al final
+	 * la distancia total. Es el formato de req3String.
+	 */
+	private String formatearRuta(ILista ruta)
+	{
 		float distancia=0;
 
-		String fragmento="Ruta: ";
+		String fragmento="";
 
 		float disttotal=0;
 		
@@ -224,9 +412,9 @@ public class Modelo {
 		String origennombre="";
 		String destinonombre="";
 
-		while(!pila.isEmpty())
+		for(Object elemento : ruta)
 		{
-			Edge arco= ((Edge)pila.pop());
+			Edge arco= (Edge) elemento;
 
 			if(arco.getSource().getInfo().getClass().getName().equals("model.data_structures.Landing"))
 			{
@@ -262,7 +450,6 @@ public class Modelo {
 		fragmento+= "\n Distancia total: " + disttotal;	
 
 		return fragmento;
-		
 	}
 	
 	public String req4String()
@@ -272,8 +459,6 @@ public class Modelo {
 		
 		String llave="";
 		
-		int distancia=0;
-		
 		try
 		{
 			int max=0;
@@ -285,171 +470,163 @@ public class Modelo {
 					llave= (String) ((Vertex)((ILista)lista1.getElement(i)).getElement(1)).getId();
 				}
 			}
-			
-			ILista lista2= grafo.mstPrimLazy(llave);
-			
-			ITablaSimbolos tabla= new TablaHashSeparteChaining<>(2);
-			ILista candidatos= new ArregloDinamico<>(1);
-			for(int i=1; i<= lista2.size(); i++)
-			{
-				Edge arco= ((Edge) lista2.getElement(i));
-				distancia+= arco.getWeight();
-				
-				candidatos.insertElement(arco.getSource(), candidatos.size()+1);
-				
-				candidatos.insertElement(arco.getDestination(), candidatos.size()+1);
-				
-				tabla.put(arco.getDestination().getId(),arco.getSource() );
-			}
-			
-			ILista unificado= unificar(candidatos, "Vertice");
-			fragmento+= " La cantidad de nodos conectada a la red de expansión mínima es: " + unificado.size() + "\n El costo total es de: " + distancia;
-			
-			int maximo=0;
-			int contador=0;
-			PilaEncadenada caminomax=new PilaEncadenada();
-			for(int i=1; i<= unificado.size(); i++)
-			{
-
-				PilaEncadenada path= new PilaEncadenada();
-				String idBusqueda= (String) ((Vertex) unificado.getElement(i)).getId();
-				Vertex actual;
-
-				while( (actual= (Vertex) tabla.get(idBusqueda))!=null && actual.getInfo()!=null)
-				{
-					path.push(actual);
-					idBusqueda= (String) ((Vertex)actual).getId();
-					contador++;
-				}
-				
-				if(contador>maximo)
-				{
-					caminomax=path;
-				}
-			}
-			
-			fragmento+="\n La rama más larga está dada por lo vértices: ";
-			for(int i=1; i<=caminomax.size(); i++)
-			{
-				Vertex pop= (Vertex) caminomax.pop();
-				fragmento+= "\n Id " + i + " : "+ pop.getId();
-			}
 		}
-		catch (PosException | VacioException | NullException e1) 
+		catch (PosException | VacioException e1) 
 		{
 			// TODO Auto-generated catch block
 			e1.printStackTrace();
 		}
-		
-		if(fragmento.equals(""))
-		{	
+
+		if(llave.equals(""))
+		{
 			return "No hay ninguna rama";
 		}
-		else 
+			
+		// Un solo Kruskal para todo el bosque; el árbol del landing con más vértices se saca de sus
+		// arcos, porque ArbolExpansion ignora los que no alcanzan a la raíz
+		ILista bosque= grafo.bosqueExpansionMinima(AlgoritmoMST.KRUSKAL);
+		double costoBosque= 0;
+		for(Object arco : bosque)
 		{
-			return fragmento;
+			costoBosque+= ((Edge) arco).getWeight();
 		}
+		fragmento+= " El bosque de expansión mínima tiene " + (grafo.numVertices() - bosque.size()) + " árboles, " + grafo.numVertices() + " nodos y un costo total de: " + (long) costoBosque;
+		
+		ArbolExpansion arbol= new ArbolExpansion(grafo.obtenerVertice(llave), bosque, grafo.numVertices());
+		fragmento+= "\n La cantidad de nodos conectada a la red de expansión mínima es: " + arbol.numVertices() + "\n El costo total es de: " + (long) arbol.darCostoTotal();
+		
+		ILista rama= arbol.ramaMasLarga(false);
+		fragmento+="\n La rama más larga tiene " + (rama.size() - 1) + " arcos y está dada por lo vértices: ";
+		int i=1;
+		for(Object elemento : rama)
+		{
+			fragmento+= "\n Id " + i + " : "+ ((Vertex) elemento).getId();
+			i++;
+		}
+
+		return fragmento;
 	}
 	
-	public ILista req5(String punto)
+	/**
+	 * Países afectados si falla el landing point con ese nombre; null si no se encuentra.
+	 */
+	public ImpactoFalla req5(String punto)
 	{
-		String codigo= (String) nombrecodigo.get(punto);
-		ILista lista= (ILista) landingidtabla.get(codigo);
+		String codigo= (String) nombrecodigo.obtener(punto);
+		if(codigo==null)
+		{
+			return null;
+		}
+		ILista lista= (ILista) landingidtabla.obtener(codigo);
+		if(lista==null || lista.isEmpty())
+		{
+			return null;
+		}
+		return ImpactoFalla.calcular(codigo, lista, paises);
+	}
+	
+	public String req5String(String punto)
+	{
+		ImpactoFalla afectados= req5(punto);
+		if(afectados==null)
+		{
+			return "No se encontró el landing point";
+		}
 		
-		ILista countries= new ArregloDinamico<>(1);
-		try 
+		String fragmento="La cantidad de paises afectados es: " + afectados.darCantidadPaises() + "\n Los paises afectados son: ";
+	
+		for(int i=1; i<=afectados.darCantidadPaises(); i++)
 		{
-			Country paisoriginal=(Country) paises.get(((Landing) ((Vertex)lista.getElement(1)).getInfo()).getPais());
-			countries.insertElement(paisoriginal, countries.size() + 1);
-		} 
-		catch (PosException | VacioException | NullException e1) 
+			fragmento+= "\n Nombre: " + afectados.darPais(i).getCountryName() + "\n Distancia al landing point: " + afectados.darDistancia(i);
+		}
+		
+		return fragmento;
+	}
+
+	/**
+	 * req5 para todos los landing points a la vez, repartidos en el pool fork/join común. Cada
+	 * resultado es inmutable y no se escribe en ningún Country, así que no hace falta sincronizar.
+	 */
+	public ImpactoFalla[] impactoFallas()
+	{
+		ILista codigos= landingidtabla.keySet();
+		String[] landings= new String[codigos.size()];
+		int i=0;
+		for(Object codigo : codigos)
 		{
-			// TODO Auto-generated catch block
-			e1.printStackTrace();
+			landings[i++]= (String) codigo;
 		}
 		
-		for(int i=1; i<= lista.size(); i++)
+		return IntStream.range(0, landings.length).parallel()
+				.mapToObj(j -> ImpactoFalla.calcular(landings[j], (ILista) landingidtabla.obtener(landings[j]), paises))
+				.toArray(ImpactoFalla[]::new);
+	}
+
+	/**
+	 * Reporte de impacto de fallas de todos los landing points, de mayor a menor cantidad de países afectados.
+	 */
+	public String reporteImpactoFallas()
+	{
+		long inicio= System.nanoTime();
+		ImpactoFalla[] impactos= impactoFallas();
+		Arrays.sort(impactos, (impacto1, impacto2) -> impacto2.darCantidadPaises() - impacto1.darCantidadPaises());
+		long milisegundos= (System.nanoTime() - inicio) / 1_000_000;
+
+		StringBuilder reporte= new StringBuilder();
+		reporte.append("Impacto de fallas de ").append(impactos.length).append(" landing points calculado en ").append(milisegundos).append(" ms");
+		for(ImpactoFalla impacto : impactos)
 		{
-			try 
+			reporte.append("\n ").append(impacto.darLandingId()).append(" ").append(impacto.darNombre()).append(": ").append(impacto.darCantidadPaises()).append(" paises");
+			for(int j=1; j<=impacto.darCantidadPaises(); j++)
 			{
-				Vertex vertice= (Vertex) lista.getElement(i);
-				ILista arcos= vertice.edges();
-				
-				for(int j=1; j<= arcos.size(); j++)
-				{
-					Vertex vertice2= ((Edge) arcos.getElement(j)).getDestination();
-					
-					Country pais=null;
-					if (vertice2.getInfo().getClass().getName().equals("model.data_structures.Landing"))
-					{
-						Landing landing= (Landing) vertice2.getInfo();
-						pais= (Country) paises.get(landing.getPais());
-						countries.insertElement(pais, countries.size() + 1);
-						
-						float distancia= distancia(pais.getLongitude(), pais.getLatitude(), landing.getLongitude(), landing.getLatitude());
-							
-						pais.setDistlan(distancia);
-					}
-					else
-					{
-						pais=(Country) vertice2.getInfo();
-					}
-				}
-				
-			} catch (PosException | VacioException | NullException e) 
+				reporte.append(j==1 ? " (" : ", ").append(impacto.darPais(j).getCountryName());
+			}
+			if(impacto.darCantidadPaises()>0)
 			{
-				e.printStackTrace();
+				reporte.append(")");
 			}
 		}
-		
-		ILista unificado= unificar(countries, "Country");
-		
-		Comparator<Country> comparador=null;
-
-		Ordenamiento<Country> algsOrdenamientoEventos=new Ordenamiento<Country>();
-
-		comparador= new ComparadorXKm();
+		return reporte.toString();
+	}
+	
+	/**
+	 * Puntos únicos de falla de toda la red: vértices cuya caída separa la red y cables o enlaces
+	 * cuya caída desconecta sus extremos. Se calcula una vez por versión del grafo.
+	 */
+	public String reportePuntosCriticos()
+	{
+		PuntosCriticos criticos= grafo.puntosCriticos();
 
-		try 
+		StringBuilder reporte= new StringBuilder();
+		reporte.append("Vértices de articulación: ").append(criticos.numArticulaciones());
+		for(Object elemento : criticos.darArticulaciones())
 		{
-
-			if (lista!=null)
-			{
-				algsOrdenamientoEventos.ordenarMergeSort(unificado, comparador, true);
-			}	
+			Vertex vertice= (Vertex) elemento;
+			reporte.append("\n ").append(vertice.getId()).append(" (").append(describir(vertice)).append(")");
 		}
-		catch (PosException | VacioException| NullException  e) 
+		reporte.append("\nPuentes: ").append(criticos.numPuentes());
+		for(Object elemento : criticos.darPuentes())
 		{
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+			Edge arco= (Edge) elemento;
+			reporte.append("\n ").append(describir(arco.getSource())).append(" - ").append(describir(arco.getDestination())).append(": ").append(arco.getWeight()).append(" km");
 		}
-		
-		return unificado;
-		
-		
+		return reporte.toString();
 	}
-	
-	public String req5String(String punto)
+
+	private static String describir(Vertex vertice)
 	{
-		ILista afectados= req5(punto);
-		
-		String fragmento="La cantidad de paises afectados es: " + afectados.size() + "\n Los paises afectados son: ";
-	
-		for(int i=1; i<=afectados.size(); i++)
+		Object info= vertice.getInfo();
+		if(info instanceof Landing)
 		{
-			try {
-				fragmento+= "\n Nombre: " + ((Country) afectados.getElement(i)).getCountryName() + "\n Distancia al landing point: " + ((Country) afectados.getElement(i)).getDistlan();
-			} catch (PosException | VacioException e) {
-				// TODO Auto-generated catch block
-				e.printStackTrace();
-			}
+			return ((Landing) info).getName() + ", " + ((Landing) info).getPais();
 		}
-		
-		return fragmento;
-		
-		
+		if(info instanceof Country)
+		{
+			return ((Country) info).getCapitalName() + ", " + ((Country) info).getCountryName();
+		}
+		return String.valueOf(vertice.getId());
 	}
-	
+
 	public ILista unificar(ILista lista, String criterio)
 	{
 
@@ -595,7 +772,7 @@ public class Modelo {
 					{
 						if(comparador.compare(actual, siguiente)!=0)
 						{
-							tabla.put(actual.getId(), actual);
+							tabla.poner(actual.getId(), actual);
 						}
 					}
 					else
@@ -606,12 +783,12 @@ public class Modelo {
 						{
 							if(comparador.compare(anterior, actual)!=0)
 							{
-								tabla.put(actual.getId(), actual);
+								tabla.poner(actual.getId(), actual);
 							}
 						}
 						else
 						{
-							tabla.put(actual.getId(), actual);
+							tabla.poner(actual.getId(), actual);
 						}
 					}
 
@@ -626,255 +803,224 @@ public class Modelo {
 		return tabla;
 	}
 
+	/**
+	 * Carga el modelo desde el snapshot binario si sigue vigente; si no existe o los CSV cambiaron,
+	 * carga desde los CSV y deja escrito un snapshot nuevo para el siguiente arranque.
+	 */
 	public void cargar() throws IOException
 	{
-		grafo= new GrafoListaAdyacencia(2);
-		paises= new TablaHashLinearProbing(2);
-		points= new  TablaHashLinearProbing(2);
-		landingidtabla= new TablaHashSeparteChaining(2);
-		nombrecodigo=new TablaHashSeparteChaining(2);
-		
-		Reader in = new FileReader("./data/countries.csv");
-		Iterable<CSVRecord> records = CSVFormat.RFC4180.withHeader().parse(in);
-		int contador=1;
-		for (CSVRecord record : records) 
-		{
-			if(!record.get(0).equals(""))
-			{
-				String countryName= record.get(0);
-				
-				String capitalName= record.get(1);
-				
-				double latitude= Double.parseDouble(record.get(2));
-				
-				double longitude= Double.parseDouble(record.get(3));
-				
-				String code= record.get(4);
-				
-				String continentName= record.get(5);
-				
-				float population= Float.parseFloat(record.get(6).replace(".", ""));
-				
-				double users= Double.parseDouble(record.get(7).replace(".", ""));;
-				
-				Country pais= new Country(countryName, capitalName, latitude, longitude, code, continentName, population, users);
-				
-				grafo.insertVertex(capitalName, pais);
-				paises.put(countryName, pais);
-
-				contador++;
-			}
+		Path directorio= Paths.get(directorioDatos);
+		Path archivoSnapshot= directorio.resolve(ARCHIVO_SNAPSHOT);
 
-		}
-		
-		
-		Reader in2 = new FileReader("./data/landing_points.csv");
-		Iterable<CSVRecord> records2 = CSVFormat.RFC4180.withHeader().parse(in2);
-
-		int contador2=1;
-		
-		for (CSVRecord record2 : records2) 
+		long inicio= System.nanoTime();
+		SnapshotModelo snapshot= SnapshotModelo.leer(archivoSnapshot, directorio);
+		if(snapshot!=null)
 		{
-
-			String landingId= record2.get(0);
-			
-			String id=record2.get(1);
-			
-			String[] x= record2.get(2).split(", ");
-			
-			String name= x[0];
-			
-			String paisnombre= x[x.length-1];
-			
-			double latitude= Double.parseDouble(record2.get(3));
-			
-			double longitude= Double.parseDouble(record2.get(4));
-			
-			Landing landing= new Landing(landingId, id, name, paisnombre, latitude, longitude);
-			
-			points.put(landingId, landing);
-			
-			Country pais= null;
+			grafo= snapshot.darGrafo();
+			paises= snapshot.darPaises();
+			points= snapshot.darPoints();
+			landingidtabla= snapshot.darLandingIdTabla();
+			nombrecodigo= snapshot.darNombreCodigo();
+			atributos= snapshot.darAtributos();
+			reporteCarga= "Cargado desde " + ARCHIVO_SNAPSHOT + " en " + (System.nanoTime() - inicio) / 1_000_000 + " ms";
 		}
-		
-		
-		Reader in3 = new FileReader("./data/connections.csv");
-		Iterable<CSVRecord> records3 = CSVFormat.RFC4180.withHeader().parse(in3);
-
-		int contador3=1;
-		for (CSVRecord record3 : records3) 
+		else
 		{
-			String origin= record3.get(0);
-
-			String destination= record3.get(1);
-
-			String cableid= record3.get(3);
-
-			String[] lengths= record3.get(4).split(" ");
-
-			String length= lengths[0];
-
+			CargadorDatos cargador= new CargadorDatos(directorioDatos);
+			cargador.cargar();
 
-			Landing landing1= (Landing) points.get(origin);
-			
-			grafo.insertVertex(landing1.getLandingId()+ cableid, landing1);
-			
-			Vertex vertice1= grafo.getVertex(landing1.getLandingId()+ cableid);
-
-			
-			Landing landing2= (Landing) points.get(destination);
+			grafo= cargador.darGrafo();
+			paises= cargador.darPaises();
+			points= cargador.darPoints();
+			landingidtabla= cargador.darLandingIdTabla();
+			nombrecodigo= cargador.darNombreCodigo();
+			atributos= cargador.darAtributos();
+			reporteCarga= cargador.darReporte();
 
-			grafo.insertVertex(landing2.getLandingId()+ cableid, landing2);
-			
-			Vertex vertice2= grafo.getVertex(landing2.getLandingId()+ cableid);
-			
-			
-			String nombrepais1= landing1.getPais();
-			
-			String nombrepais2= landing2.getPais();
-					
-			Country pais1=null;
-			Country pais2=null;
-			if(nombrepais1.equals("Côte d'Ivoire"))
+			try
 			{
-				pais1= (Country) paises.get("Cote d'Ivoire");
+				SnapshotModelo.escribir(archivoSnapshot, directorio, grafo, paises, points, landingidtabla, nombrecodigo, atributos);
 			}
-			else if(nombrepais2.equals("Côte d'Ivoire"))
+			catch(IOException e)
 			{
-				pais2= (Country) paises.get("Cote d'Ivoire");
-			}
-			else
-			{
-				pais1= (Country) paises.get(nombrepais1);
-				pais2= (Country) paises.get(nombrepais2);
+				// Sin snapshot el siguiente arranque simplemente vuelve a leer los CSV
+				e.printStackTrace();
 			}
-			
-
-			if(pais1!=null)
-			{
-				float weight=distancia(pais1.getLongitude(), pais1.getLatitude(), landing1.getLongitude(), landing1.getLatitude());
+		}
 
-				grafo.addEdge(pais1.getCapitalName(),landing1.getLandingId()+ cableid , weight);
-			}
-	
-			if(pais2!=null)
-			{
-				float weight2=distancia(pais2.getLongitude(), pais2.getLatitude(), landing1.getLongitude(), landing1.getLatitude());
+		iniciarMatrizCapitales(directorio.resolve(ARCHIVO_MATRIZ_CAPITALES));
+	}
 
-				grafo.addEdge(pais2.getCapitalName(),landing2.getLandingId()+ cableid , weight2);
+	/**
+	 * Lee la matriz de rutas entre capitales si la guardada corresponde al grafo cargado; si no,
+	 * la calcula en segundo plano y la guarda al terminar. Mientras tanto req3 responde con la
+	 * jerarquía o con Dijkstra bidireccional.
+	 */
+	private void iniciarMatrizCapitales(Path archivo) throws IOException
+	{
+		MatrizCapitales guardada= MatrizCapitales.leer(archivo, grafo);
+		if(guardada!=null)
+		{
+			matrizCapitales= CompletableFuture.completedFuture(guardada);
+			return;
+		}
 
+		GrafoListaAdyacencia grafoCargado= grafo;
+		ITablaSimbolos paisesCargados= paises;
+		matrizCapitales= CompletableFuture.supplyAsync(() -> 
+		{
+			MatrizCapitales matriz;
+			grafoCargado.darCandado().readLock().lock();
+			try
+			{
+				matriz= MatrizCapitales.calcular(grafoCargado, paisesCargados);
 			}
-			
-
-			if(landing1!=null)
+			finally
 			{
-				if(landing2!=null)
-				{
-					Edge existe1= grafo.getEdge(landing1.getLandingId() + cableid, landing2.getLandingId() + cableid);
-	
-					if(existe1==null)
-					{
-						float weight3=distancia(landing1.getLongitude(), landing1.getLatitude(), landing2.getLongitude(), landing2.getLatitude());
-						grafo.addEdge(landing1.getLandingId() + cableid, landing2.getLandingId() + cableid, weight3);
-					}
-					else
-					{
-						float weight3=distancia(landing1.getLongitude(), landing1.getLatitude(), landing2.getLongitude(), landing2.getLatitude());
-						float peso3= existe1.getWeight();
-	
-						if(weight3> peso3)
-						{
-							existe1.setWeight(weight3);
-						}
-					}
-				}
+				grafoCargado.darCandado().readLock().unlock();
 			}
-			
 			try
 			{
-				
-				ILista elementopc= (ILista) landingidtabla.get(landing1.getLandingId());
-				if (elementopc==null)
-				{
-					ILista valores=new ArregloDinamico(1);
-					valores.insertElement(vertice1, valores.size() +1);
-
-					landingidtabla.put(landing1.getLandingId(), valores);
-					
-				}
-				else if (elementopc!=null)
-				{
-					elementopc.insertElement(vertice1, elementopc.size()+1);
-				}
-			
-				elementopc= (ILista) landingidtabla.get(landing2.getLandingId());
-	
-				if (elementopc==null)
-				{
-					ILista valores=new ArregloDinamico(1);
-					valores.insertElement(vertice2, valores.size() +1);
-	
-					landingidtabla.put(landing2.getLandingId(), valores);
-	
-				}
-				else if (elementopc!=null)
-				{
-					elementopc.insertElement(vertice2, elementopc.size()+1);
-	
-				}
-				
-				elementopc= (ILista) nombrecodigo.get(landing1.getLandingId());
-				
-				if (elementopc==null)
-				{
-					String nombre=landing1.getName();
-					String codigo=landing1.getLandingId();
-
-					nombrecodigo.put(nombre, codigo);
-	
-				}
+				matriz.escribir(archivo);
 			}
-			catch(PosException | NullException e)
+			catch(IOException e)
 			{
 				e.printStackTrace();
 			}
-			
-			
+			return matriz;
+		});
+	}
+
+	/**
+	 * Aplica un archivo delta (filas de connections.csv o landing_points.csv con una columna
+	 * operacion + / -) al modelo cargado, sin volver a leer los CSV. Toma el candado de escritura
+	 * del grafo, así que espera a que terminen las consultas en curso y las nuevas lo esperan a él.
+	 * @return resumen de las filas aplicadas y de lo que quedó invalidado
+	 */
+	public synchronized String aplicarDelta(String archivo) throws IOException
+	{
+		// La matriz que se esté calculando en segundo plano toma el candado de lectura y una consulta
+		// puede estar esperándola con el suyo; se espera aquí, fuera del de escritura. Los deltas van
+		// de a uno para que ningún otro reemplace la matriz entre esta espera y el candado
+		darMatrizCapitales();
 
+		grafo.darCandado().writeLock().lock();
+		try
+		{
+			return aplicarDeltaBloqueado(archivo);
 		}
-		
+		finally
+		{
+			grafo.darCandado().writeLock().unlock();
+		}
+	}
+
+	private String aplicarDeltaBloqueado(String archivo) throws IOException
+	{
+		long versionAntes= grafo.darVersion();
+		int arbolesEnCache= grafo.darCacheRutas().size();
+
+		CargadorDatos cargador= new CargadorDatos(directorioDatos, grafo, paises, points, landingidtabla, nombrecodigo, atributos);
+		cargador.aplicarDelta(Paths.get(archivo));
+		String reporte= cargador.darReporte();
+
+		if(grafo.darVersion()==versionAntes)
+		{
+			return reporte + "\n El grafo no cambió; no se invalidó nada";
+		}
+
+		reporte+= "\n Invalidado:";
+		reporte+= "\n  " + arbolesEnCache + " árboles de rutas mínimas en caché";
+		iniciarMatrizCapitales(Paths.get(directorioDatos).resolve(ARCHIVO_MATRIZ_CAPITALES));
+		reporte+= "\n  matriz de rutas entre capitales (se recalcula en segundo plano)";
+		if(jerarquia!=null)
+		{
+			jerarquia= null;
+			reporte+= "\n  jerarquía de contracción (se reconstruye con prepararJerarquia)";
+		}
+		if(cargador.darEliminadas()>0)
+		{
+			reporte+= "\n  conectividad incremental (se rearma en la siguiente consulta)";
+		}
+		reporte+= "\n El snapshot sigue describiendo los CSV; el delta no queda guardado en él";
+		return reporte;
+	}
+
+	public MatrizCapitales darMatrizCapitales()
+	{
+		return matrizCapitales.join();
+	}
+
+	/**
+	 * Candado del grafo cargado: las consultas concurrentes toman el de lectura, aplicarDelta y las
+	 * eliminaciones y restauraciones del grafo el de escritura.
+	 */
+	public ReentrantReadWriteLock darCandado()
+	{
+		return grafo.darCandado();
+	}
+
+	/**
+	 * Prepara la jerarquía de contracción del grafo cargado: la lee de disco si corresponde a este
+	 * grafo o la construye y la guarda. Es opcional; sin ella las rutas se calculan con Dijkstra.
+	 * @return tiempo en milisegundos que tomó prepararla
+	 */
+	public long prepararJerarquia() throws IOException
+	{
+		long inicio= System.nanoTime();
+		Path archivo= Paths.get(directorioDatos).resolve(ARCHIVO_JERARQUIA);
+		JerarquiaContraccion preparada;
+		grafo.darCandado().readLock().lock();
 		try
 		{
-			ILista valores = landingidtabla.valueSet();
-			
-			for(int i=1; i<=valores.size(); i++)
+			preparada= JerarquiaContraccion.leer(archivo, grafo);
+			if(preparada==null)
 			{
-				for(int j=1; j<=((ILista) valores.getElement(i)).size(); j++)
+				preparada= JerarquiaContraccion.construir(grafo);
+				try
 				{
-					Vertex vertice1;
-					if((ILista) valores.getElement(i) != null)
-					{
-						vertice1= (Vertex) ((ILista) valores.getElement(i)).getElement(j);
-						for(int k=2; k<= ((ILista) valores.getElement(i)).size(); k++)
-						{
-							Vertex vertice2= (Vertex) ((ILista) valores.getElement(i)).getElement(k);
-							grafo.addEdge(vertice1.getId(), vertice2.getId(), 100);
-						}
-					}
+					preparada.escribir(archivo);
+				}
+				catch(IOException e)
+				{
+					e.printStackTrace();
 				}
 			}
+			// Se publica antes de soltar el candado para que un delta posterior la pueda invalidar
+			jerarquia= preparada;
 		}
-		catch(PosException | VacioException  e)
+		finally
 		{
-			e.printStackTrace();
+			grafo.darCandado().readLock().unlock();
 		}
-		
-	
-		
-	
-}
+		return (System.nanoTime() - inicio) / 1_000_000;
+	}
+
+	/**
+	 * Ruta mínima entre dos vértices, por la jerarquía si está preparada y si no con Dijkstra.
+	 */
+	public PilaEncadenada rutaMinima(String idOrigen, String idDestino)
+	{
+		JerarquiaContraccion jerarquia= this.jerarquia;
+		return jerarquia!=null ? jerarquia.rutaMinima(idOrigen, idDestino) : grafo.rutaMinima(idOrigen, idDestino);
+	}
+
+	private static ILista rutaEnOrden(PilaEncadenada pila)
+	{
+		ILista ruta= new ArregloDinamico(Math.max(pila.size(), 1));
+		while(!pila.isEmpty())
+		{
+			ruta.addLast(pila.pop());
+		}
+		return ruta;
+	}
+
+	public String darReporteCarga()
+	{
+		return reporteCarga;
+	}
 	
-	private static float distancia(double lon1, double lat1, double lon2, double lat2) 
+	static float distancia(double lon1, double lat1, double lon2, double lat2) 
 	{
 
 		double earthRadius = 6371; // km
@@ -895,7 +1041,9 @@ public class Modelo {
 
 		double distance = earthRadius * c;
 
-		return (int) distance;
+		// Sin truncar a kilómetros enteros: así ningún arco pesa menos que la distancia geográfica
+		// entre sus extremos y la cota de A* con factor cercano a 1 sigue siendo admisible
+		return (float) distance;
 
 	}
 
@@ -0,0 +1,93 @@
+package model.logic;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ejecuta los requerimientos de un Modelo ya cargado en un pool de hilos. Cada consulta usa su
+ * propio estado de recorrido, así que el grafo se comparte sin copiarlo ni serializar las consultas.
+ * Todas toman el candado de lectura del modelo, así que un aplicarDelta espera a que terminen las
+ * que están en curso y las siguientes ven el grafo ya modificado.
+ */
+public class ServicioConsultas
+{
+	private final Modelo modelo;
+
+	private final ExecutorService ejecutor;
+
+	/**
+	 * @param modelo modelo sobre el que ya se llamó cargar()
+	 * @param hilos cantidad de consultas que pueden ejecutarse a la vez
+	 */
+	public ServicioConsultas(Modelo modelo, int hilos)
+	{
+		this.modelo= modelo;
+		this.ejecutor= Executors.newFixedThreadPool(hilos);
+	}
+
+	public ServicioConsultas(Modelo modelo)
+	{
+		this(modelo, Runtime.getRuntime().availableProcessors());
+	}
+
+	public Future<String> req1(String punto1, String punto2)
+	{
+		return consultar(() -> modelo.req1String(punto1, punto2));
+	}
+
+	public Future<String> req2()
+	{
+		return consultar(() -> modelo.req2String());
+	}
+
+	public Future<String> req3(String pais1, String pais2)
+	{
+		return consultar(() -> modelo.req3String(pais1, pais2));
+	}
+
+	public Future<String> req4()
+	{
+		return consultar(() -> modelo.req4String());
+	}
+
+	public Future<String> req5(String punto)
+	{
+		return consultar(() -> modelo.req5String(punto));
+	}
+
+	/**
+	 * El cálculo en sí se reparte en el pool fork/join común; este hilo solo lo espera.
+	 */
+	public Future<String> reporteImpactoFallas()
+	{
+		return consultar(() -> modelo.reporteImpactoFallas());
+	}
+
+	private <T> Future<T> consultar(Callable<T> consulta)
+	{
+		return ejecutor.submit(() -> 
+		{
+			modelo.darCandado().readLock().lock();
+			try
+			{
+				return consulta.call();
+			}
+			finally
+			{
+				modelo.darCandado().readLock().unlock();
+			}
+		});
+	}
+
+	/**
+	 * Deja de aceptar consultas y espera a que terminen las que están en curso.
+	 */
+	public void cerrar() throws InterruptedException
+	{
+		ejecutor.shutdown();
+		ejecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.SECONDS);
+	}
+}
@@ -0,0 +1,426 @@
+package model.logic;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import model.data_structures.ArregloDinamico;
+import model.data_structures.AtributosCables;
+import model.data_structures.Country;
+import model.data_structures.Edge;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.ILista;
+import model.data_structures.ITablaSimbolos;
+import model.data_structures.Landing;
+import model.data_structures.NullException;
+import model.data_structures.PosException;
+import model.data_structures.TablaHashPlana;
+import model.data_structures.Vertex;
+
+/**
+ * Formato binario versionado con el estado ya construido del modelo: países, landing points,
+ * vértices en orden de índice, arcos con su peso y capacidad, las tablas landingidtabla y nombrecodigo
+ * y los atributos de los cables.
+ * Todas las cadenas se guardan una sola vez en un diccionario y el resto del archivo las
+ * referencia por posición. La cabecera guarda tamaño y fecha de modificación de cada CSV, y la
+ * lectura (sobre un FileChannel mapeado en memoria) rechaza el archivo si alguno cambió.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class SnapshotModelo
+{
+	private static final int MAGICO = 0x49434E58;
+
+	public static final int VERSION = 5;
+
+	private static final byte TIPO_PAIS = 0;
+
+	private static final byte TIPO_LANDING = 1;
+
+	private static final String[] ARCHIVOS = { CargadorDatos.ARCHIVO_PAISES, CargadorDatos.ARCHIVO_LANDINGS, CargadorDatos.ARCHIVO_CONEXIONES };
+
+	private GrafoListaAdyacencia grafo;
+
+	private ITablaSimbolos paises;
+
+	private ITablaSimbolos points;
+
+	private ITablaSimbolos landingidtabla;
+
+	private ITablaSimbolos nombrecodigo;
+
+	private AtributosCables atributos;
+
+	private SnapshotModelo()
+	{
+	}
+
+	/**
+	 * Escribe el estado del modelo. Se escribe primero a un archivo temporal y luego se reemplaza
+	 * el destino, para que una escritura interrumpida no deje un snapshot a medias.
+	 */
+	public static void escribir(Path archivo, Path directorioDatos, GrafoListaAdyacencia grafo, ITablaSimbolos paises,
+			ITablaSimbolos points, ITablaSimbolos landingidtabla, ITablaSimbolos nombrecodigo, AtributosCables atributos) throws IOException
+	{
+		TablaHashPlana<String, Integer> posiciones= new TablaHashPlana<>(grafo.numVertices() * 2);
+		ArregloDinamico<String> cadenas= new ArregloDinamico<>(grafo.numVertices() * 2);
+
+		ILista<Country> listaPaises= paises.valueSet();
+		ILista<Landing> listaLandings= points.valueSet();
+		ILista listaVertices= grafo.vertices();
+		ILista listaArcos= grafo.arcos();
+		ILista<String> codigosLanding= landingidtabla.keySet();
+		ILista<String> nombres= nombrecodigo.keySet();
+
+		for(Country pais : listaPaises)
+		{
+			registrar(pais.getCountryName(), posiciones, cadenas);
+			registrar(pais.getCapitalName(), posiciones, cadenas);
+			registrar(pais.getCode(), posiciones, cadenas);
+			registrar(pais.getContinentName(), posiciones, cadenas);
+		}
+		for(Landing landing : listaLandings)
+		{
+			registrar(landing.getLandingId(), posiciones, cadenas);
+			registrar(landing.getId(), posiciones, cadenas);
+			registrar(landing.getName(), posiciones, cadenas);
+			registrar(landing.getPais(), posiciones, cadenas);
+		}
+		for(Object elemento : listaVertices)
+		{
+			registrar((String) ((Vertex) elemento).getId(), posiciones, cadenas);
+		}
+		for(String nombre : nombres)
+		{
+			registrar(nombre, posiciones, cadenas);
+			registrar((String) nombrecodigo.obtener(nombre), posiciones, cadenas);
+		}
+		for(int i=0; i<atributos.numCables(); i++)
+		{
+			registrar(atributos.darNombre(i), posiciones, cadenas);
+			registrar(atributos.darCableId(i), posiciones, cadenas);
+			for(String dueno : atributos.darPropietarios(i))
+			{
+				registrar(dueno, posiciones, cadenas);
+			}
+		}
+
+		Path temporal= archivo.resolveSibling(archivo.getFileName() + ".tmp");
+		try (OutputStream salida= Files.newOutputStream(temporal);
+				DataOutputStream out= new DataOutputStream(new BufferedOutputStream(salida, 1 << 16)))
+		{
+			out.writeInt(MAGICO);
+			out.writeInt(VERSION);
+			for(String nombreArchivo : ARCHIVOS)
+			{
+				Path csv= directorioDatos.resolve(nombreArchivo);
+				out.writeLong(Files.size(csv));
+				out.writeLong(Files.getLastModifiedTime(csv).toMillis());
+			}
+
+			out.writeInt(cadenas.size());
+			for(String cadena : cadenas)
+			{
+				byte[] bytes= cadena.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+
+			out.writeInt(listaPaises.size());
+			for(Country pais : listaPaises)
+			{
+				out.writeInt(posiciones.obtener(pais.getCountryName()));
+				out.writeInt(posiciones.obtener(pais.getCapitalName()));
+				out.writeDouble(pais.getLatitude());
+				out.writeDouble(pais.getLongitude());
+				out.writeInt(posiciones.obtener(pais.getCode()));
+				out.writeInt(posiciones.obtener(pais.getContinentName()));
+				out.writeFloat(pais.getPopulation());
+				out.writeDouble(pais.getUsers());
+			}
+
+			out.writeInt(listaLandings.size());
+			for(Landing landing : listaLandings)
+			{
+				out.writeInt(posiciones.obtener(landing.getLandingId()));
+				out.writeInt(posiciones.obtener(landing.getId()));
+				out.writeInt(posiciones.obtener(landing.getName()));
+				out.writeInt(posiciones.obtener(landing.getPais()));
+				out.writeDouble(landing.getLatitude());
+				out.writeDouble(landing.getLongitude());
+			}
+
+			// Los vértices van en orden de índice para que al reinsertarlos conserven Vertex.getIndice()
+			out.writeInt(listaVertices.size());
+			for(Object elemento : listaVertices)
+			{
+				Vertex vertice= (Vertex) elemento;
+				out.writeInt(posiciones.obtener((String) vertice.getId()));
+				if(vertice.getInfo() instanceof Country)
+				{
+					out.writeByte(TIPO_PAIS);
+					out.writeInt(posiciones.obtener(((Country) vertice.getInfo()).getCountryName()));
+				}
+				else
+				{
+					out.writeByte(TIPO_LANDING);
+					out.writeInt(posiciones.obtener(((Landing) vertice.getInfo()).getLandingId()));
+				}
+			}
+
+			// Reinsertar los arcos en este orden reproduce el mismo orden de adyacencia
+			out.writeInt(listaArcos.size());
+			for(Object elemento : listaArcos)
+			{
+				Edge arco= (Edge) elemento;
+				out.writeInt(arco.getSource().getIndice());
+				out.writeInt(arco.getDestination().getIndice());
+				out.writeFloat(arco.getWeight());
+				out.writeFloat(arco.getCapacidad());
+			}
+
+			out.writeInt(codigosLanding.size());
+			for(String codigo : codigosLanding)
+			{
+				ILista vertices= (ILista) landingidtabla.obtener(codigo);
+				out.writeInt(posiciones.obtener(codigo));
+				out.writeInt(vertices.size());
+				for(Object elemento : vertices)
+				{
+					out.writeInt(((Vertex) elemento).getIndice());
+				}
+			}
+
+			out.writeInt(nombres.size());
+			for(String nombre : nombres)
+			{
+				out.writeInt(posiciones.obtener(nombre));
+				out.writeInt(posiciones.obtener((String) nombrecodigo.obtener(nombre)));
+			}
+
+			// Cada cable se vuelve a encontrar por los índices de sus extremos
+			out.writeInt(atributos.numCables());
+			for(int i=0; i<atributos.numCables(); i++)
+			{
+				Edge arco= atributos.darArco(i);
+				out.writeInt(arco.getSource().getIndice());
+				out.writeInt(arco.getDestination().getIndice());
+				out.writeInt(posiciones.obtener(atributos.darNombre(i)));
+				out.writeInt(posiciones.obtener(atributos.darCableId(i)));
+				out.writeFloat(atributos.darCapacidad(i));
+				out.writeInt(atributos.darRfs(i));
+				ILista<String> duenos= atributos.darPropietarios(i);
+				out.writeInt(duenos.size());
+				for(String dueno : duenos)
+				{
+					out.writeInt(posiciones.obtener(dueno));
+				}
+			}
+		}
+		Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static void registrar(String cadena, TablaHashPlana<String, Integer> posiciones, ArregloDinamico<String> cadenas)
+	{
+		if(!posiciones.contiene(cadena))
+		{
+			posiciones.poner(cadena, cadenas.size());
+			cadenas.addLast(cadena);
+		}
+	}
+
+	/**
+	 * Lee el snapshot si existe, tiene la versión esperada y los CSV no han cambiado desde que se escribió.
+	 * Cuando lo descarta por otra razón que no sea que no existe, deja el motivo en System.err.
+	 * @return estado leído, o null si hay que volver a cargar desde los CSV
+	 */
+	public static SnapshotModelo leer(Path archivo, Path directorioDatos) throws IOException
+	{
+		if(!Files.isRegularFile(archivo))
+		{
+			return null;
+		}
+
+		try (FileChannel canal= FileChannel.open(archivo, StandardOpenOption.READ))
+		{
+			MappedByteBuffer in= canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+
+			if(in.remaining() < 8 || in.getInt()!=MAGICO)
+			{
+				return descartar(archivo, "no es un snapshot");
+			}
+			int version= in.getInt();
+			if(version!=VERSION)
+			{
+				return descartar(archivo, "es de la versión " + version + " y se espera la " + VERSION);
+			}
+			for(String nombreArchivo : ARCHIVOS)
+			{
+				Path csv= directorioDatos.resolve(nombreArchivo);
+				if(!Files.isRegularFile(csv) || in.getLong()!=Files.size(csv) || in.getLong()!=Files.getLastModifiedTime(csv).toMillis())
+				{
+					return descartar(archivo, nombreArchivo + " cambió desde que se escribió");
+				}
+			}
+
+			String[] cadenas= new String[in.getInt()];
+			byte[] bytes= new byte[256];
+			for(int i=0; i<cadenas.length; i++)
+			{
+				int longitud= in.getInt();
+				if(longitud > bytes.length)
+				{
+					bytes= new byte[longitud * 2];
+				}
+				in.get(bytes, 0, longitud);
+				cadenas[i]= new String(bytes, 0, longitud, StandardCharsets.UTF_8);
+			}
+
+			SnapshotModelo snapshot= new SnapshotModelo();
+
+			int numPaises= in.getInt();
+			snapshot.paises= new TablaHashPlana(numPaises);
+			for(int i=0; i<numPaises; i++)
+			{
+				String countryName= cadenas[in.getInt()];
+				String capitalName= cadenas[in.getInt()];
+				double latitude= in.getDouble();
+				double longitude= in.getDouble();
+				String code= cadenas[in.getInt()];
+				String continentName= cadenas[in.getInt()];
+				float population= in.getFloat();
+				double users= in.getDouble();
+				snapshot.paises.poner(countryName, new Country(countryName, capitalName, latitude, longitude, code, continentName, population, users));
+			}
+
+			int numLandings= in.getInt();
+			snapshot.points= new TablaHashPlana(numLandings);
+			for(int i=0; i<numLandings; i++)
+			{
+				String landingId= cadenas[in.getInt()];
+				String id= cadenas[in.getInt()];
+				String name= cadenas[in.getInt()];
+				String pais= cadenas[in.getInt()];
+				double latitude= in.getDouble();
+				double longitude= in.getDouble();
+				snapshot.points.poner(landingId, new Landing(landingId, id, name, pais, latitude, longitude));
+			}
+
+			int numVertices= in.getInt();
+			GrafoListaAdyacencia grafo= new GrafoListaAdyacencia(numVertices);
+			Vertex[] vertices= new Vertex[numVertices];
+			for(int i=0; i<numVertices; i++)
+			{
+				String llave= cadenas[in.getInt()];
+				byte tipo= in.get();
+				String referencia= cadenas[in.getInt()];
+				Comparable info= tipo==TIPO_PAIS ? snapshot.paises.obtener(referencia) : snapshot.points.obtener(referencia);
+				grafo.insertarVertice(llave, info);
+				vertices[i]= grafo.obtenerVertice(llave);
+			}
+
+			int numArcos= in.getInt();
+			for(int i=0; i<numArcos; i++)
+			{
+				Vertex origen= vertices[in.getInt()];
+				Vertex destino= vertices[in.getInt()];
+				float peso= in.getFloat();
+				grafo.agregarArco(origen.getId(), destino.getId(), peso, in.getFloat());
+			}
+			snapshot.grafo= grafo;
+
+			int numCodigos= in.getInt();
+			snapshot.landingidtabla= new TablaHashPlana(numCodigos);
+			for(int i=0; i<numCodigos; i++)
+			{
+				String codigo= cadenas[in.getInt()];
+				int cantidad= in.getInt();
+				ILista lista= new ArregloDinamico(Math.max(cantidad, 1));
+				for(int j=0; j<cantidad; j++)
+				{
+					lista.addLast(vertices[in.getInt()]);
+				}
+				snapshot.landingidtabla.poner(codigo, lista);
+			}
+
+			int numNombres= in.getInt();
+			snapshot.nombrecodigo= new TablaHashPlana(numNombres);
+			for(int i=0; i<numNombres; i++)
+			{
+				String nombre= cadenas[in.getInt()];
+				snapshot.nombrecodigo.poner(nombre, cadenas[in.getInt()]);
+			}
+
+			int numCables= in.getInt();
+			snapshot.atributos= new AtributosCables(numCables);
+			for(int i=0; i<numCables; i++)
+			{
+				Edge arco= grafo.obtenerArco(vertices[in.getInt()].getId(), vertices[in.getInt()].getId());
+				String nombre= cadenas[in.getInt()];
+				String cableId= cadenas[in.getInt()];
+				float capacidad= in.getFloat();
+				int rfs= in.getInt();
+				String[] duenos= new String[in.getInt()];
+				for(int j=0; j<duenos.length; j++)
+				{
+					duenos[j]= cadenas[in.getInt()];
+				}
+				if(arco!=null)
+				{
+					snapshot.atributos.agregar(arco, nombre, cableId, capacidad, rfs, duenos);
+				}
+			}
+
+			return snapshot;
+		}
+		catch(PosException | NullException | BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e)
+		{
+			// Un snapshot corrupto o truncado no es fatal: se vuelve a cargar desde los CSV
+			return descartar(archivo, "está dañado o incompleto (" + e + ")");
+		}
+	}
+
+	private static SnapshotModelo descartar(Path archivo, String motivo)
+	{
+		System.err.println("Se ignora " + archivo.getFileName() + " y se carga desde los CSV: " + motivo);
+		return null;
+	}
+
+	public GrafoListaAdyacencia darGrafo()
+	{
+		return grafo;
+	}
+
+	public ITablaSimbolos darPaises()
+	{
+		return paises;
+	}
+
+	public ITablaSimbolos darPoints()
+	{
+		return points;
+	}
+
+	public ITablaSimbolos darLandingIdTabla()
+	{
+		return landingidtabla;
+	}
+
+	public ITablaSimbolos darNombreCodigo()
+	{
+		return nombrecodigo;
+	}
+
+	public AtributosCables darAtributos()
+	{
+		return atributos;
+	}
+}
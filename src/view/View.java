@@ -22,6 +22,13 @@ public class View
 			System.out.println("5. Red de expansión mínima");
 			System.out.println("6. Fallas en conexión");
 			System.out.println("7. Exit");
+			System.out.println("8. Aplicar cambios desde un archivo delta");
+			System.out.println("9. Impacto de fallas de todos los landing points");
+			System.out.println("10. Puntos únicos de falla de la red");
+			System.out.println("11. Rutas alternativas más cortas entre capitales");
+			System.out.println("12. Rutas sin cables en común entre capitales");
+			System.out.println("13. Ancho de banda entre dos países");
+			System.out.println("14. Cables por dueño y año de entrada en servicio");
 			System.out.println("Dar el numero de opcion a resolver, luego oprimir tecla Return: (e.g., 1):");
 		}
 
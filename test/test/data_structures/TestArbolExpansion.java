@@ -0,0 +1,267 @@
+package test.data_structures;
+
+import model.data_structures.ArbolExpansion;
+import model.data_structures.Edge;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.ILista;
+import model.data_structures.Vertex;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestArbolExpansion {
+
+	private GrafoListaAdyacencia<Integer, Integer> grafo;
+	private float[][] pesos;
+	private static int TAMANO=25;
+
+	@Before
+	public void setUp1() throws Exception {
+		grafo= new GrafoListaAdyacencia<Integer, Integer>(TAMANO);
+		pesos= new float[TAMANO][TAMANO];
+		for(int i=0; i<TAMANO; i++)
+		{
+			grafo.insertarVertice(i, i);
+		}
+	}
+
+	/**
+	 * Árbol aleatorio sobre los primeros vértices (cada uno cuelga de uno anterior) más algunos arcos
+	 * extra; con extras en 0 el grafo ya es un árbol y el MST es él mismo. Los últimos vértices quedan
+	 * sueltos. Pesos enteros para que las sumas sean exactas.
+	 */
+	public void setUp2(Random azar, int usados, int extras) {
+		for(int v=1; v<usados; v++)
+		{
+			agregar(azar.nextInt(v), v, 1 + azar.nextInt(20));
+		}
+		for(int i=0; i<extras; i++)
+		{
+			agregar(azar.nextInt(usados), azar.nextInt(usados), 1 + azar.nextInt(20));
+		}
+	}
+
+	private void agregar(int a, int b, int peso) {
+		if(a!=b && pesos[a][b]==0)
+		{
+			grafo.agregarArco(a, b, peso);
+			pesos[a][b]= peso;
+			pesos[b][a]= peso;
+		}
+	}
+
+	@Test
+	public void testEstructura() throws Exception {
+		for(long semilla=1; semilla<=30; semilla++)
+		{
+			setUp1();
+			Random azar= new Random(semilla);
+			int usados= 2 + azar.nextInt(TAMANO - 4);
+			setUp2(azar, usados, azar.nextInt(2 * TAMANO));
+			String mensaje= "Semilla " + semilla;
+			int raiz= azar.nextInt(usados);
+
+			ArbolExpansion<Integer, Integer> arbol= grafo.arbolExpansionMinima(raiz);
+			Vertex<Integer, Integer> verticeRaiz= grafo.obtenerVertice(raiz);
+			assertSame(mensaje, verticeRaiz, arbol.darRaiz());
+			assertNull(mensaje, arbol.padre(verticeRaiz));
+			assertNull(mensaje, arbol.arcoPadre(verticeRaiz));
+			assertEquals(mensaje, usados, arbol.numVertices());
+			assertEquals(mensaje, usados - 1, arbol.numArcos());
+			assertEquals(mensaje, usados - 1, arbol.arcos().size());
+
+			// Costo igual al de mstPrim y al de un Prim de referencia sobre la matriz
+			float costoPrim= 0;
+			for(Edge<Integer, Integer> arco : grafo.mstPrim(raiz))
+			{
+				costoPrim+= arco.getWeight();
+			}
+			assertEquals(mensaje, costoPrim, arbol.darCostoTotal(), 0);
+			assertEquals(mensaje, costoReferencia(raiz), arbol.darCostoTotal(), 0);
+
+			// Cada vértice está en los hijos de su padre, el arco al padre los une y subir por los
+			// padres llega a la raíz
+			int hijosTotales= 0;
+			for(int v=0; v<TAMANO; v++)
+			{
+				Vertex<Integer, Integer> vertice= grafo.obtenerVertice(v);
+				assertEquals(mensaje + " vértice " + v, v < usados, arbol.contiene(vertice));
+				if(!arbol.contiene(vertice))
+				{
+					continue;
+				}
+				ILista<Vertex<Integer, Integer>> hijos= arbol.hijos(vertice);
+				hijosTotales+= hijos.size();
+				for(Vertex<Integer, Integer> hijo : hijos)
+				{
+					assertSame(mensaje, vertice, arbol.padre(hijo));
+				}
+				if(v==raiz)
+				{
+					continue;
+				}
+				Vertex<Integer, Integer> padre= arbol.padre(vertice);
+				Edge<Integer, Integer> arco= arbol.arcoPadre(vertice);
+				assertTrue(mensaje + " arco de " + v, (arco.getSource()==vertice && arco.getDestination()==padre)
+						|| (arco.getSource()==padre && arco.getDestination()==vertice));
+				assertTrue(mensaje, contiene(arbol.hijos(padre), vertice));
+				int pasos= 0;
+				for(Vertex<Integer, Integer> actual= vertice; actual!=verticeRaiz; actual= arbol.padre(actual))
+				{
+					assertTrue(mensaje + " ciclo desde " + v, ++pasos < usados);
+				}
+			}
+			assertEquals(mensaje, usados - 1, hijosTotales);
+		}
+	}
+
+	@Test
+	public void testRamaMasLargaIgualQueFuerzaBruta() throws Exception {
+		for(long semilla=1; semilla<=40; semilla++)
+		{
+			for(int extras=0; extras<=TAMANO; extras+= TAMANO)
+			{
+				setUp1();
+				Random azar= new Random(semilla);
+				int usados= 1 + azar.nextInt(TAMANO - 2);
+				setUp2(azar, usados, extras);
+				ArbolExpansion<Integer, Integer> arbol= grafo.arbolExpansionMinima(azar.nextInt(usados));
+				for(boolean porPeso : new boolean[] {true, false})
+				{
+					String mensaje= "Semilla " + semilla + " extras " + extras + " porPeso " + porPeso;
+					double[][] distancias= distanciasEnArbol(arbol, porPeso);
+					double diametro= 0;
+					for(int a=0; a<TAMANO; a++)
+					{
+						for(int b=0; b<TAMANO; b++)
+						{
+							diametro= Math.max(diametro, distancias[a][b]);
+						}
+					}
+					assertEquals(mensaje, diametro, largo(arbol, arbol.ramaMasLarga(porPeso), porPeso), 0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Distancias entre todos los pares de vértices del árbol con Floyd-Warshall sobre sus arcos; los
+	 * pares fuera del árbol quedan en 0.
+	 */
+	private static double[][] distanciasEnArbol(ArbolExpansion<Integer, Integer> arbol, boolean porPeso) {
+		double[][] distancias= new double[TAMANO][TAMANO];
+		for(int a=0; a<TAMANO; a++)
+		{
+			for(int b=0; b<TAMANO; b++)
+			{
+				distancias[a][b]= a==b ? 0 : Double.POSITIVE_INFINITY;
+			}
+		}
+		for(Edge<Integer, Integer> arco : arbol.arcos())
+		{
+			int a= arco.getSource().getId();
+			int b= arco.getDestination().getId();
+			distancias[a][b]= porPeso ? arco.getWeight() : 1;
+			distancias[b][a]= distancias[a][b];
+		}
+		for(int k=0; k<TAMANO; k++)
+		{
+			for(int a=0; a<TAMANO; a++)
+			{
+				for(int b=0; b<TAMANO; b++)
+				{
+					distancias[a][b]= Math.min(distancias[a][b], distancias[a][k] + distancias[k][b]);
+				}
+			}
+		}
+		for(int a=0; a<TAMANO; a++)
+		{
+			for(int b=0; b<TAMANO; b++)
+			{
+				if(distancias[a][b]==Double.POSITIVE_INFINITY)
+				{
+					distancias[a][b]= 0;
+				}
+			}
+		}
+		return distancias;
+	}
+
+	/**
+	 * Largo de la rama verificando que cada par de vértices seguidos es padre e hijo en el árbol.
+	 */
+	private static double largo(ArbolExpansion<Integer, Integer> arbol, ILista<Vertex<Integer, Integer>> rama, boolean porPeso) throws Exception {
+		assertTrue(rama.size() >= 1);
+		double total= 0;
+		for(int i=2; i<=rama.size(); i++)
+		{
+			Vertex<Integer, Integer> anterior= rama.getElement(i - 1);
+			Vertex<Integer, Integer> actual= rama.getElement(i);
+			Edge<Integer, Integer> arco;
+			if(arbol.padre(actual)==anterior)
+			{
+				arco= arbol.arcoPadre(actual);
+			}
+			else
+			{
+				assertSame(anterior.getId() + "-" + actual.getId(), actual, arbol.padre(anterior));
+				arco= arbol.arcoPadre(anterior);
+			}
+			total+= porPeso ? arco.getWeight() : 1;
+		}
+		return total;
+	}
+
+	/**
+	 * Prim en O(V^2) sobre la matriz de pesos desde origen.
+	 */
+	private float costoReferencia(int origen) {
+		boolean[] enArbol= new boolean[TAMANO];
+		float[] distancia= new float[TAMANO];
+		for(int v=0; v<TAMANO; v++)
+		{
+			distancia[v]= Float.POSITIVE_INFINITY;
+		}
+		distancia[origen]= 0;
+		float costo= 0;
+		while(true)
+		{
+			int elegido= -1;
+			for(int v=0; v<TAMANO; v++)
+			{
+				if(!enArbol[v] && distancia[v]!=Float.POSITIVE_INFINITY && (elegido==-1 || distancia[v] < distancia[elegido]))
+				{
+					elegido= v;
+				}
+			}
+			if(elegido==-1)
+			{
+				return costo;
+			}
+			enArbol[elegido]= true;
+			costo+= distancia[elegido];
+			for(int w=0; w<TAMANO; w++)
+			{
+				if(pesos[elegido][w] > 0 && pesos[elegido][w] < distancia[w])
+				{
+					distancia[w]= pesos[elegido][w];
+				}
+			}
+		}
+	}
+
+	private static boolean contiene(ILista<Vertex<Integer, Integer>> lista, Vertex<Integer, Integer> vertice) {
+		for(Vertex<Integer, Integer> actual : lista)
+		{
+			if(actual==vertice)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+}
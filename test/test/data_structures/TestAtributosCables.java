@@ -0,0 +1,190 @@
+package test.data_structures;
+
+import model.data_structures.AtributosCables;
+import model.data_structures.Edge;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.ILista;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestAtributosCables {
+
+	private GrafoListaAdyacencia<Integer, Integer> grafo;
+	private AtributosCables atributos;
+	private List<Edge<Integer, Integer>> cables;
+	private float[] capacidades;
+	private int[] rfs;
+	private boolean[] quitados;
+	private List<List<String>> duenos;
+	private static int TAMANO=30;
+	private static int DUENOS=70;
+
+	@Before
+	public void setUp1() throws Exception {
+		grafo= new GrafoListaAdyacencia<Integer, Integer>(TAMANO);
+		for(int i=0; i<TAMANO; i++)
+		{
+			grafo.insertarVertice(i, i);
+		}
+		atributos= new AtributosCables(1);
+		cables= new ArrayList<Edge<Integer, Integer>>();
+		capacidades= new float[TAMANO * TAMANO];
+		rfs= new int[TAMANO * TAMANO];
+		quitados= new boolean[TAMANO * TAMANO];
+		duenos= new ArrayList<List<String>>();
+	}
+
+	/**
+	 * Cables aleatorios, algunos de capacidad desconocida, con más dueños distintos de los que caben
+	 * en una palabra del bitset. Cada cable se registra desde los dos sentidos, como en connections.csv.
+	 */
+	public void setUp2(long semilla) {
+		Random azar= new Random(semilla);
+		for(int i=0; i<3 * TAMANO; i++)
+		{
+			int a= azar.nextInt(TAMANO);
+			int b= azar.nextInt(TAMANO);
+			if(a==b || grafo.obtenerArco(a, b)!=null)
+			{
+				continue;
+			}
+			grafo.agregarArco(a, b, 1);
+			Edge<Integer, Integer> arco= grafo.obtenerArco(a, b);
+			int indice= cables.size();
+			float capacidad= azar.nextInt(4)==0 ? Float.POSITIVE_INFINITY : azar.nextInt(100);
+			int ano= azar.nextInt(3)==0 ? 0 : 1990 + azar.nextInt(35);
+			String[] propios= new String[1 + azar.nextInt(3)];
+			for(int j=0; j<propios.length; j++)
+			{
+				propios[j]= "Dueño " + azar.nextInt(DUENOS);
+			}
+
+			assertEquals(indice, atributos.agregar(arco, "Cable " + indice, "cable-" + indice, capacidad, ano, propios));
+			float otra= azar.nextBoolean() ? Float.POSITIVE_INFINITY : azar.nextInt(100);
+			assertEquals(indice, atributos.agregar(grafo.obtenerArco(b, a), "Cable " + indice, "cable-" + indice, otra, ano, new String[] {propios[0]}));
+
+			cables.add(arco);
+			capacidades[indice]= AtributosCables.combinarCapacidad(capacidad, otra);
+			rfs[indice]= ano;
+			duenos.add(Arrays.asList(propios));
+		}
+	}
+
+	@Test
+	public void testCombinarCapacidad() {
+		assertEquals(5f, AtributosCables.combinarCapacidad(Float.POSITIVE_INFINITY, 5f), 0);
+		assertEquals(5f, AtributosCables.combinarCapacidad(5f, Float.POSITIVE_INFINITY), 0);
+		assertEquals(8f, AtributosCables.combinarCapacidad(5f, 8f), 0);
+		assertEquals(Float.POSITIVE_INFINITY, AtributosCables.combinarCapacidad(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY), 0);
+	}
+
+	@Test
+	public void testAtributosGuardados() throws Exception {
+		setUp2(3);
+		assertEquals(cables.size(), atributos.numCables());
+		for(int i=0; i<cables.size(); i++)
+		{
+			Edge<Integer, Integer> arco= cables.get(i);
+			assertEquals(i, atributos.indice(arco));
+			assertEquals(i, atributos.indice(grafo.obtenerArco(arco.getDestination().getId(), arco.getSource().getId())));
+			assertSame(arco, atributos.darArco(i));
+			assertEquals("Cable " + i, atributos.darNombre(i));
+			assertEquals("cable-" + i, atributos.darCableId(i));
+			assertEquals(capacidades[i], atributos.darCapacidad(i), 0);
+			assertEquals(rfs[i], atributos.darRfs(i));
+
+			ILista<String> propios= atributos.darPropietarios(i);
+			List<String> esperados= new ArrayList<String>(new TreeSet<String>(duenos.get(i)));
+			List<String> obtenidos= new ArrayList<String>();
+			for(String dueno : propios)
+			{
+				assertTrue(atributos.tienePropietario(i, dueno));
+				obtenidos.add(dueno);
+			}
+			Collections.sort(obtenidos);
+			assertEquals("Cable " + i, esperados, obtenidos);
+		}
+		assertFalse(atributos.tienePropietario(0, "Nadie"));
+	}
+
+	@Test
+	public void testFiltrarIgualQueFuerzaBruta() throws Exception {
+		for(long semilla=1; semilla<=10; semilla++)
+		{
+			setUp1();
+			setUp2(semilla);
+			Random azar= new Random(semilla);
+			compararFiltros(azar);
+
+			// Un arco quitado sale del filtro aunque sus atributos sigan guardados, y vuelve al restaurarlo
+			Edge<Integer, Integer> quitado= cables.get(azar.nextInt(cables.size()));
+			assertTrue(grafo.eliminarArco(quitado));
+			quitados[atributos.indice(quitado)]= true;
+			assertFalse(contiene(atributos.filtrar(null, 0, 0), atributos.indice(quitado)));
+			compararFiltros(azar);
+			assertTrue(grafo.restaurarArco(quitado));
+			quitados[atributos.indice(quitado)]= false;
+			assertTrue(contiene(atributos.filtrar(null, 0, 0), atributos.indice(quitado)));
+
+			// Quitar un vértice se lleva todos sus cables; el reverso también queda fuera
+			int v= quitado.getDestination().getId();
+			grafo.eliminarVertice(v);
+			for(int i=0; i<cables.size(); i++)
+			{
+				if(cables.get(i).getSource().getId()==v || cables.get(i).getDestination().getId()==v)
+				{
+					quitados[i]= true;
+				}
+			}
+			assertFalse(contiene(atributos.filtrar(null, 0, 0), atributos.indice(quitado)));
+			compararFiltros(azar);
+		}
+	}
+
+	private void compararFiltros(Random azar) {
+		for(int consulta=0; consulta<40; consulta++)
+		{
+			String dueno= azar.nextInt(4)==0 ? null : "Dueño " + azar.nextInt(DUENOS + 5);
+			int rfsMinimo= azar.nextInt(3)==0 ? 0 : 1990 + azar.nextInt(40);
+			float capacidadMinima= azar.nextInt(3)==0 ? 0 : azar.nextInt(110);
+
+			List<Integer> esperados= new ArrayList<Integer>();
+			for(int i=0; i<cables.size(); i++)
+			{
+				boolean capacidad= capacidadMinima <= 0 || (capacidades[i] >= capacidadMinima && capacidades[i]!=Float.POSITIVE_INFINITY);
+				if(!quitados[i] && rfs[i] >= rfsMinimo && capacidad && (dueno==null || duenos.get(i).contains(dueno)))
+				{
+					esperados.add(i);
+				}
+			}
+			int[] obtenidos= atributos.filtrar(dueno, rfsMinimo, capacidadMinima);
+			String mensaje= dueno + " " + rfsMinimo + " " + capacidadMinima;
+			assertEquals(mensaje, esperados.size(), obtenidos.length);
+			for(int i=0; i<obtenidos.length; i++)
+			{
+				assertEquals(mensaje, esperados.get(i).intValue(), obtenidos[i]);
+			}
+		}
+	}
+
+	private static boolean contiene(int[] indices, int indice) {
+		for(int i : indices)
+		{
+			if(i==indice)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,109 @@
+package test.data_structures;
+
+import model.data_structures.Edge;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.Landing;
+import model.data_structures.PilaEncadenada;
+import model.data_structures.Ubicable;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestBusquedaAEstrella {
+
+	private GrafoListaAdyacencia<String, Landing> grafo;
+	private Landing[] landings;
+	private static int TAMANO=60;
+
+	@Before
+	public void setUp1() throws Exception {
+		grafo= new GrafoListaAdyacencia<String, Landing>(2 * TAMANO);
+		landings= new Landing[TAMANO];
+		Random azar= new Random(14);
+		for(int i=0; i<TAMANO; i++)
+		{
+			landings[i]= new Landing("" + i, "l" + i, "Landing " + i, "Pais", -30 + 60 * azar.nextDouble(), -80 + 60 * azar.nextDouble());
+			grafo.insertarVertice("l" + i, landings[i]);
+		}
+	}
+
+	/**
+	 * Arcos con el peso de la distancia geográfica sin truncar, como los carga CargadorDatos, más
+	 * pares de vértices en el mismo lugar unidos con peso fijo.
+	 */
+	public void setUp2() throws Exception {
+		Random azar= new Random(41);
+		for(int i=1; i<TAMANO; i++)
+		{
+			unir(i, azar.nextInt(i));
+		}
+		for(int i=0; i<2 * TAMANO; i++)
+		{
+			int a= azar.nextInt(TAMANO);
+			int b= azar.nextInt(TAMANO);
+			if(a!=b && grafo.obtenerArco("l" + a, "l" + b)==null)
+			{
+				unir(a, b);
+			}
+		}
+		for(int i=0; i<TAMANO; i+=5)
+		{
+			Landing copia= new Landing("c" + i, "c" + i, "Copia " + i, "Pais", landings[i].getLatitude(), landings[i].getLongitude());
+			grafo.insertarVertice("c" + i, copia);
+			grafo.agregarArco("l" + i, "c" + i, 100);
+			grafo.agregarArco("c" + i, "l" + ((i + 7) % TAMANO), 100 + (float) Ubicable.distanciaKm(copia, landings[(i + 7) % TAMANO]));
+		}
+	}
+
+	private void unir(int a, int b) {
+		grafo.agregarArco("l" + a, "l" + b, (float) Ubicable.distanciaKm(landings[a], landings[b]));
+	}
+
+	@Test
+	public void testFactorCercanoAUno() throws Exception {
+		setUp2();
+		double factor= grafo.factorCotaAdmisible();
+		assertTrue("Factor " + factor, factor > 0.999 && factor <= 1.0);
+	}
+
+	@Test
+	public void testIgualQueDijkstra() throws Exception {
+		setUp2();
+		for(int o=0; o<TAMANO; o+=3)
+		{
+			for(int d=0; d<TAMANO; d+=2)
+			{
+				String origen= "l" + o;
+				String destino= "l" + d;
+				double esperado= costo(grafo.rutaMinima(origen, destino), origen, destino);
+				double obtenido= costo(grafo.rutaMinimaAEstrella(origen, destino), origen, destino);
+				assertEquals(origen + " -> " + destino, esperado, obtenido, 1e-3 * Math.max(1, esperado));
+				assertEquals(origen + " -> " + destino, obtenido, costo(grafo.rutaMinimaAEstrella(origen, destino, true), origen, destino), 0);
+				// Con los pesos iguales a la distancia geográfica la cota sin escalar solo falla por redondeo
+				double sinEscalar= costo(grafo.rutaMinimaAEstrella(origen, destino, false), origen, destino);
+				assertEquals(origen + " -> " + destino, esperado, sinEscalar, 1e-3 * Math.max(1, esperado));
+			}
+		}
+	}
+
+	/**
+	 * Suma los pesos de la ruta verificando que va de origen a destino sin saltos.
+	 */
+	private static double costo(PilaEncadenada<Edge<String, Landing>> ruta, String origen, String destino) {
+		double total= 0;
+		String actual= origen;
+		while(!ruta.isEmpty())
+		{
+			Edge<String, Landing> arco= ruta.pop();
+			assertEquals(actual, arco.getSource().getId());
+			total+= arco.getWeight();
+			actual= arco.getDestination().getId();
+		}
+		assertEquals(destino, actual);
+		return total;
+	}
+}
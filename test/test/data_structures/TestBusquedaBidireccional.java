@@ -0,0 +1,104 @@
+package test.data_structures;
+
+import model.data_structures.Edge;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.PilaEncadenada;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestBusquedaBidireccional {
+
+	private GrafoListaAdyacencia<Integer, Integer> grafo;
+	private static int TAMANO=40;
+
+	@Before
+	public void setUp1() throws Exception {
+		grafo= new GrafoListaAdyacencia<Integer, Integer>(TAMANO);
+		for(int i=0; i<TAMANO; i++)
+		{
+			grafo.insertarVertice(i, i);
+		}
+	}
+
+	/**
+	 * Grafo aleatorio con pesos enteros pequeños, para que haya muchas rutas empatadas. Los últimos
+	 * vértices quedan sin arcos, así que hay destinos inalcanzables.
+	 */
+	public void setUp2(long semilla, int arcos) {
+		Random azar= new Random(semilla);
+		for(int i=0; i<arcos; i++)
+		{
+			int a= azar.nextInt(TAMANO - 4);
+			int b= azar.nextInt(TAMANO - 4);
+			if(a!=b)
+			{
+				grafo.agregarArco(a, b, 1 + azar.nextInt(4));
+			}
+		}
+	}
+
+	@Test
+	public void testRutaConocida() throws Exception {
+		// Dos rutas de costo 4 (0-1-2-3 y 0-4-3) y una de costo 5 (0-3)
+		grafo.agregarArco(0, 1, 1);
+		grafo.agregarArco(1, 2, 1);
+		grafo.agregarArco(2, 3, 2);
+		grafo.agregarArco(0, 4, 2);
+		grafo.agregarArco(4, 3, 2);
+		grafo.agregarArco(0, 3, 5);
+		assertEquals(4, costo(grafo.rutaMinimaBidireccional(0, 3), 0, 3), 0);
+		assertEquals(0, grafo.rutaMinimaBidireccional(2, 2).size());
+		assertTrue(grafo.rutaMinimaBidireccional(0, TAMANO - 1).isEmpty());
+	}
+
+	@Test
+	public void testIgualQueDijkstra() throws Exception {
+		for(long semilla=1; semilla<=30; semilla++)
+		{
+			setUp1();
+			// De muy disperso (varias componentes) a denso
+			setUp2(semilla, (int) (semilla % 5 + 1) * TAMANO / 2);
+			for(int o=0; o<TAMANO; o++)
+			{
+				for(int d=0; d<TAMANO; d++)
+				{
+					String mensaje= "Semilla " + semilla + " " + o + " -> " + d;
+					PilaEncadenada<Edge<Integer, Integer>> esperada= grafo.rutaMinima(o, d);
+					PilaEncadenada<Edge<Integer, Integer>> obtenida= grafo.rutaMinimaBidireccional(o, d);
+					if(esperada.isEmpty())
+					{
+						assertTrue(mensaje, obtenida.isEmpty());
+						continue;
+					}
+					assertEquals(mensaje, costo(esperada, o, d), costo(obtenida, o, d), 0);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Suma los pesos de la ruta verificando que va de origen a destino sin saltos ni vértices repetidos.
+	 */
+	private static float costo(PilaEncadenada<Edge<Integer, Integer>> ruta, int origen, int destino) {
+		boolean[] visitados= new boolean[TAMANO];
+		visitados[origen]= true;
+		float total= 0;
+		int actual= origen;
+		while(!ruta.isEmpty())
+		{
+			Edge<Integer, Integer> arco= ruta.pop();
+			assertEquals(actual, arco.getSource().getId().intValue());
+			actual= arco.getDestination().getId();
+			assertFalse("Vértice repetido " + actual, visitados[actual]);
+			visitados[actual]= true;
+			total+= arco.getWeight();
+		}
+		assertEquals(destino, actual);
+		return total;
+	}
+}
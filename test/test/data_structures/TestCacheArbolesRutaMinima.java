@@ -0,0 +1,161 @@
+package test.data_structures;
+
+import model.data_structures.ArbolRutaMinima;
+import model.data_structures.CacheArbolesRutaMinima;
+import model.data_structures.GrafoListaAdyacencia;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestCacheArbolesRutaMinima {
+
+	private GrafoListaAdyacencia<Integer, Integer> grafo;
+	private CacheArbolesRutaMinima<Integer, Integer> cache;
+	private List<ArbolRutaMinima<Integer, Integer>> arboles;
+	private long tamano;
+	private static int TAMANO=20;
+	private static int CAPACIDAD=4;
+
+	@Before
+	public void setUp1() throws Exception {
+		grafo= new GrafoListaAdyacencia<Integer, Integer>(TAMANO);
+		for(int i=0; i<TAMANO; i++)
+		{
+			grafo.insertarVertice(i, i);
+		}
+		for(int i=1; i<TAMANO; i++)
+		{
+			grafo.agregarArco(i - 1, i, i);
+		}
+		arboles= new ArrayList<ArbolRutaMinima<Integer, Integer>>();
+		for(int i=0; i<TAMANO; i++)
+		{
+			arboles.add(grafo.arbolRutaMinima(i));
+		}
+		// Todos los árboles del grafo ocupan lo mismo, así que caben exactamente CAPACIDAD
+		tamano= arboles.get(0).tamanoEnBytes();
+		cache= new CacheArbolesRutaMinima<Integer, Integer>(CAPACIDAD * tamano);
+	}
+
+	@Test
+	public void testDesalojoLRU() throws Exception {
+		for(int i=0; i<CAPACIDAD; i++)
+		{
+			cache.poner(i, arboles.get(i), cache.darVersion());
+		}
+		assertEquals(CAPACIDAD, cache.size());
+		assertEquals(CAPACIDAD * tamano, cache.darBytesUsados());
+		assertEquals(0, cache.darDesalojos());
+
+		// Consultar 0 lo vuelve el más reciente: el siguiente en salir es 1
+		assertSame(arboles.get(0), cache.obtener(0));
+		cache.poner(CAPACIDAD, arboles.get(CAPACIDAD), cache.darVersion());
+		assertEquals(1, cache.darDesalojos());
+		assertNull(cache.obtener(1));
+		assertSame(arboles.get(0), cache.obtener(0));
+		assertSame(arboles.get(2), cache.obtener(2));
+		assertEquals(CAPACIDAD * tamano, cache.darBytesUsados());
+
+		// Reemplazar un árbol no cuenta dos veces sus bytes ni desaloja
+		cache.poner(2, arboles.get(2), cache.darVersion());
+		assertEquals(CAPACIDAD, cache.size());
+		assertEquals(1, cache.darDesalojos());
+
+		// Con menos capacidad salen los menos recientes: 3 y después 4
+		cache.cambiarCapacidad(2 * tamano);
+		assertEquals(3, cache.darDesalojos());
+		assertNull(cache.obtener(3));
+		assertNull(cache.obtener(CAPACIDAD));
+		assertSame(arboles.get(0), cache.obtener(0));
+		assertSame(arboles.get(2), cache.obtener(2));
+
+		// Un árbol que no cabe solo no se guarda ni desaloja a nadie
+		cache.cambiarCapacidad(tamano - 1);
+		assertEquals(0, cache.size());
+		cache.poner(5, arboles.get(5), cache.darVersion());
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.darBytesUsados());
+		assertEquals(5, cache.darDesalojos());
+	}
+
+	@Test
+	public void testIgualQueReferencia() throws Exception {
+		Random azar= new Random(7);
+		List<Integer> referencia= new ArrayList<Integer>();
+		long aciertos= 0;
+		long fallos= 0;
+		long desalojos= 0;
+		for(int paso=0; paso<2000; paso++)
+		{
+			int origen= azar.nextInt(2 * CAPACIDAD);
+			String mensaje= "Paso " + paso + " origen " + origen;
+			if(azar.nextBoolean())
+			{
+				ArbolRutaMinima<Integer, Integer> arbol= cache.obtener(origen);
+				boolean esta= referencia.remove((Integer) origen);
+				if(esta)
+				{
+					referencia.add(origen);
+					aciertos++;
+					assertSame(mensaje, arboles.get(origen), arbol);
+				}
+				else
+				{
+					fallos++;
+					assertNull(mensaje, arbol);
+				}
+			}
+			else
+			{
+				cache.poner(origen, arboles.get(origen), cache.darVersion());
+				referencia.remove((Integer) origen);
+				referencia.add(origen);
+				if(referencia.size() > CAPACIDAD)
+				{
+					referencia.remove(0);
+					desalojos++;
+				}
+			}
+			assertEquals(mensaje, referencia.size(), cache.size());
+			assertEquals(mensaje, referencia.size() * tamano, cache.darBytesUsados());
+			assertEquals(mensaje, aciertos, cache.darAciertos());
+			assertEquals(mensaje, fallos, cache.darFallos());
+			assertEquals(mensaje, desalojos, cache.darDesalojos());
+		}
+	}
+
+	@Test
+	public void testVersionDesactualizada() throws Exception {
+		cache.poner(0, arboles.get(0), cache.darVersion());
+		long versionCalculo= cache.darVersion();
+		cache.invalidar();
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.darBytesUsados());
+
+		// El árbol se calculó antes de invalidar: se descarta sin contar como desalojo
+		cache.poner(1, arboles.get(1), versionCalculo);
+		assertEquals(0, cache.size());
+		assertNull(cache.obtener(1));
+		assertEquals(0, cache.darDesalojos());
+		cache.poner(1, arboles.get(1), cache.darVersion());
+		assertSame(arboles.get(1), cache.obtener(1));
+
+		// Lo mismo con la caché del grafo: un arco agregado entre el cálculo y el guardado la invalida
+		CacheArbolesRutaMinima<Integer, Integer> delGrafo= grafo.darCacheRutas();
+		long versionGrafo= delGrafo.darVersion();
+		ArbolRutaMinima<Integer, Integer> viejo= grafo.arbolRutaMinima(0);
+		int antes= delGrafo.size();
+		grafo.agregarArco(0, TAMANO - 1, 1);
+		assertEquals(0, delGrafo.size());
+		delGrafo.poner(0, viejo, versionGrafo);
+		assertEquals(0, delGrafo.size());
+		assertTrue(antes > 0);
+		assertEquals(1, grafo.arbolRutaMinima(0).distancia(grafo.obtenerVertice(TAMANO - 1)), 0);
+	}
+}
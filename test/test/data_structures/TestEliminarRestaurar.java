@@ -0,0 +1,264 @@
+package test.data_structures;
+
+import model.data_structures.Edge;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.ILista;
+import model.data_structures.Vertex;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestEliminarRestaurar {
+
+	private GrafoListaAdyacencia<Integer, Integer> grafo;
+	private boolean[][] adyacentes;
+	private boolean[] presentes;
+	private List<Edge<Integer, Integer>> arcosQuitados;
+	private List<Vertex<Integer, Integer>> verticesQuitados;
+	private List<ILista<Edge<Integer, Integer>>> arcosDeVertices;
+	private static int TAMANO=15;
+
+	@Before
+	public void setUp1() throws Exception {
+		grafo= new GrafoListaAdyacencia<Integer, Integer>(TAMANO);
+		adyacentes= new boolean[TAMANO][TAMANO];
+		presentes= new boolean[TAMANO];
+		for(int i=0; i<TAMANO; i++)
+		{
+			grafo.insertarVertice(i, i);
+			presentes[i]= true;
+		}
+		arcosQuitados= new ArrayList<Edge<Integer, Integer>>();
+		verticesQuitados= new ArrayList<Vertex<Integer, Integer>>();
+		arcosDeVertices= new ArrayList<ILista<Edge<Integer, Integer>>>();
+	}
+
+	/**
+	 * Arcos aleatorios; la primera consulta de componentes arma la conectividad, para que las
+	 * eliminaciones y restauraciones tengan que mantenerla o descartarla.
+	 */
+	public void setUp2(Random azar) {
+		for(int i=0; i<2 * TAMANO; i++)
+		{
+			agregar(azar.nextInt(TAMANO), azar.nextInt(TAMANO));
+		}
+		grafo.numeroComponentes();
+	}
+
+	private void agregar(int a, int b) {
+		if(a!=b && presentes[a] && presentes[b])
+		{
+			grafo.agregarArco(a, b, 1);
+			adyacentes[a][b]= true;
+			adyacentes[b][a]= true;
+		}
+	}
+
+	@Test
+	public void testIgualQueReferencia() throws Exception {
+		for(long semilla=1; semilla<=40; semilla++)
+		{
+			setUp1();
+			Random azar= new Random(semilla);
+			setUp2(azar);
+			for(int paso=0; paso<60; paso++)
+			{
+				String mensaje= "Semilla " + semilla + " paso " + paso;
+				int operacion= azar.nextInt(5);
+				if(operacion==0)
+				{
+					agregar(azar.nextInt(TAMANO), azar.nextInt(TAMANO));
+				}
+				else if(operacion==1 && grafo.numArcos() > 0)
+				{
+					Edge<Integer, Integer> arco= grafo.arcos().getElement(1 + azar.nextInt(grafo.numArcos()));
+					assertTrue(mensaje, grafo.eliminarArco(arco));
+					assertFalse(mensaje, grafo.eliminarArco(arco));
+					quitarReferencia(arco);
+					arcosQuitados.add(arco);
+				}
+				else if(operacion==2 && !arcosQuitados.isEmpty())
+				{
+					Edge<Integer, Integer> arco= arcosQuitados.remove(azar.nextInt(arcosQuitados.size()));
+					int a= arco.getSource().getId();
+					int b= arco.getDestination().getId();
+					boolean esperado= presentes[a] && presentes[b] && !adyacentes[a][b];
+					assertEquals(mensaje + " restaurar " + a + "-" + b, esperado, grafo.restaurarArco(arco));
+					if(esperado)
+					{
+						adyacentes[a][b]= true;
+						adyacentes[b][a]= true;
+					}
+				}
+				else if(operacion==3)
+				{
+					int v= azar.nextInt(TAMANO);
+					Vertex<Integer, Integer> vertice= grafo.obtenerVertice(v);
+					ILista<Edge<Integer, Integer>> quitados= grafo.eliminarVertice(v);
+					assertEquals(mensaje, presentes[v], quitados!=null);
+					if(quitados!=null)
+					{
+						assertEquals(mensaje, grado(v), quitados.size());
+						for(Edge<Integer, Integer> arco : quitados)
+						{
+							quitarReferencia(arco);
+						}
+						presentes[v]= false;
+						verticesQuitados.add(vertice);
+						arcosDeVertices.add(quitados);
+					}
+				}
+				else if(operacion==4 && !verticesQuitados.isEmpty())
+				{
+					int i= azar.nextInt(verticesQuitados.size());
+					Vertex<Integer, Integer> vertice= verticesQuitados.remove(i);
+					ILista<Edge<Integer, Integer>> quitados= arcosDeVertices.remove(i);
+					int v= vertice.getId();
+					assertTrue(mensaje, grafo.restaurarVertice(vertice, quitados));
+					presentes[v]= true;
+					for(Edge<Integer, Integer> arco : quitados)
+					{
+						int w= arco.getDestination().getId();
+						if(arco.estaEnGrafo())
+						{
+							assertTrue(mensaje + " " + v + "-" + w, presentes[w] && !adyacentes[v][w]);
+							adyacentes[v][w]= true;
+							adyacentes[w][v]= true;
+						}
+						else
+						{
+							arcosQuitados.add(arco);
+						}
+					}
+				}
+				compararConReferencia(mensaje);
+			}
+
+			// Quitar todo arco por arco: cada eliminación usa la posición que quedó guardada en el
+			// arco, así que una posición desactualizada quitaría otro arco de la lista
+			while(grafo.numArcos() > 0)
+			{
+				Edge<Integer, Integer> arco= grafo.arcos().getElement(1 + azar.nextInt(grafo.numArcos()));
+				assertTrue(grafo.eliminarArco(arco));
+				quitarReferencia(arco);
+				compararConReferencia("Semilla " + semilla + " al vaciar");
+			}
+		}
+	}
+
+	private void quitarReferencia(Edge<Integer, Integer> arco) {
+		int a= arco.getSource().getId();
+		int b= arco.getDestination().getId();
+		adyacentes[a][b]= false;
+		adyacentes[b][a]= false;
+	}
+
+	private int grado(int v) {
+		int grado= 0;
+		for(int w=0; w<TAMANO; w++)
+		{
+			if(adyacentes[v][w])
+			{
+				grado++;
+			}
+		}
+		return grado;
+	}
+
+	/**
+	 * Cantidad de vértices y arcos, índices densos, lista de arcos de cada vértice igual a la
+	 * referencia y componentes contadas sobre la referencia.
+	 */
+	private void compararConReferencia(String mensaje) throws Exception {
+		int vertices= 0;
+		int arcos= 0;
+		for(int v=0; v<TAMANO; v++)
+		{
+			if(presentes[v])
+			{
+				vertices++;
+				arcos+= grado(v);
+			}
+		}
+		arcos/= 2;
+		assertEquals(mensaje, vertices, grafo.numVertices());
+		assertEquals(mensaje, arcos, grafo.numArcos());
+		assertEquals(mensaje, arcos, grafo.arcos().size());
+		for(Edge<Integer, Integer> arco : grafo.arcos())
+		{
+			assertTrue(mensaje, arco.estaEnGrafo());
+		}
+		for(Edge<Integer, Integer> arco : arcosQuitados)
+		{
+			int a= arco.getSource().getId();
+			int b= arco.getDestination().getId();
+			assertEquals(mensaje, adyacentes[a][b] && grafo.obtenerArco(a, b)==arco, arco.estaEnGrafo());
+		}
+
+		ILista<Vertex<Integer, Integer>> lista= grafo.vertices();
+		for(int i=1; i<=lista.size(); i++)
+		{
+			Vertex<Integer, Integer> vertice= lista.getElement(i);
+			int v= vertice.getId();
+			assertEquals(mensaje + " índice de " + v, i - 1, vertice.getIndice());
+			assertTrue(mensaje, presentes[v]);
+			assertEquals(mensaje + " grado de " + v, grado(v), vertice.outdegree());
+			boolean[] vistos= new boolean[TAMANO];
+			for(Edge<Integer, Integer> arco : vertice.edges())
+			{
+				int w= arco.getDestination().getId();
+				assertSame(mensaje, vertice, arco.getSource());
+				assertTrue(mensaje + " arco " + v + "-" + w, adyacentes[v][w] && !vistos[w]);
+				assertTrue(mensaje, arco.estaEnGrafo());
+				assertSame(mensaje, arco, vertice.getEdge(w));
+				vistos[w]= true;
+			}
+		}
+
+		assertEquals(mensaje, componentesReferencia(), grafo.numeroComponentes());
+	}
+
+	private int componentesReferencia() {
+		int[] padre= new int[TAMANO];
+		int componentes= 0;
+		for(int v=0; v<TAMANO; v++)
+		{
+			padre[v]= v;
+			if(presentes[v])
+			{
+				componentes++;
+			}
+		}
+		for(int a=0; a<TAMANO; a++)
+		{
+			for(int b=a + 1; b<TAMANO; b++)
+			{
+				if(adyacentes[a][b])
+				{
+					int raizA= a;
+					int raizB= b;
+					while(padre[raizA]!=raizA)
+					{
+						raizA= padre[raizA];
+					}
+					while(padre[raizB]!=raizB)
+					{
+						raizB= padre[raizB];
+					}
+					if(raizA!=raizB)
+					{
+						padre[raizA]= raizB;
+						componentes--;
+					}
+				}
+			}
+		}
+		return componentes;
+	}
+}
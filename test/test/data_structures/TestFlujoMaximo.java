@@ -0,0 +1,181 @@
+package test.data_structures;
+
+import model.data_structures.Edge;
+import model.data_structures.FlujoMaximo;
+import model.data_structures.GrafoListaAdyacencia;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestFlujoMaximo {
+
+	private GrafoListaAdyacencia<Integer, Integer> grafo;
+	private double[][] capacidades;
+	private static int TAMANO=10;
+
+	@Before
+	public void setUp1() throws Exception {
+		grafo= new GrafoListaAdyacencia<Integer, Integer>(TAMANO);
+		for(int i=0; i<TAMANO; i++)
+		{
+			grafo.insertarVertice(i, i);
+		}
+		capacidades= new double[TAMANO][TAMANO];
+	}
+
+	/**
+	 * Grafo aleatorio con capacidades enteras; algunos arcos sin capacidad (infinita), como los
+	 * que unen una capital con sus landings.
+	 */
+	public void setUp2(long semilla, boolean conInfinitos) {
+		Random azar= new Random(semilla);
+		for(int i=0; i<2 * TAMANO; i++)
+		{
+			int a= azar.nextInt(TAMANO);
+			int b= azar.nextInt(TAMANO);
+			if(a!=b && capacidades[a][b]==0)
+			{
+				float capacidad= conInfinitos && azar.nextInt(5)==0 ? Float.POSITIVE_INFINITY : 1 + azar.nextInt(9);
+				grafo.agregarArco(a, b, 1, capacidad);
+				capacidades[a][b]= capacidad;
+				capacidades[b][a]= capacidad;
+			}
+		}
+	}
+
+	@Test
+	public void testCaminoYDiamante() {
+		// 0 = 1 - 3 y 0 - 2 - 3: el cuello es 1-3 (2) más 2-3 (4)
+		grafo.agregarArco(0, 1, 1, 10);
+		grafo.agregarArco(1, 3, 1, 2);
+		grafo.agregarArco(0, 2, 1, 5);
+		grafo.agregarArco(2, 3, 1, 4);
+		FlujoMaximo<Integer, Integer> flujo= grafo.flujoMaximo(0, 3);
+		assertEquals(6.0, flujo.darValor(), 1e-9);
+		assertFalse(flujo.esIlimitado());
+		assertEquals(2, flujo.darCorte().size());
+
+		assertEquals(0.0, grafo.flujoMaximo(0, 0).darValor(), 1e-9);
+		assertEquals(0.0, grafo.flujoMaximo(0, 5).darValor(), 1e-9);
+	}
+
+	@Test
+	public void testIlimitado() {
+		grafo.agregarArco(0, 1, 1);
+		grafo.agregarArco(1, 2, 1);
+		grafo.agregarArco(0, 2, 1, 3);
+		assertTrue(grafo.flujoMaximo(0, 2).esIlimitado());
+	}
+
+	@Test
+	public void testIgualQueEdmondsKarp() throws Exception {
+		for(long semilla=1; semilla<=60; semilla++)
+		{
+			setUp1();
+			setUp2(semilla, semilla % 2==0);
+			for(int s=0; s<3; s++)
+			{
+				for(int t=TAMANO - 1; t>TAMANO - 4; t--)
+				{
+					comparar(semilla, s, t);
+				}
+			}
+		}
+	}
+
+	private void comparar(long semilla, int s, int t) {
+		String caso= "Semilla " + semilla + " " + s + " -> " + t;
+		double infinito= 1;
+		for(double[] fila : capacidades)
+		{
+			for(double capacidad : fila)
+			{
+				if(capacidad!=Float.POSITIVE_INFINITY)
+				{
+					infinito+= capacidad;
+				}
+			}
+		}
+		double esperado= edmondsKarp(s, t, infinito);
+		FlujoMaximo<Integer, Integer> flujo= grafo.flujoMaximo(s, t);
+		assertEquals(caso, esperado >= infinito, flujo.esIlimitado());
+		if(flujo.esIlimitado())
+		{
+			return;
+		}
+		assertEquals(caso, esperado, flujo.darValor(), 1e-6);
+
+		// El corte separa fuente de sumidero y sus capacidades suman el flujo
+		assertTrue(caso, flujo.estaDelLadoFuente(grafo.obtenerVertice(s)));
+		assertFalse(caso, flujo.estaDelLadoFuente(grafo.obtenerVertice(t)));
+		double corte= 0;
+		for(Edge<Integer, Integer> arco : flujo.darCorte())
+		{
+			assertTrue(caso, flujo.estaDelLadoFuente(arco.getSource()));
+			assertFalse(caso, flujo.estaDelLadoFuente(arco.getDestination()));
+			corte+= arco.getCapacidad();
+		}
+		assertEquals(caso, esperado, corte, 1e-6);
+	}
+
+	/**
+	 * Edmonds-Karp sobre la matriz de capacidades no dirigida, con las infinitas reemplazadas por
+	 * un valor que ningún corte finito alcanza.
+	 */
+	private double edmondsKarp(int s, int t, double infinito) {
+		if(s==t)
+		{
+			return 0;
+		}
+		double[][] residual= new double[TAMANO][TAMANO];
+		for(int a=0; a<TAMANO; a++)
+		{
+			for(int b=0; b<TAMANO; b++)
+			{
+				residual[a][b]= capacidades[a][b]==Float.POSITIVE_INFINITY ? infinito : capacidades[a][b];
+			}
+		}
+		double total= 0;
+		int[] padre= new int[TAMANO];
+		while(true)
+		{
+			Arrays.fill(padre, -1);
+			padre[s]= s;
+			ArrayDeque<Integer> cola= new ArrayDeque<Integer>();
+			cola.add(s);
+			while(!cola.isEmpty() && padre[t]==-1)
+			{
+				int v= cola.poll();
+				for(int w=0; w<TAMANO; w++)
+				{
+					if(padre[w]==-1 && residual[v][w] > 1e-9)
+					{
+						padre[w]= v;
+						cola.add(w);
+					}
+				}
+			}
+			if(padre[t]==-1)
+			{
+				return total;
+			}
+			double cuello= Double.MAX_VALUE;
+			for(int w=t; w!=s; w=padre[w])
+			{
+				cuello= Math.min(cuello, residual[padre[w]][w]);
+			}
+			for(int w=t; w!=s; w=padre[w])
+			{
+				residual[padre[w]][w]-= cuello;
+				residual[w][padre[w]]+= cuello;
+			}
+			total+= cuello;
+		}
+	}
+}
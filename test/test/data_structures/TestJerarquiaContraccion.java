@@ -0,0 +1,136 @@
+package test.data_structures;
+
+import model.data_structures.Edge;
+import model.data_structures.GrafoCSR;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.JerarquiaContraccion;
+import model.data_structures.PilaEncadenada;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestJerarquiaContraccion {
+
+	@Rule
+	public TemporaryFolder carpeta= new TemporaryFolder();
+
+	private GrafoListaAdyacencia<String, String> grafo;
+	private static int TAMANO=80;
+
+	@Before
+	public void setUp1() throws Exception {
+		grafo= new GrafoListaAdyacencia<String, String>(TAMANO);
+		for(int i=0; i<TAMANO; i++)
+		{
+			grafo.insertarVertice("v" + i, "v" + i);
+		}
+	}
+
+	/**
+	 * Grafo aleatorio disperso con algunos vértices sueltos y pesos repetidos, para que haya
+	 * empates y pares sin ruta.
+	 */
+	public void setUp2(long semilla) {
+		Random azar= new Random(semilla);
+		for(int i=0; i<3 * TAMANO; i++)
+		{
+			int a= azar.nextInt(TAMANO - 5);
+			int b= azar.nextInt(TAMANO - 5);
+			if(a!=b)
+			{
+				grafo.agregarArco("v" + a, "v" + b, 1 + azar.nextInt(20));
+			}
+		}
+	}
+
+	@Test
+	public void testIgualQueDijkstra() throws Exception {
+		for(long semilla=1; semilla<=3; semilla++)
+		{
+			setUp1();
+			setUp2(semilla);
+			compararConDijkstra(JerarquiaContraccion.construir(grafo));
+		}
+	}
+
+	@Test
+	public void testLeerMismoGrafo() throws Exception {
+		setUp2(7);
+		Path archivo= carpeta.getRoot().toPath().resolve("grafo.jerarquia");
+		JerarquiaContraccion<String, String> construida= JerarquiaContraccion.construir(grafo);
+		construida.escribir(archivo);
+
+		JerarquiaContraccion<String, String> leida= JerarquiaContraccion.leer(archivo, grafo);
+		assertNotNull(leida);
+		assertEquals(construida.numAtajos(), leida.numAtajos());
+		compararConDijkstra(leida);
+	}
+
+	@Test
+	public void testLeerOtroGrafoSeReconstruye() throws Exception {
+		setUp2(7);
+		Path archivo= carpeta.getRoot().toPath().resolve("grafo.jerarquia");
+		JerarquiaContraccion.construir(grafo).escribir(archivo);
+
+		// Mismos vértices y arcos, un peso distinto: cambia la huella
+		Edge<String, String> arco= grafo.arcos().getElement(1);
+		arco.setWeight(arco.getWeight() + 1);
+		assertNull(JerarquiaContraccion.leer(archivo, grafo));
+
+		// Un vértice y un arco más
+		grafo.insertarVertice("nuevo", "nuevo");
+		grafo.agregarArco("nuevo", "v0", 3);
+		assertNull(JerarquiaContraccion.leer(archivo, grafo));
+
+		JerarquiaContraccion<String, String> reconstruida= JerarquiaContraccion.construir(grafo);
+		reconstruida.escribir(archivo);
+		assertNotNull(JerarquiaContraccion.leer(archivo, grafo));
+		compararConDijkstra(reconstruida);
+	}
+
+	/**
+	 * Para todos los pares: la distancia de la jerarquía es la de Dijkstra sobre el CSR y la ruta
+	 * desempacada son arcos del grafo, contiguos de origen a destino, cuyos pesos suman esa distancia.
+	 */
+	private void compararConDijkstra(JerarquiaContraccion<String, String> jerarquia) {
+		GrafoCSR<String, String> csr= grafo.compactar();
+		int n= csr.numVertices();
+		float[] distTo= new float[n];
+		int[] arcoHacia= new int[n];
+		for(int s=0; s<n; s++)
+		{
+			csr.arbolRutaMinima(s, distTo, arcoHacia);
+			String origen= csr.vertice(s).getId();
+			for(int t=0; t<n; t++)
+			{
+				String destino= csr.vertice(t).getId();
+				PilaEncadenada<Edge<String, String>> ruta= jerarquia.rutaMinima(origen, destino);
+				if(distTo[t]==Float.POSITIVE_INFINITY || s==t)
+				{
+					assertTrue(origen + " -> " + destino, ruta.isEmpty());
+					continue;
+				}
+
+				float total= 0;
+				String actual= origen;
+				while(!ruta.isEmpty())
+				{
+					Edge<String, String> arco= ruta.pop();
+					assertEquals(actual, arco.getSource().getId());
+					assertSame(arco, grafo.obtenerArco(arco.getSource().getId(), arco.getDestination().getId()));
+					total+= arco.getWeight();
+					actual= arco.getDestination().getId();
+				}
+				assertEquals(destino, actual);
+				assertEquals(origen + " -> " + destino, distTo[t], total, 1e-3);
+			}
+		}
+	}
+}
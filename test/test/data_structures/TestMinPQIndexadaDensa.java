@@ -0,0 +1,165 @@
+package test.data_structures;
+
+import model.data_structures.MinPQIndexadaDensa;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestMinPQIndexadaDensa {
+
+	private MinPQIndexadaDensa cola;
+	private float[] prioridades;
+	private boolean[] presentes;
+	private int tamano;
+	private static int TAMANO=50;
+
+	@Before
+	public void setUp1() throws Exception {
+		cola= new MinPQIndexadaDensa(TAMANO);
+		prioridades= new float[TAMANO];
+		presentes= new boolean[TAMANO];
+		tamano= 0;
+	}
+
+	/**
+	 * Inserta la mitad de los índices con prioridades enteras pequeñas, para que haya empates.
+	 */
+	public void setUp2(Random azar) {
+		for(int i=0; i<TAMANO; i+=2)
+		{
+			insertar(i, azar.nextInt(20));
+		}
+	}
+
+	private void insertar(int indice, float prioridad) {
+		cola.insert(indice, prioridad);
+		prioridades[indice]= prioridad;
+		presentes[indice]= true;
+		tamano++;
+	}
+
+	@Test
+	public void testOrdenConocido() {
+		insertar(3, 5);
+		insertar(7, 1);
+		insertar(0, 4);
+		insertar(9, 2);
+		cola.decreaseKey(0, 0);
+		cola.changePriority(7, 8);
+		cola.delete(9);
+
+		assertEquals(3, cola.size());
+		assertFalse(cola.contains(9));
+		assertEquals(0, cola.delMin());
+		assertEquals(3, cola.delMin());
+		assertEquals(7, cola.delMin());
+		assertTrue(cola.isEmpty());
+		assertFalse(cola.contains(7));
+	}
+
+	@Test
+	public void testIgualQueReferencia() throws Exception {
+		for(long semilla=1; semilla<=30; semilla++)
+		{
+			setUp1();
+			Random azar= new Random(semilla);
+			setUp2(azar);
+			for(int paso=0; paso<500; paso++)
+			{
+				int indice= azar.nextInt(TAMANO);
+				int operacion= azar.nextInt(6);
+				if(!presentes[indice])
+				{
+					insertar(indice, azar.nextInt(20));
+				}
+				else if(operacion==0)
+				{
+					float menor= prioridades[indice] - azar.nextInt(5);
+					cola.decreaseKey(indice, menor);
+					prioridades[indice]= menor;
+				}
+				else if(operacion==1)
+				{
+					float mayor= prioridades[indice] + azar.nextInt(5);
+					cola.changePriority(indice, mayor);
+					prioridades[indice]= mayor;
+				}
+				else if(operacion==2)
+				{
+					float nueva= azar.nextInt(20);
+					cola.insertOrChange(indice, nueva);
+					prioridades[indice]= nueva;
+				}
+				else if(operacion==3)
+				{
+					cola.delete(indice);
+					presentes[indice]= false;
+					tamano--;
+				}
+				else if(operacion==4)
+				{
+					sacarMinimo("Semilla " + semilla + " paso " + paso);
+				}
+				compararConReferencia("Semilla " + semilla + " paso " + paso);
+			}
+
+			// Vaciar la cola: las prioridades salen en orden no decreciente
+			float anterior= Float.NEGATIVE_INFINITY;
+			while(tamano > 0)
+			{
+				float actual= sacarMinimo("Semilla " + semilla);
+				assertTrue("Semilla " + semilla + " fuera de orden", actual >= anterior);
+				anterior= actual;
+			}
+			assertTrue(cola.isEmpty());
+		}
+	}
+
+	/**
+	 * Saca el mínimo de la cola y verifica que su prioridad es la menor de la referencia (con
+	 * empates puede salir cualquiera de los índices empatados).
+	 */
+	private float sacarMinimo(String mensaje) {
+		float minimo= minimoReferencia();
+		assertEquals(mensaje, minimo, cola.minPrioridad(), 0);
+		int indice= cola.delMin();
+		assertTrue(mensaje + " índice " + indice, presentes[indice]);
+		assertEquals(mensaje, minimo, prioridades[indice], 0);
+		presentes[indice]= false;
+		tamano--;
+		return minimo;
+	}
+
+	private void compararConReferencia(String mensaje) {
+		assertEquals(mensaje, tamano, cola.size());
+		assertEquals(mensaje, tamano==0, cola.isEmpty());
+		for(int i=0; i<TAMANO; i++)
+		{
+			assertEquals(mensaje + " índice " + i, presentes[i], cola.contains(i));
+			if(presentes[i])
+			{
+				assertEquals(mensaje + " índice " + i, prioridades[i], cola.prioridad(i), 0);
+			}
+		}
+		if(tamano > 0)
+		{
+			assertEquals(mensaje, minimoReferencia(), prioridades[cola.minIndex()], 0);
+		}
+	}
+
+	private float minimoReferencia() {
+		float minimo= Float.POSITIVE_INFINITY;
+		for(int i=0; i<TAMANO; i++)
+		{
+			if(presentes[i] && prioridades[i] < minimo)
+			{
+				minimo= prioridades[i];
+			}
+		}
+		return minimo;
+	}
+}
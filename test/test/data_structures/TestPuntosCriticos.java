@@ -0,0 +1,161 @@
+package test.data_structures;
+
+import model.data_structures.Edge;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.PuntosCriticos;
+import model.data_structures.Vertex;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestPuntosCriticos {
+
+	private GrafoListaAdyacencia<Integer, Integer> grafo;
+	private int[][] arcos;
+	private int numArcos;
+	private static int TAMANO=12;
+
+	@Before
+	public void setUp1() throws Exception {
+		grafo= new GrafoListaAdyacencia<Integer, Integer>(TAMANO);
+		for(int i=0; i<TAMANO; i++)
+		{
+			grafo.insertarVertice(i, i);
+		}
+		arcos= new int[TAMANO * TAMANO][];
+		numArcos= 0;
+	}
+
+	/**
+	 * Grafo aleatorio con la cantidad de arcos dada; queda con componentes, hojas y ciclos según
+	 * la densidad.
+	 */
+	public void setUp2(long semilla, int intentos) {
+		Random azar= new Random(semilla);
+		for(int i=0; i<intentos; i++)
+		{
+			int a= azar.nextInt(TAMANO);
+			int b= azar.nextInt(TAMANO);
+			if(a!=b && grafo.obtenerArco(a, b)==null)
+			{
+				grafo.agregarArco(a, b, 1);
+				arcos[numArcos++]= new int[] {a, b};
+			}
+		}
+	}
+
+	@Test
+	public void testCadenaYCiclo() throws Exception {
+		// 0-1-2-3 en cadena y 3-4-5-3 en triángulo
+		int[][] lista= { {0, 1}, {1, 2}, {2, 3}, {3, 4}, {4, 5}, {5, 3} };
+		for(int[] arco : lista)
+		{
+			grafo.agregarArco(arco[0], arco[1], 1);
+		}
+		PuntosCriticos<Integer, Integer> puntos= grafo.puntosCriticos();
+		assertEquals(3, puntos.numArticulaciones());
+		assertTrue(puntos.esArticulacion(grafo.obtenerVertice(1)));
+		assertTrue(puntos.esArticulacion(grafo.obtenerVertice(2)));
+		assertTrue(puntos.esArticulacion(grafo.obtenerVertice(3)));
+		assertEquals(3, puntos.numPuentes());
+	}
+
+	@Test
+	public void testIgualQueFuerzaBruta() throws Exception {
+		for(long semilla=1; semilla<=60; semilla++)
+		{
+			setUp1();
+			setUp2(semilla, (int) (semilla % 4 + 1) * TAMANO / 2);
+			compararConFuerzaBruta();
+		}
+	}
+
+	/**
+	 * Un vértice es de articulación si quitarlo aumenta las componentes de los demás; un arco es
+	 * puente si quitarlo aumenta las componentes.
+	 */
+	private void compararConFuerzaBruta() {
+		PuntosCriticos<Integer, Integer> puntos= grafo.puntosCriticos();
+		int componentes= contarComponentes(-1, -1);
+
+		int articulaciones= 0;
+		for(int v=0; v<TAMANO; v++)
+		{
+			boolean esperado= contarComponentes(v, -1) > componentes;
+			assertEquals("Vértice " + v, esperado, puntos.esArticulacion(grafo.obtenerVertice(v)));
+			if(esperado)
+			{
+				articulaciones++;
+			}
+		}
+		assertEquals(articulaciones, puntos.numArticulaciones());
+
+		boolean[][] esPuente= new boolean[TAMANO][TAMANO];
+		int puentes= 0;
+		for(int i=0; i<numArcos; i++)
+		{
+			if(contarComponentes(-1, i) > componentes)
+			{
+				esPuente[arcos[i][0]][arcos[i][1]]= true;
+				esPuente[arcos[i][1]][arcos[i][0]]= true;
+				puentes++;
+			}
+		}
+		assertEquals(puentes, puntos.numPuentes());
+		for(Edge<Integer, Integer> puente : puntos.darPuentes())
+		{
+			assertTrue(esPuente[puente.getSource().getId()][puente.getDestination().getId()]);
+		}
+	}
+
+	/**
+	 * Componentes del grafo sin el vértice y sin el arco indicados (-1 para no quitar nada),
+	 * recorriendo la lista de arcos del test y no el grafo.
+	 */
+	private int contarComponentes(int verticeQuitado, int arcoQuitado) {
+		int[] padre= new int[TAMANO];
+		for(int v=0; v<TAMANO; v++)
+		{
+			padre[v]= v;
+		}
+		int componentes= verticeQuitado==-1 ? TAMANO : TAMANO - 1;
+		for(int i=0; i<numArcos; i++)
+		{
+			int a= arcos[i][0];
+			int b= arcos[i][1];
+			if(i==arcoQuitado || a==verticeQuitado || b==verticeQuitado)
+			{
+				continue;
+			}
+			while(padre[a]!=a)
+			{
+				a= padre[a];
+			}
+			while(padre[b]!=b)
+			{
+				b= padre[b];
+			}
+			if(a!=b)
+			{
+				padre[a]= b;
+				componentes--;
+			}
+		}
+		return componentes;
+	}
+
+	@Test
+	public void testDespuesDeEliminarYRestaurar() throws Exception {
+		setUp2(5, 2 * TAMANO);
+		Vertex<Integer, Integer> vertice= grafo.obtenerVertice(0);
+		Edge<Integer, Integer> arco= grafo.arcos().getElement(1);
+		grafo.eliminarArco(arco);
+		grafo.restaurarArco(arco);
+		grafo.restaurarVertice(vertice, grafo.eliminarVertice(0));
+		compararConFuerzaBruta();
+	}
+}
@@ -0,0 +1,285 @@
+package test.data_structures;
+
+import model.data_structures.Edge;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.ILista;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestRutasAlternativas {
+
+	private GrafoListaAdyacencia<Integer, Integer> grafo;
+	private int[][] pesos;
+	private static int TAMANO=7;
+
+	@Before
+	public void setUp1() throws Exception {
+		grafo= new GrafoListaAdyacencia<Integer, Integer>(TAMANO);
+		for(int i=0; i<TAMANO; i++)
+		{
+			grafo.insertarVertice(i, i);
+		}
+		pesos= new int[TAMANO][TAMANO];
+	}
+
+	/**
+	 * Grafo aleatorio con pesos enteros pequeños, para que haya rutas empatadas.
+	 */
+	public void setUp2(long semilla) {
+		Random azar= new Random(semilla);
+		for(int i=0; i<2 * TAMANO; i++)
+		{
+			int a= azar.nextInt(TAMANO);
+			int b= azar.nextInt(TAMANO);
+			if(a!=b && pesos[a][b]==0)
+			{
+				unir(a, b, 1 + azar.nextInt(6));
+			}
+		}
+	}
+
+	private void unir(int a, int b, int peso) {
+		grafo.agregarArco(a, b, peso);
+		pesos[a][b]= peso;
+		pesos[b][a]= peso;
+	}
+
+	@Test
+	public void testKRutasConocidas() throws Exception {
+		// Cuadrado 0-1-3 / 0-2-3 más el atajo 0-3
+		unir(0, 1, 1);
+		unir(1, 3, 1);
+		unir(0, 2, 2);
+		unir(2, 3, 2);
+		unir(0, 3, 3);
+		unir(1, 2, 5);
+
+		ILista<ILista<Edge<Integer, Integer>>> rutas= grafo.kRutasMinimas(0, 3, 10);
+		assertArrayEquals(new int[] {2, 3, 4, 8, 8}, costos(rutas));
+		assertEquals("[0, 1, 3]", Arrays.toString(vertices(rutas.getElement(1), 0)));
+		assertEquals("[0, 3]", Arrays.toString(vertices(rutas.getElement(2), 0)));
+		assertEquals("[0, 2, 3]", Arrays.toString(vertices(rutas.getElement(3), 0)));
+	}
+
+	@Test
+	public void testKRutasIgualQueFuerzaBruta() throws Exception {
+		for(long semilla=1; semilla<=40; semilla++)
+		{
+			setUp1();
+			setUp2(semilla);
+			List<int[]> todas= rutasSimples(0, TAMANO - 1);
+			int[] esperados= new int[todas.size()];
+			for(int i=0; i<esperados.length; i++)
+			{
+				esperados[i]= costo(todas.get(i));
+			}
+			Arrays.sort(esperados);
+
+			for(int k=1; k<=6; k++)
+			{
+				ILista<ILista<Edge<Integer, Integer>>> rutas= grafo.kRutasMinimas(0, TAMANO - 1, k);
+				assertArrayEquals("Semilla " + semilla + " k " + k, Arrays.copyOf(esperados, Math.min(k, esperados.length)), costos(rutas));
+
+				Set<String> vistas= new HashSet<String>();
+				for(ILista<Edge<Integer, Integer>> ruta : rutas)
+				{
+					int[] recorrido= vertices(ruta, 0);
+					assertEquals(TAMANO - 1, recorrido[recorrido.length - 1]);
+					assertEquals("Ruta con ciclo", recorrido.length, conjunto(recorrido).size());
+					assertTrue("Ruta repetida", vistas.add(Arrays.toString(recorrido)));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testDisjuntasConocidas() {
+		// Dos rutas sin arcos comunes obligan a no usar la más corta 0-1-2-3
+		unir(0, 1, 1);
+		unir(1, 2, 1);
+		unir(2, 3, 1);
+		unir(0, 2, 3);
+		unir(1, 3, 3);
+
+		ILista<ILista<Edge<Integer, Integer>>> rutas= grafo.rutasDisjuntas(0, 3, 2);
+		assertArrayEquals(new int[] {4, 4}, costos(rutas));
+		assertDisjuntas(rutas);
+	}
+
+	@Test
+	public void testDisjuntasMenosQueK() {
+		// Un solo puente 2-3: no puede haber más de una ruta sin arcos comunes
+		unir(0, 1, 1);
+		unir(0, 2, 1);
+		unir(1, 2, 1);
+		unir(2, 3, 1);
+
+		ILista<ILista<Edge<Integer, Integer>>> rutas= grafo.rutasDisjuntas(0, 3, 3);
+		assertEquals(1, rutas.size());
+		assertArrayEquals(new int[] {2}, costos(rutas));
+
+		assertEquals(0, grafo.rutasDisjuntas(0, 0, 3).size());
+		assertEquals(2, grafo.kRutasMinimas(0, 3, 5).size());
+	}
+
+	@Test
+	public void testDisjuntasIgualQueFuerzaBruta() throws Exception {
+		for(long semilla=1; semilla<=40; semilla++)
+		{
+			setUp1();
+			setUp2(semilla);
+			List<int[]> todas= rutasSimples(0, TAMANO - 1);
+			for(int k=1; k<=3; k++)
+			{
+				ILista<ILista<Edge<Integer, Integer>>> rutas= grafo.rutasDisjuntas(0, TAMANO - 1, k);
+				assertDisjuntas(rutas);
+
+				int[] mejor= new int[] {0, Integer.MAX_VALUE};
+				elegirDisjuntas(todas, 0, k, 0, 0, new HashSet<Integer>(), mejor);
+				assertEquals("Semilla " + semilla + " k " + k, mejor[0], rutas.size());
+				int total= 0;
+				for(int c : costos(rutas))
+				{
+					total+= c;
+				}
+				if(mejor[0] > 0)
+				{
+					assertEquals("Semilla " + semilla + " k " + k, mejor[1], total);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Busca la mayor cantidad (hasta k) de rutas simples sin arcos comunes y, entre esas, el menor
+	 * costo total. mejor guarda {cantidad, costo}.
+	 */
+	private void elegirDisjuntas(List<int[]> todas, int desde, int k, int cantidad, int costo, Set<Integer> usados, int[] mejor) {
+		if(cantidad > mejor[0] || (cantidad==mejor[0] && costo < mejor[1]))
+		{
+			mejor[0]= cantidad;
+			mejor[1]= costo;
+		}
+		if(cantidad==k)
+		{
+			return;
+		}
+		for(int i=desde; i<todas.size(); i++)
+		{
+			int[] ruta= todas.get(i);
+			List<Integer> cables= new ArrayList<Integer>();
+			boolean libre= true;
+			for(int j=0; j + 1<ruta.length && libre; j++)
+			{
+				int cable= Math.min(ruta[j], ruta[j + 1]) * TAMANO + Math.max(ruta[j], ruta[j + 1]);
+				libre= !usados.contains(cable);
+				cables.add(cable);
+			}
+			if(libre)
+			{
+				usados.addAll(cables);
+				elegirDisjuntas(todas, i + 1, k, cantidad + 1, costo + costo(ruta), usados, mejor);
+				usados.removeAll(cables);
+			}
+		}
+	}
+
+	private void assertDisjuntas(ILista<ILista<Edge<Integer, Integer>>> rutas) {
+		Set<String> cables= new HashSet<String>();
+		int anterior= 0;
+		for(ILista<Edge<Integer, Integer>> ruta : rutas)
+		{
+			int[] recorrido= vertices(ruta, 0);
+			assertEquals("Ruta con ciclo", recorrido.length, conjunto(recorrido).size());
+			for(Edge<Integer, Integer> arco : ruta)
+			{
+				int a= arco.getSource().getId();
+				int b= arco.getDestination().getId();
+				assertTrue("Arco compartido", cables.add(Math.min(a, b) + "-" + Math.max(a, b)));
+			}
+			int costo= costo(recorrido);
+			assertTrue("Rutas fuera de orden", costo >= anterior);
+			anterior= costo;
+		}
+	}
+
+	private List<int[]> rutasSimples(int origen, int destino) {
+		List<int[]> rutas= new ArrayList<int[]>();
+		int[] camino= new int[TAMANO];
+		camino[0]= origen;
+		extender(camino, 1, new boolean[TAMANO], destino, rutas);
+		return rutas;
+	}
+
+	private void extender(int[] camino, int longitud, boolean[] usados, int destino, List<int[]> rutas) {
+		int v= camino[longitud - 1];
+		if(v==destino)
+		{
+			rutas.add(Arrays.copyOf(camino, longitud));
+			return;
+		}
+		usados[v]= true;
+		for(int w=0; w<TAMANO; w++)
+		{
+			if(pesos[v][w] > 0 && !usados[w])
+			{
+				camino[longitud]= w;
+				extender(camino, longitud + 1, usados, destino, rutas);
+			}
+		}
+		usados[v]= false;
+	}
+
+	private int costo(int[] recorrido) {
+		int total= 0;
+		for(int i=0; i + 1<recorrido.length; i++)
+		{
+			total+= pesos[recorrido[i]][recorrido[i + 1]];
+		}
+		return total;
+	}
+
+	private int[] costos(ILista<ILista<Edge<Integer, Integer>>> rutas) {
+		int[] costos= new int[rutas.size()];
+		int i= 0;
+		for(ILista<Edge<Integer, Integer>> ruta : rutas)
+		{
+			costos[i++]= costo(vertices(ruta, 0));
+		}
+		return costos;
+	}
+
+	/**
+	 * Vértices de la ruta desde origen, verificando que los arcos son contiguos.
+	 */
+	private static int[] vertices(ILista<Edge<Integer, Integer>> ruta, int origen) {
+		int[] recorrido= new int[ruta.size() + 1];
+		recorrido[0]= origen;
+		int i= 1;
+		for(Edge<Integer, Integer> arco : ruta)
+		{
+			assertEquals(Integer.valueOf(recorrido[i - 1]), arco.getSource().getId());
+			recorrido[i++]= arco.getDestination().getId();
+		}
+		return recorrido;
+	}
+
+	private static Set<Integer> conjunto(int[] valores) {
+		Set<Integer> conjunto= new HashSet<Integer>();
+		for(int valor : valores)
+		{
+			conjunto.add(valor);
+		}
+		return conjunto;
+	}
+}
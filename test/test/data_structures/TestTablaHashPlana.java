@@ -0,0 +1,61 @@
+package test.data_structures;
+
+import model.data_structures.TablaHashPlana;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestTablaHashPlana {
+
+	private TablaHashPlana<String, Integer> tabla;
+	private static int TAMANO=2;
+
+	@Before
+	public void setUp1() {
+		tabla= new TablaHashPlana<String, Integer>(TAMANO);
+	}
+
+	public void setUp2() {
+		for(int i=0; i<1000; i++)
+		{
+			tabla.poner("llave" + i, i);
+		}
+	}
+
+	@Test
+	public void testPonerObtener() {
+		setUp2();
+		assertEquals(1000, tabla.size());
+		for(int i=0; i<1000; i++)
+		{
+			assertEquals(Integer.valueOf(i), tabla.obtener("llave" + i));
+		}
+		assertNull(tabla.obtener("no existe"));
+	}
+
+	@Test
+	public void testPonerReemplaza() {
+		setUp2();
+		tabla.poner("llave7", -7);
+		assertEquals(1000, tabla.size());
+		assertEquals(Integer.valueOf(-7), tabla.obtener("llave7"));
+	}
+
+	@Test
+	public void testEliminar() {
+		setUp2();
+		for(int i=0; i<1000; i+=2)
+		{
+			tabla.eliminar("llave" + i);
+		}
+		assertEquals(500, tabla.size());
+		for(int i=0; i<1000; i++)
+		{
+			assertEquals(i % 2 == 1, tabla.contiene("llave" + i));
+		}
+		tabla.eliminar("no existe");
+		assertEquals(500, tabla.size());
+	}
+}
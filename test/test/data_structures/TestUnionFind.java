@@ -0,0 +1,157 @@
+package test.data_structures;
+
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.UnionFind;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestUnionFind {
+
+	private UnionFind conjuntos;
+	private int[] etiquetas;
+	private int tamano;
+	private static int TAMANO=40;
+
+	@Before
+	public void setUp1() throws Exception {
+		conjuntos= new UnionFind(TAMANO);
+		etiquetas= new int[4 * TAMANO];
+		for(int i=0; i<TAMANO; i++)
+		{
+			etiquetas[i]= i;
+		}
+		tamano= TAMANO;
+	}
+
+	/**
+	 * Une pares aleatorios en la estructura y en la referencia, que reetiqueta todo el conjunto
+	 * absorbido en cada unión.
+	 */
+	public void setUp2(Random azar, int uniones) {
+		for(int i=0; i<uniones; i++)
+		{
+			int a= azar.nextInt(tamano);
+			int b= azar.nextInt(tamano);
+			boolean esperado= etiquetas[a]!=etiquetas[b];
+			assertEquals("Unión " + a + "-" + b, esperado, conjuntos.union(a, b));
+			unirReferencia(a, b);
+		}
+	}
+
+	private void unirReferencia(int a, int b) {
+		int vieja= etiquetas[b];
+		for(int i=0; i<tamano; i++)
+		{
+			if(etiquetas[i]==vieja)
+			{
+				etiquetas[i]= etiquetas[a];
+			}
+		}
+	}
+
+	@Test
+	public void testIgualQueFuerzaBruta() throws Exception {
+		for(long semilla=1; semilla<=30; semilla++)
+		{
+			setUp1();
+			Random azar= new Random(semilla);
+			for(int ronda=0; ronda<4; ronda++)
+			{
+				setUp2(azar, TAMANO / 4);
+				compararConReferencia("Semilla " + semilla + " ronda " + ronda);
+			}
+		}
+	}
+
+	@Test
+	public void testAgregarCrece() throws Exception {
+		for(long semilla=1; semilla<=20; semilla++)
+		{
+			// Desde un solo elemento, para que agregar tenga que copiar los arreglos varias veces
+			conjuntos= new UnionFind(1);
+			etiquetas[0]= 0;
+			tamano= 1;
+			Random azar= new Random(semilla);
+			while(tamano < etiquetas.length)
+			{
+				assertEquals(tamano, conjuntos.agregar());
+				etiquetas[tamano]= tamano;
+				tamano++;
+				setUp2(azar, azar.nextInt(2));
+				if(tamano % 16==0)
+				{
+					compararConReferencia("Semilla " + semilla + " tamaño " + tamano);
+				}
+			}
+			compararConReferencia("Semilla " + semilla);
+		}
+	}
+
+	@Test
+	public void testGrafoConectividadIncremental() throws Exception {
+		GrafoListaAdyacencia<Integer, Integer> grafo= new GrafoListaAdyacencia<Integer, Integer>(2);
+		tamano= 0;
+		Random azar= new Random(18);
+		// La primera consulta crea la conectividad; de ahí en adelante la mantienen los vértices y arcos nuevos
+		assertEquals(0, grafo.numeroComponentes());
+		for(int i=0; i<3 * TAMANO; i++)
+		{
+			grafo.insertarVertice(i, i);
+			etiquetas[i]= i;
+			tamano++;
+			int b= azar.nextInt(tamano);
+			if(b!=i && azar.nextInt(3) > 0)
+			{
+				int a= i;
+				grafo.agregarArco(a, b, 1);
+				unirReferencia(a, b);
+			}
+
+			boolean[] vistas= new boolean[etiquetas.length];
+			int esperados= 0;
+			for(int v=0; v<tamano; v++)
+			{
+				if(!vistas[etiquetas[v]])
+				{
+					vistas[etiquetas[v]]= true;
+					esperados++;
+				}
+			}
+			assertEquals("Vértices " + tamano, esperados, grafo.numeroComponentes());
+			int otro= azar.nextInt(tamano);
+			assertEquals(i + "-" + otro, etiquetas[i]==etiquetas[otro], grafo.mismaComponente(i, otro));
+		}
+	}
+
+	private void compararConReferencia(String mensaje) {
+		assertEquals(mensaje, tamano, conjuntos.size());
+		boolean[] vistas= new boolean[etiquetas.length];
+		int esperados= 0;
+		for(int a=0; a<tamano; a++)
+		{
+			if(!vistas[etiquetas[a]])
+			{
+				vistas[etiquetas[a]]= true;
+				esperados++;
+			}
+			int enConjunto= 0;
+			for(int b=0; b<tamano; b++)
+			{
+				boolean juntos= etiquetas[a]==etiquetas[b];
+				assertEquals(mensaje + " " + a + "-" + b, juntos, conjuntos.conectados(a, b));
+				assertEquals(mensaje + " " + a + "-" + b, juntos, conjuntos.find(a)==conjuntos.find(b));
+				if(juntos)
+				{
+					enConjunto++;
+				}
+			}
+			assertEquals(mensaje + " tamaño de " + a, enConjunto, conjuntos.tamanoConjunto(a));
+		}
+		assertEquals(mensaje, esperados, conjuntos.darConjuntos());
+	}
+}
@@ -0,0 +1,187 @@
+package test.data_structures;
+
+import model.data_structures.ComponentesConexas;
+import model.data_structures.GrafoCSR;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.ITablaSimbolos;
+import model.data_structures.UnionFindConcurrente;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestUnionFindConcurrente {
+
+	private int[][] arcos;
+	private int[] etiquetas;
+	private static int TAMANO=3000;
+	private static int HILOS=8;
+
+	@Before
+	public void setUp1() throws Exception {
+		etiquetas= new int[TAMANO];
+		for(int i=0; i<TAMANO; i++)
+		{
+			etiquetas[i]= i;
+		}
+	}
+
+	/**
+	 * Arcos aleatorios entre los primeros vértices (los últimos quedan sueltos), unidos también
+	 * en la referencia, que reetiqueta todo el conjunto absorbido en cada unión.
+	 */
+	public void setUp2(long semilla, int cantidad) {
+		Random azar= new Random(semilla);
+		arcos= new int[cantidad][];
+		for(int i=0; i<cantidad; i++)
+		{
+			int a= azar.nextInt(TAMANO - 10);
+			int b= azar.nextInt(TAMANO - 10);
+			arcos[i]= new int[] {a, b};
+			int vieja= etiquetas[b];
+			if(vieja!=etiquetas[a])
+			{
+				for(int v=0; v<TAMANO; v++)
+				{
+					if(etiquetas[v]==vieja)
+					{
+						etiquetas[v]= etiquetas[a];
+					}
+				}
+			}
+		}
+	}
+
+	private int componentesReferencia() {
+		boolean[] vistas= new boolean[TAMANO];
+		int componentes= 0;
+		for(int v=0; v<TAMANO; v++)
+		{
+			if(!vistas[etiquetas[v]])
+			{
+				vistas[etiquetas[v]]= true;
+				componentes++;
+			}
+		}
+		return componentes;
+	}
+
+	@Test
+	public void testUnionesDesdeVariosHilos() throws Exception {
+		for(long semilla=1; semilla<=10; semilla++)
+		{
+			setUp1();
+			setUp2(semilla, TAMANO);
+			final UnionFindConcurrente conjuntos= new UnionFindConcurrente(TAMANO);
+			final AtomicInteger exitosas= new AtomicInteger();
+			final CountDownLatch salida= new CountDownLatch(1);
+			Thread[] hilos= new Thread[HILOS];
+			for(int h=0; h<HILOS; h++)
+			{
+				// Todos los hilos unen todos los arcos, cada uno desde un punto distinto, para que compitan por las mismas raíces
+				final int desfase= h * arcos.length / HILOS;
+				hilos[h]= new Thread(new Runnable()
+				{
+					public void run()
+					{
+						try
+						{
+							salida.await();
+						}
+						catch(InterruptedException e)
+						{
+							e.printStackTrace();
+							return;
+						}
+						for(int i=0; i<arcos.length; i++)
+						{
+							int[] arco= arcos[(i + desfase) % arcos.length];
+							if(conjuntos.union(arco[0], arco[1]))
+							{
+								exitosas.incrementAndGet();
+							}
+							conjuntos.conectados(arco[1], arco[0]);
+						}
+					}
+				});
+				hilos[h].start();
+			}
+			salida.countDown();
+			for(Thread hilo : hilos)
+			{
+				hilo.join();
+			}
+
+			int componentes= componentesReferencia();
+			assertEquals("Semilla " + semilla, TAMANO - componentes, exitosas.get());
+			int[] raices= new int[TAMANO];
+			int distintas= 0;
+			for(int v=0; v<TAMANO; v++)
+			{
+				int raiz= conjuntos.find(v);
+				if(raices[raiz]++==0)
+				{
+					distintas++;
+				}
+				assertEquals("Semilla " + semilla + " vértice " + v, conjuntos.find(etiquetas[v]), raiz);
+			}
+			assertEquals("Semilla " + semilla, componentes, distintas);
+		}
+	}
+
+	@Test
+	public void testComponentesConexasIgualQueReferencia() throws Exception {
+		for(long semilla=1; semilla<=5; semilla++)
+		{
+			setUp1();
+			// Más de 4096 arcos en el CSR, para que el cálculo se reparta entre varias tareas
+			setUp2(semilla, TAMANO * 2 / 3 + (int) semilla * 400);
+			GrafoListaAdyacencia<Integer, Integer> grafo= new GrafoListaAdyacencia<Integer, Integer>(TAMANO);
+			for(int i=0; i<TAMANO; i++)
+			{
+				grafo.insertarVertice(i, i);
+			}
+			for(int[] arco : arcos)
+			{
+				if(arco[0]!=arco[1])
+				{
+					grafo.agregarArco(arco[0], arco[1], 1);
+				}
+			}
+
+			GrafoCSR<Integer, Integer> csr= grafo.compactar();
+			ComponentesConexas<Integer, Integer> componentes= csr.componentesConexas();
+			assertEquals("Semilla " + semilla, componentesReferencia(), componentes.darNumeroComponentes());
+
+			// Numeradas desde 1 en orden del primer vértice de cada una, como componentes()
+			int[] secuenciales= csr.componentes();
+			int[] numeroDeEtiqueta= new int[TAMANO];
+			int siguiente= 0;
+			ITablaSimbolos<Integer, Integer> tabla= componentes.darTabla();
+			for(int v=0; v<TAMANO; v++)
+			{
+				int id= csr.vertice(v).getId();
+				if(numeroDeEtiqueta[etiquetas[id]]==0)
+				{
+					numeroDeEtiqueta[etiquetas[id]]= ++siguiente;
+				}
+				assertEquals("Semilla " + semilla + " vértice " + id, numeroDeEtiqueta[etiquetas[id]], componentes.componente(v));
+				assertEquals("Semilla " + semilla + " vértice " + id, secuenciales[v], componentes.componente(v));
+				assertEquals(Integer.valueOf(componentes.componente(v)), tabla.obtener(id));
+			}
+
+			Random azar= new Random(semilla);
+			for(int i=0; i<TAMANO; i++)
+			{
+				int a= azar.nextInt(TAMANO);
+				int b= azar.nextInt(TAMANO);
+				assertEquals(a + "-" + b, etiquetas[a]==etiquetas[b], componentes.mismaComponente(grafo.obtenerVertice(a), grafo.obtenerVertice(b)));
+			}
+		}
+	}
+}
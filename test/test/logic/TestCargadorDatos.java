@@ -0,0 +1,140 @@
+package test.logic;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import model.data_structures.Edge;
+import model.data_structures.GrafoListaAdyacencia;
+import model.logic.CargadorDatos;
+import model.logic.Modelo;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class TestCargadorDatos {
+
+	private static final String ENCABEZADO_CONEXIONES= "operacion,origin,destination,cable_name,cable_id,cable_length,cable_rfs,owners,capacityTBPS";
+
+	private static final String ENCABEZADO_LANDINGS= "operacion,landing_point_id,id,name,latitude,longitude";
+
+	@Rule
+	public TemporaryFolder carpeta= new TemporaryFolder();
+
+	private Path directorio;
+	private CargadorDatos cargador;
+	private GrafoListaAdyacencia grafo;
+
+	@Before
+	public void setUp1() throws Exception {
+		directorio= carpeta.newFolder("data").toPath();
+		for(String nombre : new String[] {CargadorDatos.ARCHIVO_PAISES, CargadorDatos.ARCHIVO_LANDINGS, CargadorDatos.ARCHIVO_CONEXIONES})
+		{
+			Files.copy(Paths.get(Modelo.DIRECTORIO_DATOS, nombre), directorio.resolve(nombre));
+		}
+		CargadorDatos completo= new CargadorDatos(directorio.toString());
+		completo.cargar();
+		grafo= completo.darGrafo();
+		cargador= new CargadorDatos(directorio.toString(), grafo, completo.darPaises(), completo.darPoints(),
+				completo.darLandingIdTabla(), completo.darNombreCodigo(), completo.darAtributos());
+	}
+
+	/**
+	 * Dos landings nuevos de un país que no está en countries.csv, así que un cable entre ellos
+	 * forma una componente aparte.
+	 */
+	public void setUp2() throws Exception {
+		aplicar("landings.csv", ENCABEZADO_LANDINGS,
+				"+,90001,isla-a,\"Isla A, Atlantida\",10.0,-30.0",
+				"+,90002,isla-b,\"Isla B, Atlantida\",11.0,-31.0");
+	}
+
+	private void aplicar(String nombre, String encabezado, String... filas) throws Exception {
+		Path archivo= directorio.resolve(nombre);
+		String[] lineas= Arrays.copyOf(new String[] {encabezado}, filas.length + 1);
+		System.arraycopy(filas, 0, lineas, 1, filas.length);
+		Files.write(archivo, Arrays.asList(lineas), StandardCharsets.UTF_8);
+		cargador.aplicarDelta(archivo);
+	}
+
+	@Test
+	public void testDeltaAgregaYElimina() throws Exception {
+		setUp2();
+		assertEquals(2, cargador.darAgregadas());
+		assertEquals(componentesRecorriendo(), grafo.numeroComponentes());
+		int componentes= grafo.numeroComponentes();
+		int arcos= grafo.arcos().size();
+		assertNotNull(grafo.obtenerArco("33162africa", "41812africa"));
+
+		aplicar("conexiones.csv", ENCABEZADO_CONEXIONES,
+				"+,90001,90002,Isla,isla,\"100 km\",2024,\"Dueño A, Dueño B\",5.0",
+				"-,3316,4181,2Africa,2africa,,,,",
+				"-,3316,4181,No existe,no-existe,,,,",
+				"*,3316,4181,2Africa,2africa,,,,");
+		assertEquals(1, cargador.darAgregadas());
+		assertEquals(1, cargador.darEliminadas());
+		assertEquals(2, cargador.darIgnoradas());
+
+		Edge nuevo= grafo.obtenerArco("90001isla", "90002isla");
+		assertNotNull(nuevo);
+		assertNotNull(grafo.obtenerArco("90002isla", "90001isla"));
+		assertEquals(5.0f, nuevo.getCapacidad(), 0);
+		assertNull(grafo.obtenerArco("33162africa", "41812africa"));
+		assertNull(grafo.obtenerArco("41812africa", "33162africa"));
+		assertEquals(arcos, grafo.arcos().size());
+
+		// El cable de la isla no llega a ninguna capital: es una componente más
+		assertEquals(componentesRecorriendo(), grafo.numeroComponentes());
+		assertEquals(componentes + 1, grafo.numeroComponentes());
+		assertTrue(grafo.mismaComponente("90001isla", "90002isla"));
+		assertFalse(grafo.mismaComponente("90001isla", "33162africa"));
+
+		// Quitar el landing se lleva su vértice y su cable; el otro extremo queda suelto
+		aplicar("landings.csv", ENCABEZADO_LANDINGS, "-,90001,isla-a,\"Isla A, Atlantida\",10.0,-30.0");
+		assertEquals(1, cargador.darEliminadas());
+		assertNull(grafo.obtenerVertice("90001isla"));
+		assertNull(cargador.darPoints().obtener("90001"));
+		assertNull(cargador.darLandingIdTabla().obtener("90001"));
+		assertNull(grafo.obtenerArco("90002isla", "90001isla"));
+		assertEquals(arcos - 1, grafo.arcos().size());
+		assertEquals(componentesRecorriendo(), grafo.numeroComponentes());
+		assertEquals(componentes + 1, grafo.numeroComponentes());
+	}
+
+	@Test
+	public void testDeltaInvalidaSoloSiCambia() throws Exception {
+		grafo.rutaMinima("33162africa", "41812africa");
+		assertEquals(1, grafo.darCacheRutas().size());
+		long version= grafo.darVersion();
+
+		// Ninguna fila se puede aplicar: el grafo no cambia y el árbol en caché sigue sirviendo
+		aplicar("conexiones.csv", ENCABEZADO_CONEXIONES, "-,3316,4181,No existe,no-existe,,,,", "+,1,2,Nada,nada,,,,");
+		assertEquals(2, cargador.darIgnoradas());
+		assertEquals(version, grafo.darVersion());
+		assertEquals(1, grafo.darCacheRutas().size());
+
+		aplicar("conexiones.csv", ENCABEZADO_CONEXIONES, "-,3316,4181,2Africa,2africa,,,,");
+		assertTrue(grafo.darVersion() > version);
+		assertEquals(0, grafo.darCacheRutas().size());
+		assertEquals(componentesRecorriendo(), grafo.numeroComponentes());
+	}
+
+	/**
+	 * Componentes calculadas con un recorrido sobre el CSR, sin el union-find del grafo.
+	 */
+	private int componentesRecorriendo() {
+		int mayor= 0;
+		for(int componente : grafo.compactar().componentes())
+		{
+			mayor= Math.max(mayor, componente);
+		}
+		return mayor;
+	}
+}
@@ -0,0 +1,92 @@
+package test.logic;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.data_structures.Country;
+import model.logic.CargadorDatos;
+import model.logic.ImpactoFalla;
+import model.logic.Modelo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestImpactoFallas {
+
+	@Rule
+	public TemporaryFolder carpeta= new TemporaryFolder();
+
+	private Modelo modelo;
+
+	@Before
+	public void setUp1() throws Exception {
+		Path directorio= carpeta.newFolder("data").toPath();
+		for(String nombre : new String[] {CargadorDatos.ARCHIVO_PAISES, CargadorDatos.ARCHIVO_LANDINGS, CargadorDatos.ARCHIVO_CONEXIONES})
+		{
+			Files.copy(Paths.get(Modelo.DIRECTORIO_DATOS, nombre), directorio.resolve(nombre));
+		}
+		modelo= new Modelo(10, directorio.toString());
+		modelo.cargar();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		// La matriz de capitales se calcula en segundo plano y se guarda en la carpeta temporal
+		modelo.darMatrizCapitales();
+	}
+
+	@Test
+	public void testIgualQueReq5() throws Exception {
+		List<String> antes= estadoPaises();
+		ImpactoFalla[] impactos= modelo.impactoFallas();
+		assertEquals("impactoFallas escribió en algún Country", antes, estadoPaises());
+		assertTrue(impactos.length > 0);
+
+		int comparados= 0;
+		for(ImpactoFalla impacto : impactos)
+		{
+			// Varios landings pueden tener el mismo nombre; req5 responde por uno solo de ellos
+			ImpactoFalla esperado= modelo.req5(impacto.darNombre());
+			assertNotNull(impacto.darNombre(), esperado);
+			if(!esperado.darLandingId().equals(impacto.darLandingId()))
+			{
+				continue;
+			}
+			String mensaje= impacto.darLandingId() + " " + impacto.darNombre();
+			assertEquals(mensaje, esperado.darCantidadPaises(), impacto.darCantidadPaises());
+			for(int i=1; i<=esperado.darCantidadPaises(); i++)
+			{
+				assertSame(mensaje, esperado.darPais(i), impacto.darPais(i));
+				assertEquals(mensaje, esperado.darDistancia(i), impacto.darDistancia(i), 0);
+			}
+			comparados++;
+		}
+		assertTrue("Solo " + comparados + " de " + impactos.length + " landings comparados", comparados > impactos.length * 9 / 10);
+
+		// Ni el lote paralelo ni req5 tocan los países compartidos
+		modelo.impactoFallas();
+		assertEquals(antes, estadoPaises());
+	}
+
+	/**
+	 * Todos los campos de cada Country en el orden de la tabla de países.
+	 */
+	private List<String> estadoPaises() {
+		List<String> estado= new ArrayList<String>();
+		for(Object elemento : modelo.darPaises().valueSet())
+		{
+			Country pais= (Country) elemento;
+			estado.add(pais.getCountryName() + "|" + pais.getCapitalName() + "|" + pais.getLatitude() + "|" + pais.getLongitude()
+					+ "|" + pais.getCode() + "|" + pais.getContinentName() + "|" + pais.getPopulation() + "|" + pais.getUsers() + "|" + pais.getDistlan());
+		}
+		return estado;
+	}
+}
@@ -0,0 +1,155 @@
+package test.logic;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import model.data_structures.Country;
+import model.data_structures.Edge;
+import model.data_structures.GrafoCSR;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.ILista;
+import model.data_structures.ITablaSimbolos;
+import model.logic.CargadorDatos;
+import model.logic.MatrizCapitales;
+import model.logic.Modelo;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class TestMatrizCapitales {
+
+	@Rule
+	public TemporaryFolder carpeta= new TemporaryFolder();
+
+	private GrafoListaAdyacencia grafo;
+	private ITablaSimbolos paises;
+	private MatrizCapitales matriz;
+	private List<String> capitales;
+
+	@Before
+	public void setUp1() throws Exception {
+		Path directorio= carpeta.newFolder("data").toPath();
+		for(String nombre : new String[] {CargadorDatos.ARCHIVO_PAISES, CargadorDatos.ARCHIVO_LANDINGS, CargadorDatos.ARCHIVO_CONEXIONES})
+		{
+			Files.copy(Paths.get(Modelo.DIRECTORIO_DATOS, nombre), directorio.resolve(nombre));
+		}
+		CargadorDatos cargador= new CargadorDatos(directorio.toString());
+		cargador.cargar();
+		grafo= cargador.darGrafo();
+		paises= cargador.darPaises();
+		matriz= MatrizCapitales.calcular(grafo, paises);
+	}
+
+	/**
+	 * Capitales que quedaron en la matriz, sin repetir.
+	 */
+	public void setUp2() {
+		capitales= new ArrayList<String>();
+		for(Object pais : paises.valueSet())
+		{
+			String capital= ((Country) pais).getCapitalName();
+			if(matriz.contieneCapital(capital) && !capitales.contains(capital))
+			{
+				capitales.add(capital);
+			}
+		}
+		assertEquals(matriz.numCapitales(), capitales.size());
+	}
+
+	@Test
+	public void testRutasIgualQueDijkstra() throws Exception {
+		setUp2();
+		GrafoCSR csr= grafo.compactar();
+		Random azar= new Random(11);
+		int comparadas= 0;
+		for(int i=0; i<200; i++)
+		{
+			String capital1= capitales.get(azar.nextInt(capitales.size()));
+			String capital2= capitales.get(azar.nextInt(capitales.size()));
+			String mensaje= capital1 + " -> " + capital2;
+
+			int[] esperada= csr.rutaMinima(grafo.obtenerVertice(capital1).getIndice(), grafo.obtenerVertice(capital2).getIndice());
+			float costoEsperado= 0;
+			for(int posicion : esperada)
+			{
+				costoEsperado+= csr.peso(posicion);
+			}
+
+			ILista ruta= matriz.ruta(capital1, capital2);
+			float distancia= matriz.distancia(capital1, capital2);
+			if(esperada.length==0)
+			{
+				// Misma capital o capitales en componentes distintas
+				assertEquals(mensaje, 0, ruta.size());
+				assertEquals(mensaje, capital1.equals(capital2) ? 0 : Float.POSITIVE_INFINITY, distancia, 0);
+				continue;
+			}
+			assertEquals(mensaje, costoEsperado, distancia, costoEsperado * 1e-5);
+			assertEquals(mensaje, distancia, costo(ruta, capital1, capital2), distancia * 1e-5);
+			comparadas++;
+		}
+		assertTrue("Solo " + comparadas + " rutas comparadas", comparadas > 100);
+	}
+
+	@Test
+	public void testEscribirYLeer() throws Exception {
+		setUp2();
+		Path archivo= carpeta.getRoot().toPath().resolve("matriz.capitales");
+		matriz.escribir(archivo);
+
+		MatrizCapitales leida= MatrizCapitales.leer(archivo, grafo);
+		assertNotNull(leida);
+		assertEquals(matriz.numCapitales(), leida.numCapitales());
+		Random azar= new Random(5);
+		for(String capital1 : capitales)
+		{
+			assertTrue(capital1, leida.contieneCapital(capital1));
+			for(String capital2 : capitales)
+			{
+				assertEquals(capital1 + " -> " + capital2, matriz.distancia(capital1, capital2), leida.distancia(capital1, capital2), 0);
+			}
+			String capital2= capitales.get(azar.nextInt(capitales.size()));
+			ILista original= matriz.ruta(capital1, capital2);
+			ILista releida= leida.ruta(capital1, capital2);
+			assertEquals(capital1 + " -> " + capital2, original.size(), releida.size());
+			for(int i=1; i<=original.size(); i++)
+			{
+				assertSame(capital1 + " -> " + capital2, original.getElement(i), releida.getElement(i));
+			}
+		}
+
+		// Con otro peso en un solo arco la huella cambia y el archivo ya no sirve
+		Edge arco= (Edge) grafo.arcos().getElement(1);
+		float peso= arco.getWeight();
+		arco.setWeight(peso + 1);
+		assertNull(MatrizCapitales.leer(archivo, grafo));
+		arco.setWeight(peso);
+		assertNotNull(MatrizCapitales.leer(archivo, grafo));
+	}
+
+	/**
+	 * Suma los pesos de la ruta verificando que va de una capital a la otra sin saltos.
+	 */
+	private float costo(ILista ruta, String capital1, String capital2) throws Exception {
+		Object actual= capital1;
+		float total= 0;
+		for(Object elemento : ruta)
+		{
+			Edge arco= (Edge) elemento;
+			assertEquals(actual, arco.getSource().getId());
+			actual= arco.getDestination().getId();
+			total+= arco.getWeight();
+		}
+		assertEquals(capital2, actual);
+		return total;
+	}
+}
@@ -30,8 +30,8 @@ public class TestModelo<T> {
 	public void testDarTamano() {
 		setUp2();
 		int x=modelo.darTamano();
-		assertEquals("No es el tamaño correcto", CAPACIDAD,x);
-		// TODO
+		// La capacidad solo reserva espacio; el modelo recién creado no tiene elementos
+		assertEquals("No es el tamaño correcto", 0,x);
 	}
 
 	
@@ -0,0 +1,125 @@
+package test.logic;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Future;
+
+import model.logic.CargadorDatos;
+import model.logic.Modelo;
+import model.logic.ServicioConsultas;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TestServicioConsultas {
+
+	private static final String ENCABEZADO_CONEXIONES= "operacion,origin,destination,cable_name,cable_id,cable_length,cable_rfs,owners,capacityTBPS";
+
+	private static final String[][] PARES_LANDINGS= { {"Abidjan", "Accra"}, {"Accra", "Lagos"}, {"Abidjan", "Fortaleza"} };
+
+	private static final String[][] PARES_PAISES= { {"Ghana", "Spain"}, {"Colombia", "Chile"}, {"Brazil", "Ghana"} };
+
+	@Rule
+	public TemporaryFolder carpeta= new TemporaryFolder();
+
+	private Path directorio;
+	private Modelo modelo;
+	private ServicioConsultas servicio;
+	private Path quitar;
+	private Path poner;
+
+	/**
+	 * Modelo cargado desde una copia de los datos, para que el snapshot y la matriz se escriban
+	 * en la carpeta temporal.
+	 */
+	@Before
+	public void setUp1() throws Exception {
+		directorio= carpeta.newFolder("data").toPath();
+		for(String nombre : new String[] {CargadorDatos.ARCHIVO_PAISES, CargadorDatos.ARCHIVO_LANDINGS, CargadorDatos.ARCHIVO_CONEXIONES})
+		{
+			Files.copy(Paths.get(Modelo.DIRECTORIO_DATOS, nombre), directorio.resolve(nombre));
+		}
+		modelo= new Modelo(10, directorio.toString());
+		modelo.cargar();
+		servicio= new ServicioConsultas(modelo, 4);
+	}
+
+	/**
+	 * Un delta que quita el tramo Abidjan - Accra de 2Africa y otro que lo vuelve a poner.
+	 */
+	public void setUp2() throws Exception {
+		quitar= directorio.resolve("quitar.csv");
+		Files.write(quitar, Arrays.asList(ENCABEZADO_CONEXIONES, "-,3316,4181,2Africa,2africa,,,,"), StandardCharsets.UTF_8);
+		poner= directorio.resolve("poner.csv");
+		Files.write(poner, Arrays.asList(ENCABEZADO_CONEXIONES, "+,3316,4181,2Africa,2africa,\"37,000 km\",2023,\"Facebook,  Vodafone\",180.0"), StandardCharsets.UTF_8);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		servicio.cerrar();
+		// La matriz que se recalcula en segundo plano se guarda en la carpeta temporal
+		modelo.darMatrizCapitales();
+	}
+
+	@Test
+	public void testConsultasDuranteDeltas() throws Exception {
+		setUp2();
+		// Respuestas válidas de req1 y req5: las del grafo con y sin el tramo
+		Set<String> validas= new HashSet<String>();
+		agregarRespuestas(validas);
+		modelo.aplicarDelta(quitar.toString());
+		agregarRespuestas(validas);
+		modelo.aplicarDelta(poner.toString());
+		agregarRespuestas(validas);
+
+		List<Future<String>> respuestas= new ArrayList<Future<String>>();
+		List<Future<String>> rutas= new ArrayList<Future<String>>();
+		for(int ronda=0; ronda<10; ronda++)
+		{
+			for(int i=0; i<PARES_LANDINGS.length; i++)
+			{
+				respuestas.add(servicio.req1(PARES_LANDINGS[i][0], PARES_LANDINGS[i][1]));
+				respuestas.add(servicio.req5(PARES_LANDINGS[i][0]));
+				rutas.add(servicio.req3(PARES_PAISES[i][0], PARES_PAISES[i][1]));
+			}
+			// Mientras el pool responde, el delta espera el candado de escritura y las consultas siguientes lo esperan a él
+			String reporte= modelo.aplicarDelta((ronda % 2==0 ? quitar : poner).toString());
+			assertTrue(reporte, reporte.contains("1 eliminadas") || reporte.contains("1 agregadas"));
+		}
+
+		for(Future<String> respuesta : respuestas)
+		{
+			String texto= respuesta.get();
+			assertTrue(texto, validas.contains(texto));
+		}
+		for(Future<String> ruta : rutas)
+		{
+			String texto= ruta.get();
+			assertTrue(texto, texto.startsWith("Ruta: "));
+		}
+
+		// Diez deltas alternados dejan el tramo puesto otra vez
+		assertTrue(modelo.req1String("Abidjan", "Accra").contains("mismo clúster"));
+		assertEquals(modelo.req5String("Accra"), servicio.req5("Accra").get());
+	}
+
+	private void agregarRespuestas(Set<String> validas) {
+		for(String[] par : PARES_LANDINGS)
+		{
+			validas.add(modelo.req1String(par[0], par[1]));
+			validas.add(modelo.req5String(par[0]));
+		}
+	}
+}
@@ -0,0 +1,198 @@
+package test.logic;
+
+import static org.junit.Assert.*;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import model.data_structures.AtributosCables;
+import model.data_structures.Country;
+import model.data_structures.Edge;
+import model.data_structures.GrafoListaAdyacencia;
+import model.data_structures.ILista;
+import model.data_structures.ITablaSimbolos;
+import model.data_structures.Landing;
+import model.data_structures.Vertex;
+import model.logic.CargadorDatos;
+import model.logic.Modelo;
+import model.logic.SnapshotModelo;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class TestSnapshotModelo {
+
+	@Rule
+	public TemporaryFolder carpeta= new TemporaryFolder();
+
+	private Path directorio;
+	private Path archivo;
+	private CargadorDatos cargador;
+
+	/**
+	 * Copia los CSV a una carpeta temporal, para no escribir el snapshot junto a los datos reales.
+	 */
+	@Before
+	public void setUp1() throws Exception {
+		directorio= carpeta.newFolder("data").toPath();
+		for(String nombre : new String[] {CargadorDatos.ARCHIVO_PAISES, CargadorDatos.ARCHIVO_LANDINGS, CargadorDatos.ARCHIVO_CONEXIONES})
+		{
+			Files.copy(Paths.get(Modelo.DIRECTORIO_DATOS, nombre), directorio.resolve(nombre));
+		}
+		archivo= directorio.resolve(Modelo.ARCHIVO_SNAPSHOT);
+	}
+
+	public void setUp2() throws Exception {
+		cargador= new CargadorDatos(directorio.toString());
+		cargador.cargar();
+		SnapshotModelo.escribir(archivo, directorio, cargador.darGrafo(), cargador.darPaises(), cargador.darPoints(),
+				cargador.darLandingIdTabla(), cargador.darNombreCodigo(), cargador.darAtributos());
+	}
+
+	@Test
+	public void testEscribirYLeer() throws Exception {
+		setUp2();
+		SnapshotModelo snapshot= SnapshotModelo.leer(archivo, directorio);
+		assertNotNull("El snapshot recién escrito debe leerse", snapshot);
+
+		GrafoListaAdyacencia grafo= cargador.darGrafo();
+		GrafoListaAdyacencia leido= snapshot.darGrafo();
+		ILista vertices= grafo.vertices();
+		ILista verticesLeidos= leido.vertices();
+		assertEquals(vertices.size(), verticesLeidos.size());
+		for(int i=1; i<=vertices.size(); i++)
+		{
+			Vertex vertice= (Vertex) vertices.getElement(i);
+			Vertex verticeLeido= (Vertex) verticesLeidos.getElement(i);
+			assertEquals(vertice.getId(), verticeLeido.getId());
+			assertEquals("Índice de " + vertice.getId(), vertice.getIndice(), verticeLeido.getIndice());
+			assertEquals("Info de " + vertice.getId(), describir(vertice.getInfo()), describir(verticeLeido.getInfo()));
+		}
+
+		ILista arcos= grafo.arcos();
+		ILista arcosLeidos= leido.arcos();
+		assertEquals(arcos.size(), arcosLeidos.size());
+		for(int i=1; i<=arcos.size(); i++)
+		{
+			Edge arco= (Edge) arcos.getElement(i);
+			Edge arcoLeido= (Edge) arcosLeidos.getElement(i);
+			String nombre= arco.getSource().getId() + " -> " + arco.getDestination().getId();
+			assertEquals(nombre, arco.getSource().getId(), arcoLeido.getSource().getId());
+			assertEquals(nombre, arco.getDestination().getId(), arcoLeido.getDestination().getId());
+			assertEquals(nombre, arco.getWeight(), arcoLeido.getWeight(), 0);
+			assertEquals(nombre, arco.getCapacidad(), arcoLeido.getCapacidad(), 0);
+		}
+		assertEquals(grafo.numeroComponentes(), leido.numeroComponentes());
+
+		compararTablas(cargador.darPaises(), snapshot.darPaises());
+		compararTablas(cargador.darPoints(), snapshot.darPoints());
+		compararTablas(cargador.darNombreCodigo(), snapshot.darNombreCodigo());
+		ITablaSimbolos landingidtabla= cargador.darLandingIdTabla();
+		ITablaSimbolos landingidtablaLeida= snapshot.darLandingIdTabla();
+		assertEquals(landingidtabla.size(), landingidtablaLeida.size());
+		for(Object llave : landingidtabla.keySet())
+		{
+			assertEquals("Vértices de " + llave, describir(landingidtabla.obtener((Comparable) llave)), describir(landingidtablaLeida.obtener((Comparable) llave)));
+		}
+
+		AtributosCables atributos= cargador.darAtributos();
+		AtributosCables atributosLeidos= snapshot.darAtributos();
+		assertEquals(atributos.numCables(), atributosLeidos.numCables());
+		for(int i=0; i<atributos.numCables(); i++)
+		{
+			Edge arco= atributos.darArco(i);
+			Edge arcoLeido= atributosLeidos.darArco(i);
+			assertEquals(arco.getSource().getId(), arcoLeido.getSource().getId());
+			assertEquals(arco.getDestination().getId(), arcoLeido.getDestination().getId());
+			assertEquals(i, atributosLeidos.indice(arcoLeido));
+			assertEquals(atributos.darNombre(i), atributosLeidos.darNombre(i));
+			assertEquals(atributos.darCableId(i), atributosLeidos.darCableId(i));
+			assertEquals(atributos.darCapacidad(i), atributosLeidos.darCapacidad(i), 0);
+			assertEquals(atributos.darRfs(i), atributosLeidos.darRfs(i));
+			assertEquals(describir(atributos.darPropietarios(i)), describir(atributosLeidos.darPropietarios(i)));
+		}
+	}
+
+	@Test
+	public void testOtraVersionSeReconstruye() throws Exception {
+		setUp2();
+		try (RandomAccessFile datos= new RandomAccessFile(archivo.toFile(), "rw"))
+		{
+			// La versión va justo después del número mágico
+			datos.seek(4);
+			datos.writeInt(SnapshotModelo.VERSION - 1);
+		}
+		assertNull(SnapshotModelo.leer(archivo, directorio));
+
+		SnapshotModelo.escribir(archivo, directorio, cargador.darGrafo(), cargador.darPaises(), cargador.darPoints(),
+				cargador.darLandingIdTabla(), cargador.darNombreCodigo(), cargador.darAtributos());
+		SnapshotModelo reconstruido= SnapshotModelo.leer(archivo, directorio);
+		assertNotNull(reconstruido);
+		assertEquals(cargador.darGrafo().arcos().size(), reconstruido.darGrafo().arcos().size());
+	}
+
+	@Test
+	public void testCsvCambiadoOTruncadoSeDescarta() throws Exception {
+		setUp2();
+		Path conexiones= directorio.resolve(CargadorDatos.ARCHIVO_CONEXIONES);
+		FileTime fecha= Files.getLastModifiedTime(conexiones);
+		Files.setLastModifiedTime(conexiones, FileTime.fromMillis(fecha.toMillis() + 60_000));
+		assertNull(SnapshotModelo.leer(archivo, directorio));
+		Files.setLastModifiedTime(conexiones, fecha);
+		assertNotNull(SnapshotModelo.leer(archivo, directorio));
+
+		// Un archivo cortado a la mitad no debe tumbar la carga
+		try (RandomAccessFile datos= new RandomAccessFile(archivo.toFile(), "rw"))
+		{
+			datos.setLength(datos.length() / 2);
+		}
+		assertNull(SnapshotModelo.leer(archivo, directorio));
+		assertNull(SnapshotModelo.leer(directorio.resolve("no-existe.snapshot"), directorio));
+	}
+
+	private void compararTablas(ITablaSimbolos esperada, ITablaSimbolos leida) {
+		assertEquals(esperada.size(), leida.size());
+		for(Object llave : esperada.keySet())
+		{
+			assertEquals("Llave " + llave, describir(esperada.obtener((Comparable) llave)), describir(leida.obtener((Comparable) llave)));
+		}
+	}
+
+	/**
+	 * Texto con todos los campos que guarda el snapshot, para comparar objetos que no definen equals.
+	 */
+	private static String describir(Object objeto) {
+		if(objeto instanceof Country)
+		{
+			Country pais= (Country) objeto;
+			return pais.getCountryName() + "|" + pais.getCapitalName() + "|" + pais.getLatitude() + "|" + pais.getLongitude() + "|"
+					+ pais.getCode() + "|" + pais.getContinentName() + "|" + pais.getPopulation() + "|" + pais.getUsers();
+		}
+		if(objeto instanceof Landing)
+		{
+			Landing landing= (Landing) objeto;
+			return landing.getLandingId() + "|" + landing.getId() + "|" + landing.getName() + "|" + landing.getPais() + "|"
+					+ landing.getLatitude() + "|" + landing.getLongitude();
+		}
+		if(objeto instanceof Vertex)
+		{
+			return ((Vertex) objeto).getId() + "#" + ((Vertex) objeto).getIndice();
+		}
+		if(objeto instanceof ILista)
+		{
+			StringBuilder texto= new StringBuilder("[");
+			for(Object elemento : (ILista) objeto)
+			{
+				texto.append(describir(elemento)).append(", ");
+			}
+			return texto.append("]").toString();
+		}
+		return String.valueOf(objeto);
+	}
+}